@@ -0,0 +1,158 @@
+package com.smartlogix.audit;
+
+import com.smartlogix.domain.entity.Order;
+import com.smartlogix.domain.enums.OrderStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.envers.RevisionType;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Replaces the Envers listeners for Order when smartlogix.audit.async is on. Changes are collected in memory as the
+// session flushes and written to order_audit_staging with one JDBC batch just before the transaction commits, so they
+// commit or roll back with the change itself. Committed transactions are handed to OrderAuditWriter through a bounded
+// queue; when it is full the hand-off is dropped and the writer finds the rows on its next poll instead.
+@Slf4j
+@Component
+public class OrderAuditCapture implements PostInsertEventListener, PostUpdateEventListener {
+
+    static final String STAGE_SQL = "insert into order_audit_staging "
+            + "(tx_id, order_id, rev_type, status, updated_at, captured_at) "
+            + "values (txid_current(), ?, ?, ?, ?, clock_timestamp())";
+
+    // The order columns staging keeps; an update of any other audited column cannot be staged
+    private static final Set<String> STAGED_PROPERTIES = Set.of("status", "updatedAt");
+    private static final Set<String> UNAUDITED_PROPERTIES = Set.of("version", "geohash");
+
+    private final Map<SharedSessionContractImplementor, List<Change>> pending = new ConcurrentHashMap<>();
+    private final BlockingQueue<Integer> committed;
+
+    private record Change(UUID orderId, RevisionType type, OrderStatus status, Instant updatedAt) {
+    }
+
+    public OrderAuditCapture(@Value("${smartlogix.audit.queue-capacity:10000}") int queueCapacity) {
+        this.committed = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Order order) {
+            stage(event.getSession(), order, RevisionType.ADD);
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof Order order)) {
+            return;
+        }
+        boolean audited = false;
+        String[] names = event.getPersister().getPropertyNames();
+        for (int i = 0; i < names.length; i++) {
+            if (UNAUDITED_PROPERTIES.contains(names[i]) || !isDirty(event, i)) {
+                continue;
+            }
+            if (!STAGED_PROPERTIES.contains(names[i])) {
+                throw new IllegalStateException(
+                        "Order." + names[i] + " changed after insert, but asynchronous audit only stages " + STAGED_PROPERTIES);
+            }
+            audited = true;
+        }
+        if (audited) {
+            stage(event.getSession(), order, RevisionType.MOD);
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    // For changes staged with SQL in the transaction itself, such as the set-based status transitions
+    public void signalAfterCommit(SessionImplementor session, int changes) {
+        session.getActionQueue().registerProcess((success, completed) -> {
+            if (success) {
+                signal(changes);
+            }
+        });
+    }
+
+    // Waits up to the timeout for a committed transaction with staged changes and drains any others
+    public boolean awaitCommitted(long timeout, TimeUnit unit) throws InterruptedException {
+        Integer first = committed.poll(timeout, unit);
+        committed.clear();
+        return first != null;
+    }
+
+    private void stage(SessionImplementor session, Order order, RevisionType type) {
+        pending.computeIfAbsent(session, key -> {
+            session.getActionQueue().registerProcess(this::write);
+            session.getActionQueue().registerProcess((success, completed) -> {
+                List<Change> changes = pending.remove(completed);
+                if (success && changes != null) {
+                    signal(changes.size());
+                }
+            });
+            return new ArrayList<>();
+        }).add(new Change(order.getId(), type, order.getStatus(), order.getUpdatedAt()));
+    }
+
+    private void write(SessionImplementor session) {
+        List<Change> changes = pending.get(session);
+        if (changes == null || changes.isEmpty()) {
+            return;
+        }
+        session.doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(STAGE_SQL)) {
+                for (Change change : changes) {
+                    statement.setObject(1, change.orderId());
+                    statement.setShort(2, change.type().getRepresentation());
+                    statement.setString(3, change.status().name());
+                    statement.setObject(4, OffsetDateTime.ofInstant(change.updatedAt(), ZoneOffset.UTC));
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+
+    private void signal(int changes) {
+        if (!committed.offer(changes)) {
+            log.debug("Audit hand-off queue is full, the writer picks the changes up on its next poll");
+        }
+    }
+
+    private static boolean isDirty(PostUpdateEvent event, int property) {
+        if (event.getDirtyProperties() != null) {
+            for (int dirty : event.getDirtyProperties()) {
+                if (dirty == property) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return event.getOldState() == null
+                || !Objects.equals(event.getOldState()[property], event.getState()[property]);
+    }
+}
@@ -0,0 +1,122 @@
+package com.smartlogix.audit;
+
+import com.smartlogix.domain.entity.OrderAuditStaging;
+import com.smartlogix.domain.repository.OrderAuditStagingRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+// Background half of asynchronous audit: turns the changes OrderAuditCapture staged into Envers revisions and audit
+// rows, in batches of whole transactions. Staged rows survive restarts, and the writer starts with whatever is left,
+// so with asynchronous audit switched off it only drains the rows left from when it was on.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderAuditWriter {
+
+    private final OrderAuditStagingRepository stagingRepository;
+    private final OrderAuditCapture orderAuditCapture;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${smartlogix.audit.async:false}")
+    private boolean async;
+
+    @Value("${smartlogix.audit.batch-size:500}")
+    private int batchSize;
+
+    @Value("${smartlogix.audit.poll-interval-ms:1000}")
+    private long pollIntervalMs;
+
+    private Counter written;
+    private volatile Instant oldestStaged;
+    private volatile boolean running;
+    private Thread thread;
+
+    @PostConstruct
+    void init() {
+        written = Counter.builder("smartlogix.audit.written")
+                .description("Order changes written to the audit tables from staging")
+                .register(meterRegistry);
+        Gauge.builder("smartlogix.audit.lag", this, writer -> writer.lag().toMillis() / 1000.0)
+                .description("Age of the oldest order change whose audit row is not written yet")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!async) {
+            drain();
+            return;
+        }
+        running = true;
+        thread = Thread.ofVirtual().name("order-audit-writer").start(this::run);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            thread.join(Duration.ofSeconds(10));
+        }
+    }
+
+    // Measured from the oldest staged change seen by the last poll, so it keeps growing while the writer is stuck
+    public Duration lag() {
+        Instant oldest = oldestStaged;
+        return oldest == null ? Duration.ZERO : Duration.between(oldest, Instant.now());
+    }
+
+    // Writes batches until staging is empty; returns the number of changes written
+    public long drain() {
+        long total = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> stagingRepository.writeAuditRows(batchSize));
+            total += batch;
+        } while (batch > 0);
+        written.increment(total);
+        oldestStaged = stagingRepository.findFirstByOrderByIdAsc().map(OrderAuditStaging::getCapturedAt).orElse(null);
+        return total;
+    }
+
+    private void run() {
+        log.info("Order audit writer started: batchSize={}, pollIntervalMs={}", batchSize, pollIntervalMs);
+        while (running) {
+            try {
+                orderAuditCapture.awaitCommitted(pollIntervalMs, TimeUnit.MILLISECONDS);
+                drain();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Order audit writer failed, retrying after the poll interval", e);
+                sleep();
+            }
+        }
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(pollIntervalMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
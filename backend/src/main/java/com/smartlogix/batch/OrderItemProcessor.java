@@ -1,11 +1,10 @@
 package com.smartlogix.batch;
 
 import com.smartlogix.domain.entity.Order;
-import com.smartlogix.domain.entity.Tenant;
 import com.smartlogix.domain.enums.OrderStatus;
-import com.smartlogix.domain.repository.TenantRepository;
 import com.smartlogix.dto.OrderCsvRecord;
 import com.smartlogix.security.TenantContext;
+import com.smartlogix.service.ActiveTenantCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.item.ItemProcessor;
@@ -19,7 +18,7 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class OrderItemProcessor implements ItemProcessor<OrderCsvRecord, Order> {
 
-    private final TenantRepository tenantRepository;
+    private final ActiveTenantCache activeTenantCache;
 
     @Override
     public Order process(OrderCsvRecord record) {
@@ -43,9 +42,7 @@ public class OrderItemProcessor implements ItemProcessor<OrderCsvRecord, Order>
         }
 
         UUID tenantId = TenantContext.get();
-        if (tenantId != null) {
-            tenantRepository.findByIdAndActiveTrue(tenantId).ifPresent(order::setTenant);
-        }
+        activeTenantCache.findActiveTenant(tenantId).ifPresent(order::setTenant);
 
         return order;
     }
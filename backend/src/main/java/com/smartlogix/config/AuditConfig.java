@@ -0,0 +1,47 @@
+package com.smartlogix.config;
+
+import com.smartlogix.audit.OrderAuditCapture;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.jpa.boot.spi.JpaSettings;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+public class AuditConfig {
+
+    // Envers keeps its audit mappings, so revisions can still be read, but no longer writes audit rows itself;
+    // OrderAuditCapture stages order changes instead and OrderAuditWriter writes them in the background
+    @Bean
+    @ConditionalOnProperty(name = "smartlogix.audit.async", havingValue = "true")
+    public HibernatePropertiesCustomizer asyncAuditHibernateProperties(OrderAuditCapture orderAuditCapture) {
+        return properties -> {
+            properties.put("hibernate.envers.autoRegisterListeners", false);
+            properties.put(JpaSettings.INTEGRATOR_PROVIDER, (IntegratorProvider) () -> List.of(new Integrator() {
+                @Override
+                public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+                                      SessionFactoryImplementor sessionFactory) {
+                    EventListenerRegistry listeners = sessionFactory.getServiceRegistry()
+                            .getService(EventListenerRegistry.class);
+                    listeners.appendListeners(EventType.POST_INSERT, orderAuditCapture);
+                    listeners.appendListeners(EventType.POST_UPDATE, orderAuditCapture);
+                }
+
+                @Override
+                public void disintegrate(SessionFactoryImplementor sessionFactory,
+                                         SessionFactoryServiceRegistry serviceRegistry) {
+                }
+            }));
+        };
+    }
+}
@@ -4,38 +4,55 @@ import com.smartlogix.batch.OrderItemProcessor;
 import com.smartlogix.domain.entity.Order;
 import com.smartlogix.domain.entity.Tenant;
 import com.smartlogix.domain.repository.OrderRepository;
-import com.smartlogix.domain.repository.TenantRepository;
 import com.smartlogix.dto.OrderCsvRecord;
+import com.smartlogix.messaging.OrderEventProducer;
 import com.smartlogix.security.TenantContext;
+import com.smartlogix.service.ActiveTenantCache;
+import com.smartlogix.service.TenantTagResolver;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import org.springframework.batch.core.ChunkListener;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
 import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.batch.item.ItemWriter;
 import org.springframework.batch.item.file.FlatFileItemReader;
 import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
 import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
+import org.springframework.batch.item.file.separator.DefaultRecordSeparatorPolicy;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Slf4j
 @Configuration
 @RequiredArgsConstructor
 public class BatchConfig {
 
+    private static final String CHUNK_SAMPLE = BatchConfig.class.getName() + ".chunkSample";
+
     private final JobRepository jobRepository;
     private final PlatformTransactionManager transactionManager;
     private final OrderRepository orderRepository;
-    private final TenantRepository tenantRepository;
+    private final ActiveTenantCache activeTenantCache;
     private final OrderItemProcessor orderItemProcessor;
+    private final OrderEventProducer orderEventProducer;
+    private final MeterRegistry meterRegistry;
+    private final TenantTagResolver tenantTagResolver;
 
     @Bean
     @StepScope
@@ -48,8 +65,10 @@ public class BatchConfig {
                 .name("orderCsvItemReader")
                 .resource(new FileSystemResource(filePath))
                 .linesToSkip(1)
+                // Quoted fields may span lines, e.g. multi-line addresses written by the CSV export
+                .recordSeparatorPolicy(new DefaultRecordSeparatorPolicy())
                 .delimited()
-                .names("orderNumber", "description", "destinationAddress", "weight")
+                .names(OrderCsvRecord.COLUMNS)
                 .fieldSetMapper(fieldSetMapper)
                 .build();
     }
@@ -62,11 +81,53 @@ public class BatchConfig {
                 throw new IllegalStateException(
                         "TenantContext is not set - cannot write batch orders without a tenant");
             }
-            Tenant tenant = tenantRepository.findByIdAndActiveTrue(tenantId)
+            Tenant tenant = activeTenantCache.findActiveTenant(tenantId)
                     .orElseThrow(() -> new IllegalStateException(
                             "Active tenant not found for id: " + tenantId));
             items.forEach(order -> order.setTenant(tenant));
-            orderRepository.saveAll(items);
+            List<Order> saved = new ArrayList<>(orderRepository.saveAll(items));
+            orderRepository.countCreated(saved.stream().map(Order::getId).toList());
+            // Imported orders are announced once their chunk commits, like orders created through the API
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    orderEventProducer.publishOrderEvents(saved, "OrderCreated");
+                    meterRegistry.counter("smartlogix.batch.items", "tenant", tenantTagResolver.tagOf(tenantId))
+                            .increment(saved.size());
+                }
+            });
+        };
+    }
+
+    // Times each chunk from its first read to its commit, or to its rollback when it fails
+    @Bean
+    public ChunkListener orderImportChunkListener() {
+        Meter.MeterProvider<Timer> chunkTimer = Timer.builder("smartlogix.batch.chunk")
+                .description("Time spent reading, processing and writing one chunk of imported orders")
+                .publishPercentileHistogram()
+                .withRegistry(meterRegistry);
+        return new ChunkListener() {
+            @Override
+            public void beforeChunk(ChunkContext context) {
+                context.setAttribute(CHUNK_SAMPLE, Timer.start(meterRegistry));
+            }
+
+            @Override
+            public void afterChunk(ChunkContext context) {
+                stop(context, "success");
+            }
+
+            @Override
+            public void afterChunkError(ChunkContext context) {
+                stop(context, "error");
+            }
+
+            private void stop(ChunkContext context, String result) {
+                if (context.getAttribute(CHUNK_SAMPLE) instanceof Timer.Sample sample) {
+                    sample.stop(chunkTimer.withTags("step", context.getStepContext().getStepName(), "result", result));
+                    context.removeAttribute(CHUNK_SAMPLE);
+                }
+            }
         };
     }
 
@@ -77,6 +138,7 @@ public class BatchConfig {
                 .reader(orderCsvItemReader(null))
                 .processor(orderItemProcessor)
                 .writer(orderItemWriter())
+                .listener(orderImportChunkListener())
                 .build();
     }
 
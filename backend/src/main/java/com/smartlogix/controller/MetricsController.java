@@ -1,18 +1,30 @@
 package com.smartlogix.controller;
 
 import com.smartlogix.domain.enums.OrderStatus;
-import com.smartlogix.domain.repository.OrderRepository;
+import com.smartlogix.domain.enums.TimeseriesGranularity;
+import com.smartlogix.dto.NotificationTraceDTO;
+import com.smartlogix.dto.OrderLifecycleDTO;
+import com.smartlogix.dto.OrderTimeseriesDTO;
+import com.smartlogix.messaging.NotificationLatency;
 import com.smartlogix.security.TenantContext;
+import com.smartlogix.service.OrderLifecycleMetrics;
+import com.smartlogix.service.OrderStatusCounts;
+import com.smartlogix.service.OrderTimeseriesService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
 import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -23,23 +35,59 @@ import java.util.UUID;
 @Tag(name = "Metrics", description = "Order metrics endpoints")
 public class MetricsController {
 
-    private final OrderRepository orderRepository;
+    private final OrderStatusCounts orderStatusCounts;
+    private final OrderTimeseriesService orderTimeseriesService;
+    private final OrderLifecycleMetrics orderLifecycleMetrics;
+    private final NotificationLatency notificationLatency;
 
     @GetMapping("/summary")
     @Operation(summary = "Get order count summary by status for current tenant")
     public ResponseEntity<Map<String, Object>> getSummary() {
         UUID tenantId = TenantContext.get();
-        String tenantTag = tenantId != null ? tenantId.toString() : "unknown";
-        Map<OrderStatus, Long> statusCounts = new EnumMap<>(OrderStatus.class);
-
-        for (OrderStatus status : OrderStatus.values()) {
-            long count = orderRepository.countByTenantIdAndStatus(tenantId, status);
-            statusCounts.put(status, count);
+        if (tenantId == null) {
+            // No tenant has no orders; the counts are only kept per tenant
+            Map<OrderStatus, Long> noCounts = new EnumMap<>(OrderStatus.class);
+            for (OrderStatus status : OrderStatus.values()) {
+                noCounts.put(status, 0L);
+            }
+            return ResponseEntity.ok(Map.of(
+                    "tenantId", "unknown",
+                    "ordersByStatus", noCounts
+            ));
         }
+        Map<OrderStatus, Long> statusCounts = orderStatusCounts.getCounts(tenantId);
 
         return ResponseEntity.ok(Map.of(
-                "tenantId", tenantTag,
+                "tenantId", tenantId.toString(),
                 "ordersByStatus", statusCounts
         ));
     }
+
+    @GetMapping("/timeseries")
+    @Operation(summary = "Get orders created and entering each status per day or week for current tenant")
+    public ResponseEntity<OrderTimeseriesDTO> getTimeseries(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "day") String granularity) {
+        return ResponseEntity.ok(orderTimeseriesService.getTimeseries(from, to, TimeseriesGranularity.parse(granularity)));
+    }
+
+    @GetMapping("/lifecycle")
+    @Operation(summary = "Get p50/p95/p99 time in each status and lead time to delivery over a sliding window for current tenant")
+    public ResponseEntity<OrderLifecycleDTO> getLifecycle() {
+        return ResponseEntity.ok(orderLifecycleMetrics.getLifecycle(TenantContext.get()));
+    }
+
+    @GetMapping("/notification-traces")
+    @Operation(summary = "Get the latest sampled order notifications with the time of each hop from commit to WebSocket for current tenant")
+    public ResponseEntity<List<NotificationTraceDTO>> getNotificationTraces(
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(notificationLatency.getTraces(TenantContext.get(), limit));
+    }
+
+    @GetMapping("/notification-traces/{eventId}")
+    @Operation(summary = "Get the hop times of one sampled order notification")
+    public ResponseEntity<NotificationTraceDTO> getNotificationTrace(@PathVariable UUID eventId) {
+        return ResponseEntity.ok(notificationLatency.getTrace(TenantContext.get(), eventId));
+    }
 }
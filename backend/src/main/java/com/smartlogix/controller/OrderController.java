@@ -1,8 +1,23 @@
 package com.smartlogix.controller;
 
+import com.smartlogix.domain.enums.OrderExportFormat;
 import com.smartlogix.domain.enums.OrderStatus;
+import com.smartlogix.domain.enums.OrderTextField;
+import com.smartlogix.dto.BulkOrderResultDTO;
+import com.smartlogix.dto.BulkStatusUpdateRequestDTO;
+import com.smartlogix.dto.BulkStatusUpdateResultDTO;
+import com.smartlogix.dto.CursorPageDTO;
+import com.smartlogix.dto.OrderClusterResultDTO;
+import com.smartlogix.dto.OrderHistoryDTO;
+import com.smartlogix.dto.OrderLocationResultDTO;
 import com.smartlogix.dto.OrderRequestDTO;
 import com.smartlogix.dto.OrderResponseDTO;
+import com.smartlogix.dto.OrderSearchCriteria;
+import com.smartlogix.dto.OrderTextSearchResultDTO;
+import com.smartlogix.geo.BoundingBox;
+import com.smartlogix.service.BulkOrderService;
+import com.smartlogix.service.OrderExportService;
+import com.smartlogix.service.OrderHistoryService;
 import com.smartlogix.service.OrderService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -14,14 +29,22 @@ import org.springframework.batch.core.JobParametersBuilder;
 import org.springframework.batch.core.launch.JobLauncher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.File;
 import java.nio.file.Files;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Slf4j
@@ -33,13 +56,82 @@ import java.util.UUID;
 public class OrderController {
 
     private final OrderService orderService;
+    private final BulkOrderService bulkOrderService;
+    private final OrderExportService orderExportService;
+    private final OrderHistoryService orderHistoryService;
     private final JobLauncher jobLauncher;
     private final Job orderImportJob;
 
     @GetMapping
-    @Operation(summary = "List orders for current tenant")
-    public ResponseEntity<Page<OrderResponseDTO>> getOrders(Pageable pageable) {
-        return ResponseEntity.ok(orderService.getOrders(pageable));
+    @Operation(summary = "List orders for current tenant; heavy text fields are only included when listed in fields")
+    public ResponseEntity<Page<OrderResponseDTO>> getOrders(
+            Pageable pageable,
+            @RequestParam(required = false) String fields) {
+        Set<OrderTextField> textFields = OrderTextField.parse(fields);
+        return pageResponse(orderService.getOrders(pageable, textFields), textFields);
+    }
+
+    @GetMapping(params = "cursor")
+    @Operation(summary = "List orders for current tenant using keyset pagination (newest first)")
+    public ResponseEntity<CursorPageDTO<OrderResponseDTO>> getOrdersByCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String fields) {
+        Set<OrderTextField> textFields = OrderTextField.parse(fields);
+        CursorPageDTO<OrderResponseDTO> page = orderService.getOrdersByCursor(cursor, size, textFields);
+        return ResponseEntity.ok()
+                .eTag(OrderETags.ofPage(page.getContent(), textFields, page.getNextCursor(), page.isHasNext()))
+                .cacheControl(OrderETags.REVALIDATE)
+                .body(page);
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search orders for current tenant by status set, created/updated date range and weight range")
+    public ResponseEntity<Page<OrderResponseDTO>> searchOrders(
+            @ModelAttribute OrderSearchCriteria criteria,
+            Pageable pageable,
+            @RequestParam(required = false) String fields) {
+        Set<OrderTextField> textFields = OrderTextField.parse(fields);
+        return pageResponse(orderService.searchOrders(criteria, pageable, textFields), textFields);
+    }
+
+    @GetMapping("/search/text")
+    @Operation(summary = "Full-text search over order descriptions, destination addresses and tracking notes; "
+            + "every word matches as a prefix, newest orders first")
+    public ResponseEntity<OrderTextSearchResultDTO> searchOrderText(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(orderService.searchOrderText(q, limit, OrderTextField.parse(fields)));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Stream all orders of the current tenant as CSV (in the import layout) or NDJSON")
+    public ResponseEntity<StreamingResponseBody> exportOrders(@RequestParam(defaultValue = "csv") String format) {
+        OrderExportFormat exportFormat = OrderExportFormat.parse(format);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("orders." + exportFormat.getExtension())
+                        .build()
+                        .toString())
+                .body(orderExportService.export(exportFormat));
+    }
+
+    @GetMapping("/geo")
+    @Operation(summary = "Orders located inside a bounding box (bbox=west,south,east,north), for the shipment map")
+    public ResponseEntity<OrderLocationResultDTO> getOrderLocations(
+            @RequestParam String bbox,
+            @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(orderService.getOrderLocations(BoundingBox.parse(bbox), limit));
+    }
+
+    @GetMapping("/clusters")
+    @Operation(summary = "Order counts per map grid cell inside a bounding box, at a cell size suited to the map zoom")
+    public ResponseEntity<OrderClusterResultDTO> getOrderClusters(
+            @RequestParam String bbox,
+            @RequestParam int zoom) {
+        return ResponseEntity.ok(orderService.getOrderClusters(BoundingBox.parse(bbox), zoom));
     }
 
     @PostMapping
@@ -48,10 +140,39 @@ public class OrderController {
         return ResponseEntity.ok(orderService.createOrder(requestDTO));
     }
 
+    @PostMapping("/bulk")
+    @Operation(summary = "Create many orders in one request, reporting a result per order")
+    public ResponseEntity<BulkOrderResultDTO> createOrders(@RequestBody List<OrderRequestDTO> requestDTOs) {
+        return ResponseEntity.ok(bulkOrderService.createOrders(requestDTOs));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get order by ID")
-    public ResponseEntity<OrderResponseDTO> getOrderById(@PathVariable UUID id) {
-        return ResponseEntity.ok(orderService.getOrderById(id));
+    public ResponseEntity<OrderResponseDTO> getOrderById(@PathVariable UUID id, WebRequest request) {
+        // Revalidation is answered from the order's version alone, before the order is loaded or serialized
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            String etag = OrderETags.of(id, orderService.getOrderVersion(id));
+            if (request.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(etag)
+                        .cacheControl(OrderETags.REVALIDATE)
+                        .build();
+            }
+        }
+        OrderResponseDTO order = orderService.getOrderById(id);
+        return ResponseEntity.ok()
+                .eTag(OrderETags.of(order))
+                .cacheControl(OrderETags.REVALIDATE)
+                .body(order);
+    }
+
+    @GetMapping("/{id}/history")
+    @Operation(summary = "Status and field-change timeline of an order, newest revision first")
+    public ResponseEntity<OrderHistoryDTO> getOrderHistory(@PathVariable UUID id, Pageable pageable) {
+        OrderHistoryDTO history = orderHistoryService.getOrderHistory(id, pageable);
+        return ResponseEntity.ok()
+                .cacheControl(history.isClosed() ? OrderETags.IMMUTABLE : OrderETags.REVALIDATE)
+                .body(history);
     }
 
     @PatchMapping("/{id}/status")
@@ -63,6 +184,13 @@ public class OrderController {
         return ResponseEntity.ok(orderService.transitionStatus(id, newStatus));
     }
 
+    @PatchMapping("/status")
+    @Operation(summary = "Transition many orders to one status, reporting the orders that could not be moved")
+    public ResponseEntity<BulkStatusUpdateResultDTO> transitionStatuses(
+            @Valid @RequestBody BulkStatusUpdateRequestDTO requestDTO) {
+        return ResponseEntity.ok(orderService.transitionStatuses(requestDTO.getOrderIds(), requestDTO.getNewStatus()));
+    }
+
     @PostMapping("/import")
     @Operation(summary = "Import orders from CSV file")
     public ResponseEntity<Map<String, String>> importOrders(@RequestParam("file") MultipartFile file) {
@@ -82,4 +210,13 @@ public class OrderController {
                     .body(Map.of("message", "Failed to start import: " + e.getMessage()));
         }
     }
+
+    // Spring answers a matching If-None-Match with 304 and skips serializing the page
+    private ResponseEntity<Page<OrderResponseDTO>> pageResponse(Page<OrderResponseDTO> page, Set<OrderTextField> textFields) {
+        return ResponseEntity.ok()
+                .eTag(OrderETags.ofPage(page.getContent(), textFields, page.getNumber(), page.getSize(),
+                        page.getTotalElements()))
+                .cacheControl(OrderETags.REVALIDATE)
+                .body(page);
+    }
 }
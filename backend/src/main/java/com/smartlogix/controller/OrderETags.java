@@ -0,0 +1,43 @@
+package com.smartlogix.controller;
+
+import com.smartlogix.dto.OrderResponseDTO;
+import org.springframework.http.CacheControl;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+// Strong validators for order reads: an order's ETag changes with its version, a page's whenever any order on it,
+// its position in the result, the result size or the requested text fields change
+final class OrderETags {
+
+    // Lets clients store responses but makes them revalidate with If-None-Match before each reuse
+    static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    // For responses that can never change, such as the history of a closed order
+    static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable();
+
+    private OrderETags() {
+    }
+
+    static String of(UUID id, long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    static String of(OrderResponseDTO order) {
+        return of(order.getId(), order.getVersion());
+    }
+
+    static String ofPage(List<OrderResponseDTO> content, Object... pageState) {
+        StringBuilder state = new StringBuilder();
+        for (Object value : pageState) {
+            state.append(value).append('|');
+        }
+        for (OrderResponseDTO order : content) {
+            state.append(order.getId()).append(':').append(order.getVersion()).append(',');
+        }
+        return "\"p-" + DigestUtils.md5DigestAsHex(state.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
@@ -0,0 +1,42 @@
+package com.smartlogix.controller;
+
+import com.smartlogix.domain.entity.Tenant;
+import com.smartlogix.dto.TenantActiveRequestDTO;
+import com.smartlogix.exception.ResourceNotFoundException;
+import com.smartlogix.security.TenantContext;
+import com.smartlogix.service.TenantService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/tenants")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "Tenants", description = "Tenant administration endpoints")
+public class TenantController {
+
+    private final TenantService tenantService;
+
+    @PatchMapping("/{id}/active")
+    @Operation(summary = "Activate or deactivate the current tenant")
+    public ResponseEntity<Map<String, Object>> setActive(
+            @PathVariable UUID id,
+            @Valid @RequestBody TenantActiveRequestDTO requestDTO) {
+        if (!id.equals(TenantContext.get())) {
+            throw new ResourceNotFoundException("Tenant", id);
+        }
+        Tenant tenant = tenantService.setActive(id, requestDTO.getActive());
+        return ResponseEntity.ok(Map.of(
+                "tenantId", tenant.getId(),
+                "active", tenant.isActive()
+        ));
+    }
+}
@@ -0,0 +1,41 @@
+package com.smartlogix.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Hop stamps of a sampled order event, from the commit it announces to its WebSocket dispatch. Rows are written by
+// NotificationLatency through NotificationTraceRepository.addStamps, each replica adding the stamps it took, so a
+// stamp stays null until the replica taking it has written it, or for good when that hop failed.
+@Entity
+@Table(name = "notification_traces")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationTrace {
+
+    @Id
+    private UUID eventId;
+
+    @Column(nullable = false)
+    private UUID tenantId;
+
+    @Column(nullable = false)
+    private String eventType;
+
+    @Column(nullable = false)
+    private Instant committedAt;
+
+    // The broker acknowledged the record
+    private Instant acknowledgedAt;
+
+    // The replica that forwards the event to WebSocket subscribers received it
+    private Instant consumedAt;
+
+    // Handed to the WebSocket broker
+    private Instant dispatchedAt;
+}
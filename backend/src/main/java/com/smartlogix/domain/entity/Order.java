@@ -1,9 +1,12 @@
 package com.smartlogix.domain.entity;
 
 import com.smartlogix.domain.enums.OrderStatus;
+import com.smartlogix.domain.id.TimeOrderedId;
+import com.smartlogix.geo.Geohash;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.envers.Audited;
+import org.hibernate.envers.NotAudited;
 import org.hibernate.envers.RelationTargetAuditMode;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
@@ -14,6 +17,7 @@ import java.time.Instant;
 import java.util.UUID;
 
 @Entity
+// Indexes are declared in the db/migration scripts
 @Table(name = "orders")
 @EntityListeners(AuditingEntityListener.class)
 @Audited
@@ -25,7 +29,7 @@ import java.util.UUID;
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedId
     private UUID id;
 
     @Column(unique = true, nullable = false)
@@ -52,6 +56,11 @@ public class Order {
     private Double latitude;
     private Double longitude;
 
+    // Derived from latitude/longitude; "C" collation keeps the B-tree in geohash order for bounding-box range scans
+    @NotAudited
+    @Column(length = Geohash.MAX_PRECISION, columnDefinition = "varchar(12) collate \"C\"")
+    private String geohash;
+
     @Column(columnDefinition = "TEXT")
     private String destinationAddress;
 
@@ -68,4 +77,17 @@ public class Order {
     @LastModifiedDate
     @Column(nullable = false)
     private Instant updatedAt;
+
+    // Bumped by entity updates and by the conditional status updates in OrderRepositoryCustomImpl
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
+    @PrePersist
+    @PreUpdate
+    void updateGeohash() {
+        geohash = latitude == null || longitude == null
+                ? null
+                : Geohash.encode(latitude, longitude, Geohash.MAX_PRECISION);
+    }
 }
@@ -0,0 +1,45 @@
+package com.smartlogix.domain.entity;
+
+import com.smartlogix.domain.enums.OrderStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Compact record of an order change whose Envers audit row has not been written yet. Rows are inserted by
+// OrderAuditCapture in the transaction of the change and turned into revisions by OrderAuditWriter. Only the columns
+// that change after an order is created are kept; the writer copies the others from the order.
+@Entity
+@Table(name = "order_audit_staging")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderAuditStaging {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // PostgreSQL transaction id of the change; each transaction becomes one revision, as with synchronous Envers
+    @Column(name = "tx_id", nullable = false)
+    private long txId;
+
+    @Column(nullable = false)
+    private UUID orderId;
+
+    @Column(nullable = false)
+    private short revType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OrderStatus status;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    @Column(nullable = false)
+    private Instant capturedAt;
+}
@@ -0,0 +1,46 @@
+package com.smartlogix.domain.entity;
+
+import com.smartlogix.domain.enums.OrderStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+// Daily rollup behind the order time series: orders of a tenant that entered a status on a UTC day, so PENDING counts
+// the orders created that day. Rows are only written by the set-based statements in OrderRepositoryCustomImpl, in the
+// same transaction as the order change they count, and were filled from the existing history by the V3 migration.
+@Entity
+@Table(name = "order_daily_counts")
+@IdClass(OrderDailyCount.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderDailyCount {
+
+    @Id
+    @Column(name = "tenant_id")
+    private UUID tenantId;
+
+    @Id
+    private LocalDate day;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private OrderStatus status;
+
+    @Column(nullable = false)
+    private long orderCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID tenantId;
+        private LocalDate day;
+        private OrderStatus status;
+    }
+}
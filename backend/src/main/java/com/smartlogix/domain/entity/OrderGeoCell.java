@@ -0,0 +1,60 @@
+package com.smartlogix.domain.entity;
+
+import com.smartlogix.domain.enums.OrderStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+// Pre-aggregated map grid: located orders per tenant, geohash prefix and status, one level per geohash precision up
+// to MAX_PRECISION. Rows are only written by the set-based statements in OrderRepositoryCustomImpl, in the same
+// transaction as the order change they count; a row whose orders all moved away stays behind with a zero count.
+@Entity
+// The primary key is (tenant_id, cell_precision, cell, status), which also serves reads of one tenant's level
+@Table(name = "order_geo_cells")
+@IdClass(OrderGeoCell.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderGeoCell {
+
+    public static final int MAX_PRECISION = 7;
+
+    @Id
+    @Column(name = "tenant_id")
+    private UUID tenantId;
+
+    @Id
+    @Column(name = "cell_precision")
+    private int precision;
+
+    @Id
+    @Column(length = MAX_PRECISION, columnDefinition = "varchar(7) collate \"C\"")
+    private String cell;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private OrderStatus status;
+
+    @Column(nullable = false)
+    private long orderCount;
+
+    @Column(nullable = false)
+    private double latitudeSum;
+
+    @Column(nullable = false)
+    private double longitudeSum;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID tenantId;
+        private int precision;
+        private String cell;
+        private OrderStatus status;
+    }
+}
@@ -1,5 +1,6 @@
 package com.smartlogix.domain.entity;
 
+import com.smartlogix.domain.id.TimeOrderedId;
 import jakarta.persistence.*;
 import lombok.*;
 import org.springframework.data.annotation.CreatedDate;
@@ -22,7 +23,7 @@ import java.util.UUID;
 public class Tenant {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedId
     private UUID id;
 
     @Column(unique = true, nullable = false)
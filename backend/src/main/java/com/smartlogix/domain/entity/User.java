@@ -1,6 +1,7 @@
 package com.smartlogix.domain.entity;
 
 import com.smartlogix.domain.enums.UserRole;
+import com.smartlogix.domain.id.TimeOrderedId;
 import jakarta.persistence.*;
 import lombok.*;
 import org.springframework.data.annotation.CreatedDate;
@@ -26,7 +27,7 @@ import java.util.UUID;
 public class User implements UserDetails {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedId
     private UUID id;
 
     @Column(unique = true, nullable = false)
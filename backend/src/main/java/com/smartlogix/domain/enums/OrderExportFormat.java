@@ -0,0 +1,31 @@
+package com.smartlogix.domain.enums;
+
+import java.util.Arrays;
+
+public enum OrderExportFormat {
+    CSV("csv", "text/csv;charset=UTF-8"),
+    NDJSON("ndjson", "application/x-ndjson");
+
+    private final String extension;
+    private final String mediaType;
+
+    OrderExportFormat(String extension, String mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public static OrderExportFormat parse(String format) {
+        return Arrays.stream(values())
+                .filter(value -> value.extension.equalsIgnoreCase(format))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Unsupported export format: " + format));
+    }
+}
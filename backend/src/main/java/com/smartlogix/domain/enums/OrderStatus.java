@@ -1,10 +1,38 @@
 package com.smartlogix.domain.enums;
 
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum OrderStatus {
     PENDING,
     APPROVED,
     IN_TRANSIT,
     SHIPPED,
     DELIVERED,
-    CANCELLED
+    CANCELLED;
+
+    public boolean canTransitionTo(OrderStatus next) {
+        return switch (this) {
+            case PENDING -> next == APPROVED || next == CANCELLED;
+            case APPROVED -> next == IN_TRANSIT || next == CANCELLED;
+            case IN_TRANSIT -> next == SHIPPED || next == CANCELLED;
+            case SHIPPED -> next == DELIVERED;
+            case DELIVERED, CANCELLED -> false;
+        };
+    }
+
+    // Delivered and cancelled orders can no longer change status
+    public boolean isClosed() {
+        return Arrays.stream(values()).noneMatch(this::canTransitionTo);
+    }
+
+    // Statuses an order may be in for a transition to this status to be valid
+    public Set<OrderStatus> predecessors() {
+        EnumSet<OrderStatus> predecessors = EnumSet.noneOf(OrderStatus.class);
+        Arrays.stream(values())
+                .filter(status -> status.canTransitionTo(this))
+                .forEach(predecessors::add);
+        return predecessors;
+    }
 }
@@ -0,0 +1,44 @@
+package com.smartlogix.domain.enums;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+// Heavy TEXT columns of Order that list reads only fetch when a client asks for them via fields=
+public enum OrderTextField {
+    DESCRIPTION("description"),
+    DESTINATION_ADDRESS("destinationAddress"),
+    TRACKING_NOTES("trackingNotes");
+
+    private final String property;
+
+    OrderTextField(String property) {
+        this.property = property;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public static Set<OrderTextField> parse(String fields) {
+        EnumSet<OrderTextField> result = EnumSet.noneOf(OrderTextField.class);
+        if (fields == null || fields.isBlank()) {
+            return result;
+        }
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (name.equals("*") || name.equalsIgnoreCase("all")) {
+                return EnumSet.allOf(OrderTextField.class);
+            }
+            result.add(Arrays.stream(values())
+                    .filter(value -> value.property.equalsIgnoreCase(name) || value.name().equals(name.toUpperCase(Locale.ROOT)))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("Unknown order field: " + name)));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,16 @@
+package com.smartlogix.domain.enums;
+
+import java.util.Arrays;
+
+public enum TimeseriesGranularity {
+    DAY,
+    // ISO weeks, starting on Monday
+    WEEK;
+
+    public static TimeseriesGranularity parse(String granularity) {
+        return Arrays.stream(values())
+                .filter(value -> value.name().equalsIgnoreCase(granularity))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Unsupported granularity: " + granularity));
+    }
+}
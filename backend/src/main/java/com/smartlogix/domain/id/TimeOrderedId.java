@@ -0,0 +1,15 @@
+package com.smartlogix.domain.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Generates UUID ids with TimeOrderedIdGenerator in place of @GeneratedValue(strategy = GenerationType.UUID)
+@IdGeneratorType(TimeOrderedIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface TimeOrderedId {
+}
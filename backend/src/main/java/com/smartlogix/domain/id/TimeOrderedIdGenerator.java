@@ -0,0 +1,39 @@
+package com.smartlogix.domain.id;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.util.EnumSet;
+import java.util.UUID;
+
+// Ids are only generated for new rows and keep the uuid column type, so existing random ids stay valid and both kinds
+// mix freely. Setting smartlogix.ids.time-ordered=false in the JPA properties goes back to random ids.
+public class TimeOrderedIdGenerator implements BeforeExecutionGenerator {
+
+    public static final String TIME_ORDERED_SETTING = "smartlogix.ids.time-ordered";
+
+    private final boolean timeOrdered;
+
+    public TimeOrderedIdGenerator(TimeOrderedId annotation, Member member, CustomIdGeneratorCreationContext context) {
+        this.timeOrdered = context.getServiceRegistry()
+                .requireService(ConfigurationService.class)
+                .getSetting(TIME_ORDERED_SETTING, StandardConverters.BOOLEAN, true);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return timeOrdered ? TimeOrderedUuid.next() : UUID.randomUUID();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
@@ -0,0 +1,47 @@
+package com.smartlogix.domain.repository;
+
+import com.smartlogix.domain.entity.NotificationTrace;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface NotificationTraceRepository extends JpaRepository<NotificationTrace, UUID> {
+
+    List<NotificationTrace> findByTenantIdOrderByCommittedAtDesc(UUID tenantId, Limit limit);
+
+    Optional<NotificationTrace> findByTenantIdAndEventId(UUID tenantId, UUID eventId);
+
+    // Creates the trace or adds the non-null stamps to it, whichever replica writes first
+    @Modifying
+    @Query(value = """
+            insert into notification_traces
+                (event_id, tenant_id, event_type, committed_at, acknowledged_at, consumed_at, dispatched_at)
+            values (:eventId, :tenantId, :eventType, :committedAt,
+                    cast(:acknowledgedAt as timestamptz), cast(:consumedAt as timestamptz),
+                    cast(:dispatchedAt as timestamptz))
+            on conflict (event_id) do update set
+                acknowledged_at = coalesce(excluded.acknowledged_at, notification_traces.acknowledged_at),
+                consumed_at = coalesce(excluded.consumed_at, notification_traces.consumed_at),
+                dispatched_at = coalesce(excluded.dispatched_at, notification_traces.dispatched_at)
+            """, nativeQuery = true)
+    void addStamps(@Param("eventId") UUID eventId,
+                   @Param("tenantId") UUID tenantId,
+                   @Param("eventType") String eventType,
+                   @Param("committedAt") Instant committedAt,
+                   @Param("acknowledgedAt") Instant acknowledgedAt,
+                   @Param("consumedAt") Instant consumedAt,
+                   @Param("dispatchedAt") Instant dispatchedAt);
+
+    @Modifying
+    @Query("delete from NotificationTrace t where t.committedAt < :before")
+    int deleteCommittedBefore(@Param("before") Instant before);
+}
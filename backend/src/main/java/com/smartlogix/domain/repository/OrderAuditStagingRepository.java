@@ -0,0 +1,14 @@
+package com.smartlogix.domain.repository;
+
+import com.smartlogix.domain.entity.OrderAuditStaging;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface OrderAuditStagingRepository extends JpaRepository<OrderAuditStaging, Long>,
+        OrderAuditStagingRepositoryCustom {
+
+    Optional<OrderAuditStaging> findFirstByOrderByIdAsc();
+}
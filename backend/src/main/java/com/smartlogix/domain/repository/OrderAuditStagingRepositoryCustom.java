@@ -0,0 +1,9 @@
+package com.smartlogix.domain.repository;
+
+public interface OrderAuditStagingRepositoryCustom {
+
+    // Turns the staged changes of up to about limit transactions, oldest first, into Envers revisions and audit rows
+    // and deletes them from staging; returns the number of changes written. Returns 0 without waiting when another
+    // writer holds the staging table.
+    int writeAuditRows(int limit);
+}
@@ -0,0 +1,74 @@
+package com.smartlogix.domain.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import org.hibernate.envers.DefaultRevisionEntity;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class OrderAuditStagingRepositoryImpl implements OrderAuditStagingRepositoryCustom {
+
+    // Transaction-scoped advisory lock that makes one replica at a time the writer
+    private static final long WRITER_LOCK = 0x6f72646572617564L;
+
+    // Whole transactions are taken, so that each still becomes exactly one revision
+    private static final String STAGED_SQL = "select tx_id, cast(extract(epoch from min(captured_at)) * 1000 as bigint) as captured_at "
+            + "from order_audit_staging "
+            + "where tx_id in (select tx_id from order_audit_staging order by id limit :limit) "
+            + "group by tx_id order by min(id)";
+
+    // Status and updated_at are the columns an order changes after it is created; the rest are copied from the order
+    private static final String AUDIT_SQL = "insert into orders_aud (rev, revtype, id, order_number, description, "
+            + "status, tenant_id, created_by_id, latitude, longitude, destination_address, weight, tracking_notes, "
+            + "created_at, updated_at) "
+            + "select r.rev, s.rev_type, o.id, o.order_number, o.description, s.status, o.tenant_id, o.created_by_id, "
+            + "o.latitude, o.longitude, o.destination_address, o.weight, o.tracking_notes, o.created_at, s.updated_at "
+            + "from order_audit_staging s "
+            + "join unnest(cast(:txIds as bigint[]), cast(:revs as integer[])) as r(tx_id, rev) on r.tx_id = s.tx_id "
+            + "join orders o on o.id = s.order_id "
+            + "order by s.id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public int writeAuditRows(int limit) {
+        Boolean locked = (Boolean) entityManager.createNativeQuery("select pg_try_advisory_xact_lock(:lock)")
+                .setParameter("lock", WRITER_LOCK)
+                .getSingleResult();
+        if (!locked) {
+            return 0;
+        }
+        List<Tuple> transactions = entityManager.createNativeQuery(STAGED_SQL, Tuple.class)
+                .setParameter("limit", limit)
+                .getResultList();
+        if (transactions.isEmpty()) {
+            return 0;
+        }
+
+        // Each revision carries the time its transaction staged the changes, not the time it is written
+        Map<Long, DefaultRevisionEntity> revisions = new LinkedHashMap<>();
+        for (Tuple transaction : transactions) {
+            DefaultRevisionEntity revision = new DefaultRevisionEntity();
+            revision.setTimestamp(transaction.get("captured_at", Long.class));
+            entityManager.persist(revision);
+            revisions.put(transaction.get("tx_id", Long.class), revision);
+        }
+        entityManager.flush();
+
+        Long[] txIds = revisions.keySet().toArray(Long[]::new);
+        Integer[] revs = revisions.values().stream().map(DefaultRevisionEntity::getId).toArray(Integer[]::new);
+        entityManager.createNativeQuery(AUDIT_SQL)
+                .setParameter("txIds", txIds)
+                .setParameter("revs", revs)
+                .executeUpdate();
+        return entityManager.createNativeQuery(
+                        "delete from order_audit_staging where tx_id = any(cast(:txIds as bigint[]))")
+                .setParameter("txIds", txIds)
+                .executeUpdate();
+    }
+}
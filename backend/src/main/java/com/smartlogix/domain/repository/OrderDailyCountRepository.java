@@ -0,0 +1,16 @@
+package com.smartlogix.domain.repository;
+
+import com.smartlogix.domain.entity.OrderDailyCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OrderDailyCountRepository extends JpaRepository<OrderDailyCount, OrderDailyCount.Key> {
+
+    // A range scan of the (tenant_id, day, status) primary key: at most one row per status and day in the range
+    List<OrderDailyCount> findByTenantIdAndDayBetween(UUID tenantId, LocalDate from, LocalDate to);
+}
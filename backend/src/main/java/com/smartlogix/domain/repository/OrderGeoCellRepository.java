@@ -0,0 +1,24 @@
+package com.smartlogix.domain.repository;
+
+import com.smartlogix.domain.entity.OrderGeoCell;
+import jakarta.persistence.Tuple;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OrderGeoCellRepository extends JpaRepository<OrderGeoCell, OrderGeoCell.Key> {
+
+    // Up to thousands of rows per map view, so they are read as plain tuples (cell, status, order_count,
+    // latitude_sum, longitude_sum) and the cells are bound as one array rather than one parameter each
+    @Query(value = "select cell, status, order_count, latitude_sum, longitude_sum from order_geo_cells "
+            + "where tenant_id = :tenantId and cell_precision = :precision "
+            + "and cell = any(cast(:cells as varchar[])) and order_count > 0", nativeQuery = true)
+    List<Tuple> findCells(@Param("tenantId") UUID tenantId,
+                          @Param("precision") int precision,
+                          @Param("cells") String[] cells);
+}
@@ -2,23 +2,95 @@ package com.smartlogix.domain.repository;
 
 import com.smartlogix.domain.entity.Order;
 import com.smartlogix.domain.enums.OrderStatus;
+import com.smartlogix.dto.OrderResponseDTO;
+import jakarta.persistence.QueryHint;
+import jakarta.persistence.Tuple;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.history.RevisionRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, UUID>, RevisionRepository<Order, UUID, Long> {
+public interface OrderRepository extends JpaRepository<Order, UUID>, RevisionRepository<Order, UUID, Long>,
+        OrderRepositoryCustom {
+
+    String SUMMARY_SELECT = "select new com.smartlogix.dto.OrderResponseDTO("
+            + "o.id, o.orderNumber, o.status, o.weight, o.latitude, o.longitude, o.tenant.id, o.createdAt, o.updatedAt, o.version) "
+            + "from Order o ";
+
+    int EXPORT_FETCH_SIZE = 500;
 
     Page<Order> findByTenantId(UUID tenantId, Pageable pageable);
 
+    // Forward-only cursor for exports: rows arrive EXPORT_FETCH_SIZE at a time and are loaded without dirty-checking snapshots
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select o from Order o where o.tenant.id = :tenantId order by o.createdAt, o.id")
+    Stream<Order> streamByTenantId(@Param("tenantId") UUID tenantId);
+
+    // Text columns of the tenant's orders, oldest first, for building the tenant's text index
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select o.id as id, o.description as description, o.destinationAddress as destinationAddress, "
+            + "o.trackingNotes as trackingNotes from Order o where o.tenant.id = :tenantId order by o.createdAt, o.id")
+    Stream<Tuple> streamTextFieldsByTenantId(@Param("tenantId") UUID tenantId);
+
+    @Query(value = SUMMARY_SELECT + "where o.tenant.id = :tenantId",
+            countQuery = "select count(o) from Order o where o.tenant.id = :tenantId")
+    Page<OrderResponseDTO> findSummariesByTenantId(@Param("tenantId") UUID tenantId, Pageable pageable);
+
     Page<Order> findByTenantIdAndStatus(UUID tenantId, OrderStatus status, Pageable pageable);
 
     Optional<Order> findByTenantIdAndId(UUID tenantId, UUID id);
 
-    long countByTenantIdAndStatus(UUID tenantId, OrderStatus status);
+    @Query(SUMMARY_SELECT + "where o.tenant.id = :tenantId order by o.createdAt desc, o.id desc")
+    List<OrderResponseDTO> findFirstByCursor(@Param("tenantId") UUID tenantId, Limit limit);
+
+    // A row-value comparison, which PostgreSQL turns into the start of a backward range scan on
+    // idx_orders_tenant_created_id, so a page costs the same however deep it is
+    @Query(SUMMARY_SELECT + "where o.tenant.id = :tenantId and (o.createdAt, o.id) < (:createdAt, :id) "
+            + "order by o.createdAt desc, o.id desc")
+    List<OrderResponseDTO> findAfterCursor(@Param("tenantId") UUID tenantId,
+                                           @Param("createdAt") Instant createdAt,
+                                           @Param("id") UUID id,
+                                           Limit limit);
+
+    @Query(SUMMARY_SELECT + "where o.tenant.id = :tenantId and o.id in :ids")
+    List<OrderResponseDTO> findSummariesByIds(@Param("tenantId") UUID tenantId, @Param("ids") Collection<UUID> ids);
+
+    @Query("select o.version from Order o where o.tenant.id = :tenantId and o.id = :id")
+    Optional<Long> findVersion(@Param("tenantId") UUID tenantId, @Param("id") UUID id);
+
+    @Query("select o.status from Order o where o.tenant.id = :tenantId and o.id = :id")
+    Optional<OrderStatus> findStatus(@Param("tenantId") UUID tenantId, @Param("id") UUID id);
+
+    @Query("select o.id as id, o.status as status from Order o where o.tenant.id = :tenantId and o.id in :ids")
+    List<Tuple> findStatuses(@Param("tenantId") UUID tenantId, @Param("ids") Collection<UUID> ids);
+
+    @Query("select o.id as id, o.latitude as latitude, o.longitude as longitude from Order o "
+            + "where o.geohash is null and o.latitude is not null and o.longitude is not null")
+    List<Tuple> findLocatedWithoutGeohash(Limit limit);
+
+    @Query("select o.status as status, count(o) as count from Order o where o.tenant.id = :tenantId group by o.status")
+    List<Tuple> countByStatus(@Param("tenantId") UUID tenantId);
+
+    @Query("select o.orderNumber from Order o where o.orderNumber in :orderNumbers")
+    List<String> findExistingOrderNumbers(@Param("orderNumbers") Collection<String> orderNumbers);
 }
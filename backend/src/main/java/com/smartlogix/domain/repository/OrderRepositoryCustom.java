@@ -0,0 +1,63 @@
+package com.smartlogix.domain.repository;
+
+import com.smartlogix.domain.enums.OrderStatus;
+import com.smartlogix.domain.enums.OrderTextField;
+import com.smartlogix.geo.BoundingBox;
+import com.smartlogix.dto.OrderLocationDTO;
+import com.smartlogix.dto.OrderResponseDTO;
+import com.smartlogix.dto.OrderSearchCriteria;
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+public interface OrderRepositoryCustom {
+
+    // Each of these is the trailing column of an index that leads with tenant_id
+    Set<String> SEARCH_SORT_PROPERTIES = Set.of("createdAt", "updatedAt", "weight");
+
+    // One tuple per order of the tenant: "id" plus one element per requested field, aliased by its property name
+    List<Tuple> findTextFields(UUID tenantId, Collection<UUID> ids, Set<OrderTextField> fields);
+
+    // Summary projection of the tenant's orders matching every non-null criterion; sortable by SEARCH_SORT_PROPERTIES
+    Page<OrderResponseDTO> search(UUID tenantId, OrderSearchCriteria criteria, Pageable pageable);
+
+    // Orders of the tenant located inside the box, ordered by (geohash, id) so that overlapping boxes agree on which
+    // orders come first; served by the (tenant_id, geohash, id) index
+    List<OrderLocationDTO> findLocations(UUID tenantId, BoundingBox box, int limit);
+
+    // One page of the order's audit revisions, newest first, each tuple holding the revision (rev, revtype, revtstmp),
+    // the audited columns under their column names, the number of revisions (total) and the status of the newest
+    // revision (current_status)
+    List<Tuple> findHistory(UUID tenantId, UUID orderId, long offset, int limit);
+
+    // Set-based transition: moves every listed order of the tenant whose status is one of fromStatuses to toStatus
+    // in a single UPDATE, records the change in the Envers audit table, the geo grid and the daily counts and returns
+    // the updated ids, each with the status it left
+    Map<UUID, StatusChange> transitionStatuses(UUID tenantId, Collection<UUID> ids, Collection<OrderStatus> fromStatuses,
+                                               OrderStatus toStatus, Instant updatedAt);
+
+    // Counts newly created orders in the geo grid, if they are located, and in the daily counts
+    void countCreated(Collection<UUID> ids);
+
+    // Sets the geohash of each listed order that has none yet and counts it in the geo grid; returns how many were set
+    int backfillGeohashes(UUID[] ids, String[] geohashes);
+
+    // Located orders minus the orders the geo grid counts, read in one snapshot; 0 when the grid is complete
+    long geoGridDrift();
+
+    // Recomputes the geo grid from the orders table; returns the number of grid rows, or -1 when another replica is
+    // rebuilding it or it turned out to have no drift once writers were held off
+    int rebuildGeoGrid();
+
+    // The status an order left in a transition, when it had entered that status and when the order was created. An
+    // order's updated_at only changes with its status, so it is the time the order entered its current status.
+    record StatusChange(OrderStatus previousStatus, Instant previousStatusSince, Instant createdAt) {
+    }
+}
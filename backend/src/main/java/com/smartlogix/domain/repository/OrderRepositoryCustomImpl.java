@@ -0,0 +1,418 @@
+package com.smartlogix.domain.repository;
+
+import com.smartlogix.audit.OrderAuditCapture;
+import com.smartlogix.domain.entity.Order;
+import com.smartlogix.domain.entity.OrderGeoCell;
+import com.smartlogix.domain.enums.OrderStatus;
+import com.smartlogix.domain.enums.OrderTextField;
+import com.smartlogix.geo.BoundingBox;
+import com.smartlogix.geo.Geohash;
+import com.smartlogix.dto.OrderLocationDTO;
+import com.smartlogix.dto.OrderResponseDTO;
+import com.smartlogix.dto.OrderSearchCriteria;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.envers.DefaultRevisionEntity;
+import org.hibernate.envers.RevisionType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+public class OrderRepositoryCustomImpl implements OrderRepositoryCustom {
+
+    // Bulk updates bypass Envers, so the audit row is copied from the updated order in the same transaction
+    private static final String AUDIT_COLUMNS = "id, order_number, description, status, tenant_id, created_by_id, "
+            + "latitude, longitude, destination_address, weight, tracking_notes, created_at, updated_at";
+
+    // Upper bound on the geohash cells a box is covered with, i.e. on the index range scans per query
+    private static final int GEO_MAX_CELLS = 64;
+
+    private static final String TRANSITION_SQL = transitionSql("");
+
+    // With asynchronous audit the change is staged for OrderAuditWriter in the same statement instead
+    private static final String STAGED_TRANSITION_SQL = transitionSql(", staged as ("
+            + "insert into order_audit_staging (tx_id, order_id, rev_type, status, updated_at, captured_at) "
+            + "select txid_current(), id, " + RevisionType.MOD.getRepresentation() + ", cast(:toStatus as varchar), "
+            + ":updatedAt, clock_timestamp() from moved)");
+
+    // Window functions see every revision of the order before the page is cut, so one query returns the page along
+    // with the revision count and the order's latest status
+    private static final String HISTORY_SQL = "select a.rev, a.revtype, r.revtstmp, a.order_number, a.description, "
+            + "a.status, a.latitude, a.longitude, a.destination_address, a.weight, a.tracking_notes, "
+            + "count(*) over () as total, first_value(a.status) over (order by a.rev desc) as current_status "
+            + "from orders_aud a join revinfo r on r.rev = a.rev "
+            + "where a.id = :orderId and a.tenant_id = :tenantId "
+            + "order by a.rev desc offset :offset limit :limit";
+
+    private static final String BACKFILL_GEOHASH_SQL = "with located as ("
+            + "update orders set geohash = batch.geohash "
+            + "from unnest(cast(:ids as uuid[]), cast(:geohashes as varchar[])) as batch(id, geohash) "
+            + "where orders.id = batch.id and orders.geohash is null "
+            + "returning orders.tenant_id, orders.geohash, orders.latitude, orders.longitude, orders.status), "
+            + "grid as (" + geoGridUpsert(
+                    "select tenant_id, geohash, latitude, longitude, status, 1 as sign from located")
+            + ") select count(*) from located";
+
+    // Every located order is counted once per level, so the coarsest level sums to the number of located orders. One
+    // statement reads both counts from one snapshot, in which the grid matches the orders since both are written by the
+    // same transactions.
+    private static final String GEO_GRID_DRIFT_SQL = "select (select count(*) from orders where geohash is not null) "
+            + "- (select coalesce(sum(order_count), 0) from order_geo_cells where cell_precision = 1)";
+
+    // Held by the replica rebuilding the geo grid until its transaction ends
+    private static final long GEO_GRID_REBUILD_LOCK = 0x67656f6772696462L;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private OrderAuditCapture orderAuditCapture;
+
+    @Value("${smartlogix.audit.async:false}")
+    private boolean asyncAudit;
+
+    @Override
+    public List<Tuple> findTextFields(UUID tenantId, Collection<UUID> ids, Set<OrderTextField> fields) {
+        if (ids.isEmpty() || fields.isEmpty()) {
+            return List.of();
+        }
+        String selection = fields.stream()
+                .map(field -> "o." + field.getProperty() + " as " + field.getProperty())
+                .collect(Collectors.joining(", "));
+        return entityManager.createQuery(
+                        "select o.id as id, " + selection + " from Order o where o.tenant.id = :tenantId and o.id in :ids",
+                        Tuple.class)
+                .setParameter("tenantId", tenantId)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
+    @Override
+    public Page<OrderResponseDTO> search(UUID tenantId, OrderSearchCriteria criteria, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<OrderResponseDTO> query = cb.createQuery(OrderResponseDTO.class);
+        Root<Order> order = query.from(Order.class);
+        query.select(cb.construct(OrderResponseDTO.class,
+                        order.get("id"), order.get("orderNumber"), order.get("status"), order.get("weight"),
+                        order.get("latitude"), order.get("longitude"), order.get("tenant").get("id"),
+                        order.get("createdAt"), order.get("updatedAt"), order.get("version")))
+                .where(searchPredicates(cb, order, tenantId, criteria))
+                .orderBy(searchOrder(cb, order, pageable.getSortOr(Sort.by(Sort.Direction.DESC, "createdAt"))));
+
+        TypedQuery<OrderResponseDTO> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+
+        return PageableExecutionUtils.getPage(typedQuery.getResultList(), pageable, () -> {
+            CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
+            Root<Order> counted = countQuery.from(Order.class);
+            countQuery.select(cb.count(counted)).where(searchPredicates(cb, counted, tenantId, criteria));
+            return entityManager.createQuery(countQuery).getSingleResult();
+        });
+    }
+
+    private Predicate[] searchPredicates(CriteriaBuilder cb, Root<Order> order, UUID tenantId,
+                                         OrderSearchCriteria criteria) {
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(order.get("tenant").get("id"), tenantId));
+        if (criteria.getStatus() != null && !criteria.getStatus().isEmpty()) {
+            predicates.add(order.get("status").in(criteria.getStatus()));
+        }
+        if (criteria.getCreatedFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(order.get("createdAt"), criteria.getCreatedFrom()));
+        }
+        if (criteria.getCreatedTo() != null) {
+            predicates.add(cb.lessThan(order.get("createdAt"), criteria.getCreatedTo()));
+        }
+        if (criteria.getUpdatedFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(order.get("updatedAt"), criteria.getUpdatedFrom()));
+        }
+        if (criteria.getUpdatedTo() != null) {
+            predicates.add(cb.lessThan(order.get("updatedAt"), criteria.getUpdatedTo()));
+        }
+        if (criteria.getMinWeight() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(order.get("weight"), criteria.getMinWeight()));
+        }
+        if (criteria.getMaxWeight() != null) {
+            predicates.add(cb.lessThanOrEqualTo(order.get("weight"), criteria.getMaxWeight()));
+        }
+        return predicates.toArray(Predicate[]::new);
+    }
+
+    private List<jakarta.persistence.criteria.Order> searchOrder(CriteriaBuilder cb, Root<Order> order, Sort sort) {
+        List<jakarta.persistence.criteria.Order> orders = new ArrayList<>();
+        Sort.Direction tieBreak = Sort.Direction.DESC;
+        for (Sort.Order sortOrder : sort) {
+            orders.add(sortOrder.isAscending()
+                    ? cb.asc(order.get(sortOrder.getProperty()))
+                    : cb.desc(order.get(sortOrder.getProperty())));
+            tieBreak = sortOrder.getDirection();
+        }
+        orders.add(tieBreak.isAscending() ? cb.asc(order.get("id")) : cb.desc(order.get("id")));
+        return orders;
+    }
+
+    @Override
+    public List<OrderLocationDTO> findLocations(UUID tenantId, BoundingBox box, int limit) {
+        List<Geohash.Range> ranges = box.parts().stream()
+                .flatMap(part -> Geohash.cover(part, GEO_MAX_CELLS).stream())
+                .toList();
+        // Cover cells overhang the box, so rows are read in pages in (geohash, id) order and filtered here. Filtering
+        // in SQL would make PostgreSQL treat latitude/longitude as independent of the geohash range, underestimate
+        // the matching rows and abandon the ordered index scans for a bitmap scan and sort of the whole cover.
+        int pageSize = limit * 2;
+        List<OrderLocationDTO> located = new ArrayList<>();
+        Tuple last = null;
+        while (true) {
+            List<Tuple> page = findLocationPage(tenantId, ranges, last, pageSize);
+            for (Tuple row : page) {
+                double latitude = row.get("latitude", Double.class);
+                double longitude = row.get("longitude", Double.class);
+                if (box.contains(latitude, longitude)) {
+                    located.add(OrderLocationDTO.builder()
+                            .id(row.get("id", UUID.class))
+                            .orderNumber(row.get("order_number", String.class))
+                            .status(OrderStatus.valueOf(row.get("status", String.class)))
+                            .latitude(latitude)
+                            .longitude(longitude)
+                            .build());
+                    if (located.size() == limit) {
+                        return located;
+                    }
+                }
+            }
+            if (page.size() < pageSize) {
+                return located;
+            }
+            last = page.get(page.size() - 1);
+        }
+    }
+
+    // One ordered, limited index range scan per range; PostgreSQL merges them (Merge Append) and stops after
+    // pageSize rows, so a page costs the same however many orders the cover holds
+    @SuppressWarnings("unchecked")
+    private List<Tuple> findLocationPage(UUID tenantId, List<Geohash.Range> ranges, Tuple after, int pageSize) {
+        String afterGeohash = after == null ? null : after.get("geohash", String.class);
+        List<String> branches = new ArrayList<>();
+        List<Geohash.Range> queried = new ArrayList<>();
+        for (Geohash.Range range : ranges) {
+            String lowerBound;
+            if (afterGeohash == null || range.from().compareTo(afterGeohash) > 0) {
+                lowerBound = "geohash >= :from" + queried.size();
+            } else if (range.contains(afterGeohash)) {
+                // The only lower bound of this branch, so that the index scan starts right after the previous page
+                lowerBound = "(geohash, id) > (:afterGeohash, :afterId)";
+            } else {
+                continue;
+            }
+            branches.add("(select id, order_number, status, latitude, longitude, geohash from orders "
+                    + "where tenant_id = :tenantId and " + lowerBound + " and geohash < :to" + queried.size() + " "
+                    + "order by geohash, id limit :pageSize)");
+            queried.add(range);
+        }
+        if (branches.isEmpty()) {
+            return List.of();
+        }
+
+        Query query = entityManager.createNativeQuery(
+                        "select id, order_number, status, latitude, longitude, geohash from ("
+                                + String.join(" union all ", branches)
+                                + ") located order by geohash, id limit :pageSize", Tuple.class)
+                .setParameter("tenantId", tenantId)
+                .setParameter("pageSize", pageSize);
+        for (int i = 0; i < queried.size(); i++) {
+            Geohash.Range range = queried.get(i);
+            if (afterGeohash == null || range.from().compareTo(afterGeohash) > 0) {
+                query.setParameter("from" + i, range.from());
+            }
+            query.setParameter("to" + i, range.to());
+        }
+        if (afterGeohash != null && queried.stream().anyMatch(range -> range.contains(afterGeohash))) {
+            query.setParameter("afterGeohash", afterGeohash);
+            query.setParameter("afterId", after.get("id", UUID.class));
+        }
+        return query.getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Tuple> findHistory(UUID tenantId, UUID orderId, long offset, int limit) {
+        return entityManager.createNativeQuery(HISTORY_SQL, Tuple.class)
+                .setParameter("orderId", orderId)
+                .setParameter("tenantId", tenantId)
+                .setParameter("offset", offset)
+                .setParameter("limit", limit)
+                .getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<UUID, StatusChange> transitionStatuses(UUID tenantId, Collection<UUID> ids,
+                                                      Collection<OrderStatus> fromStatuses, OrderStatus toStatus,
+                                                      Instant updatedAt) {
+        if (ids.isEmpty() || fromStatuses.isEmpty()) {
+            return Map.of();
+        }
+        List<Tuple> rows = entityManager.createNativeQuery(asyncAudit ? STAGED_TRANSITION_SQL : TRANSITION_SQL, Tuple.class)
+                .setParameter("toStatus", toStatus.name())
+                .setParameter("updatedAt", updatedAt)
+                .setParameter("tenantId", tenantId)
+                .setParameter("ids", ids)
+                .setParameter("fromStatuses", fromStatuses.stream().map(Enum::name).toList())
+                .getResultList();
+        Map<UUID, StatusChange> updated = new LinkedHashMap<>();
+        for (Tuple row : rows) {
+            updated.put(row.get("id", UUID.class), new StatusChange(
+                    OrderStatus.valueOf(row.get("previous_status", String.class)),
+                    row.get("previous_updated_at", Instant.class),
+                    row.get("created_at", Instant.class)));
+        }
+        if (updated.isEmpty()) {
+            return updated;
+        }
+        if (asyncAudit) {
+            orderAuditCapture.signalAfterCommit(entityManager.unwrap(SessionImplementor.class), updated.size());
+            return updated;
+        }
+
+        // The audit rows are written by the statement below rather than by Envers, so their revision is as well
+        DefaultRevisionEntity revision = new DefaultRevisionEntity();
+        revision.setTimestamp(System.currentTimeMillis());
+        entityManager.persist(revision);
+        entityManager.flush();
+        entityManager.createNativeQuery(
+                        "insert into orders_aud (rev, revtype, " + AUDIT_COLUMNS + ") "
+                                + "select :rev, :revtype, " + AUDIT_COLUMNS + " from orders where id in (:ids)")
+                .setParameter("rev", revision.getId())
+                .setParameter("revtype", RevisionType.MOD.getRepresentation())
+                .setParameter("ids", updated.keySet())
+                .executeUpdate();
+        return updated;
+    }
+
+    @Override
+    public void countCreated(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        // The orders are read back from the table, so their pending inserts have to be written first
+        entityManager.flush();
+        entityManager.createNativeQuery("with created as ("
+                        + "select tenant_id, geohash, latitude, longitude, status, created_at from orders where id in (:ids)), "
+                        + "grid as (" + geoGridUpsert(
+                                "select tenant_id, geohash, latitude, longitude, status, 1 as sign from created") + ") "
+                        + dailyCountUpsert("select tenant_id, status, created_at as changed_at from created"))
+                .setParameter("ids", ids)
+                .executeUpdate();
+    }
+
+    @Override
+    public int backfillGeohashes(UUID[] ids, String[] geohashes) {
+        return ((Number) entityManager.createNativeQuery(BACKFILL_GEOHASH_SQL)
+                .setParameter("ids", ids)
+                .setParameter("geohashes", geohashes)
+                .getSingleResult()).intValue();
+    }
+
+    @Override
+    public long geoGridDrift() {
+        return ((Number) entityManager.createNativeQuery(GEO_GRID_DRIFT_SQL).getSingleResult()).longValue();
+    }
+
+    // The exclusive lock waits for every transaction that already changed the grid and holds off the rest until the
+    // rebuild commits; those then add their changes on top, so no order is counted twice or missed. Reads go on. As
+    // the lock stalls every order write, the drift is checked again under it, and only one replica rebuilds at a time.
+    @Override
+    public int rebuildGeoGrid() {
+        Boolean locked = (Boolean) entityManager.createNativeQuery("select pg_try_advisory_xact_lock(:lock)")
+                .setParameter("lock", GEO_GRID_REBUILD_LOCK)
+                .getSingleResult();
+        if (!locked) {
+            return -1;
+        }
+        entityManager.createNativeQuery("lock table order_geo_cells in exclusive mode").executeUpdate();
+        if (geoGridDrift() == 0) {
+            return -1;
+        }
+        entityManager.createNativeQuery("delete from order_geo_cells").executeUpdate();
+        return entityManager.createNativeQuery(geoGridUpsert(
+                        "select tenant_id, geohash, latitude, longitude, status, 1 as sign from orders"))
+                .executeUpdate();
+    }
+
+    // The first statement of a transition: locks the matching orders and reads the status each one leaves and since
+    // when, which under a concurrent transition is what that transition committed rather than what this one first saw
+    private static String transitionSql(String auditStep) {
+        return "with previous as ("
+                + "select id, status, updated_at from orders "
+                + "where tenant_id = :tenantId and id in (:ids) and status in (:fromStatuses) "
+                + "order by id for update), "
+                + "moved as ("
+                + "update orders set status = :toStatus, updated_at = :updatedAt, version = version + 1 "
+                + "from previous where orders.id = previous.id "
+                + "returning orders.id, orders.tenant_id, orders.geohash, orders.latitude, orders.longitude, "
+                + "orders.updated_at, orders.created_at, previous.status as previous_status, "
+                + "previous.updated_at as previous_updated_at), "
+                + "grid as (" + geoGridUpsert(
+                        "select tenant_id, geohash, latitude, longitude, previous_status as status, -1 as sign from moved "
+                                + "union all "
+                                + "select tenant_id, geohash, latitude, longitude, cast(:toStatus as varchar), 1 from moved")
+                + "), "
+                + "daily as (" + dailyCountUpsert(
+                        "select tenant_id, cast(:toStatus as varchar) as status, updated_at as changed_at from moved")
+                + ")" + auditStep
+                + " select id, previous_status, previous_updated_at, created_at from moved";
+    }
+
+    // Counts orders entering a status (tenant_id, status, changed_at) on the UTC day of the change, in key order like
+    // the grid
+    private static String dailyCountUpsert(String changes) {
+        return "insert into order_daily_counts (tenant_id, day, status, order_count) "
+                + "select change.tenant_id, cast(change.changed_at at time zone 'UTC' as date), change.status, count(*) "
+                + "from (" + changes + ") change "
+                + "group by 1, 2, 3 order by 1, 2, 3 "
+                + "on conflict (tenant_id, day, status) do update set "
+                + "order_count = order_daily_counts.order_count + excluded.order_count";
+    }
+
+    // Adds signed changes (tenant_id, geohash, latitude, longitude, status, sign) to every level of the grid. Rows
+    // are written in key order so that concurrent grid updates lock shared cells in the same order.
+    private static String geoGridUpsert(String changes) {
+        return "insert into order_geo_cells "
+                + "(tenant_id, cell_precision, cell, status, order_count, latitude_sum, longitude_sum) "
+                + "select change.tenant_id, level, left(change.geohash, level), change.status, sum(change.sign), "
+                + "sum(change.sign * change.latitude), sum(change.sign * change.longitude) "
+                + "from (" + changes + ") change "
+                + "cross join generate_series(1, " + OrderGeoCell.MAX_PRECISION + ") level "
+                + "where change.geohash is not null "
+                + "group by 1, 2, 3, 4 order by 1, 2, 3, 4 "
+                + "on conflict (tenant_id, cell_precision, cell, status) do update set "
+                + "order_count = order_geo_cells.order_count + excluded.order_count, "
+                + "latitude_sum = order_geo_cells.latitude_sum + excluded.latitude_sum, "
+                + "longitude_sum = order_geo_cells.longitude_sum + excluded.longitude_sum";
+    }
+}
@@ -2,8 +2,10 @@ package com.smartlogix.domain.repository;
 
 import com.smartlogix.domain.entity.Tenant;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -13,4 +15,7 @@ public interface TenantRepository extends JpaRepository<Tenant, UUID> {
     Optional<Tenant> findBySlug(String slug);
 
     Optional<Tenant> findByIdAndActiveTrue(UUID id);
+
+    @Query("select t.id from Tenant t where t.active = true order by t.createdAt")
+    List<UUID> findActiveIds();
 }
@@ -2,7 +2,11 @@ package com.smartlogix.domain.repository;
 
 import com.smartlogix.domain.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -13,4 +17,9 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByEmailAndTenantId(String email, UUID tenantId);
 
     Optional<User> findByEmail(String email);
+
+    @Modifying
+    @Transactional
+    @Query("update User u set u.passwordHash = :passwordHash where u.id = :id")
+    int updatePasswordHash(@Param("id") UUID id, @Param("passwordHash") String passwordHash);
 }
@@ -0,0 +1,27 @@
+package com.smartlogix.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOrderItemResultDTO {
+
+    public enum Outcome {
+        CREATED,
+        INVALID,
+        DUPLICATE
+    }
+
+    private int index;
+    private String orderNumber;
+    private Outcome outcome;
+    private UUID orderId;
+    private String message;
+}
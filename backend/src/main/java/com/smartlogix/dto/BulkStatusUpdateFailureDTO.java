@@ -0,0 +1,26 @@
+package com.smartlogix.dto;
+
+import com.smartlogix.domain.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusUpdateFailureDTO {
+
+    public enum Reason {
+        NOT_FOUND,
+        INVALID_TRANSITION
+    }
+
+    private UUID orderId;
+    private Reason reason;
+    private OrderStatus currentStatus;
+    private String message;
+}
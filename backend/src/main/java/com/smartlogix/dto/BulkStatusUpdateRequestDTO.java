@@ -0,0 +1,25 @@
+package com.smartlogix.dto;
+
+import com.smartlogix.domain.enums.OrderStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusUpdateRequestDTO {
+
+    @NotEmpty(message = "At least one order id is required")
+    private List<@NotNull UUID> orderIds;
+
+    @NotNull(message = "New status is required")
+    private OrderStatus newStatus;
+}
@@ -0,0 +1,23 @@
+package com.smartlogix.dto;
+
+import com.smartlogix.domain.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusUpdateResultDTO {
+
+    private OrderStatus newStatus;
+    private int updated;
+    private int failed;
+    private List<UUID> updatedIds;
+    private List<BulkStatusUpdateFailureDTO> failures;
+}
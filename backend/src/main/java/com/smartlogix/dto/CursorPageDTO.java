@@ -0,0 +1,20 @@
+package com.smartlogix.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+}
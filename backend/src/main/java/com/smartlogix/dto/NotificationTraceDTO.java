@@ -0,0 +1,29 @@
+package com.smartlogix.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationTraceDTO {
+
+    private UUID eventId;
+    private String eventType;
+    private Instant committedAt;
+    private Instant acknowledgedAt;
+    private Instant consumedAt;
+    private Instant dispatchedAt;
+    // Hop durations, null while a stamp is missing: commit to broker ack, commit to consume, consume to dispatch,
+    // and commit to dispatch
+    private Long publishMillis;
+    private Long consumeMillis;
+    private Long dispatchMillis;
+    private Long endToEndMillis;
+}
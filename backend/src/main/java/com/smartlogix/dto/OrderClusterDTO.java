@@ -0,0 +1,23 @@
+package com.smartlogix.dto;
+
+import com.smartlogix.domain.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+// The located orders of one geohash cell; latitude/longitude is their centroid, not the cell centre
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderClusterDTO {
+
+    private String cell;
+    private long count;
+    private double latitude;
+    private double longitude;
+    private Map<OrderStatus, Long> statusCounts;
+}
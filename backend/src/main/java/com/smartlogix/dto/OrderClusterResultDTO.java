@@ -0,0 +1,21 @@
+package com.smartlogix.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderClusterResultDTO {
+
+    // Geohash precision of the cells, chosen from the zoom and the size of the box
+    private int precision;
+    // Orders in the returned cells; cells overhang the box, so this may include orders just outside it
+    private long total;
+    private List<OrderClusterDTO> clusters;
+}
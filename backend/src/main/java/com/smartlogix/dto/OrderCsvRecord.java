@@ -11,6 +11,9 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class OrderCsvRecord {
 
+    // Column order shared by the CSV import reader and the CSV export
+    public static final String[] COLUMNS = {"orderNumber", "description", "destinationAddress", "weight"};
+
     private String orderNumber;
     private String description;
     private String destinationAddress;
@@ -0,0 +1,17 @@
+package com.smartlogix.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderFieldChangeDTO {
+
+    private String field;
+    private Object from;
+    private Object to;
+}
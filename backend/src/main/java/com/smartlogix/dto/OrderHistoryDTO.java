@@ -0,0 +1,28 @@
+package com.smartlogix.dto;
+
+import com.smartlogix.domain.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderHistoryDTO {
+
+    private UUID orderId;
+    private OrderStatus currentStatus;
+    // Delivered and cancelled orders cannot change any more, so neither can their history
+    private boolean closed;
+    // Newest revision first
+    private List<OrderHistoryEntryDTO> entries;
+    private int page;
+    private int size;
+    private long totalEntries;
+    private boolean hasNext;
+}
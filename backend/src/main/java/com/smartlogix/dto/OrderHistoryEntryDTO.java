@@ -0,0 +1,25 @@
+package com.smartlogix.dto;
+
+import com.smartlogix.domain.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.history.RevisionMetadata;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderHistoryEntryDTO {
+
+    private long revision;
+    private Instant timestamp;
+    private RevisionMetadata.RevisionType type;
+    private OrderStatus status;
+    // Fields that differ from the previous revision; on creation every field that was set
+    private List<OrderFieldChangeDTO> changes;
+}
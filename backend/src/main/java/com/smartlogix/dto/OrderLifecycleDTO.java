@@ -0,0 +1,21 @@
+package com.smartlogix.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderLifecycleDTO {
+
+    // Length of the sliding window the stages cover
+    private long windowMinutes;
+    // Stages with at least one order in the window: one per status transition, then the lead time from creation to
+    // delivery
+    private List<OrderLifecycleStageDTO> stages;
+}
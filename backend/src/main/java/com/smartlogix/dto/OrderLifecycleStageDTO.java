@@ -0,0 +1,23 @@
+package com.smartlogix.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderLifecycleStageDTO {
+
+    // The status the orders left and the one they entered; CREATED to DELIVERED is the lead time
+    private String from;
+    private String to;
+    // Orders that made the step within the window
+    private long count;
+    // Time spent in the from status, or since creation for the lead time
+    private double p50Seconds;
+    private double p95Seconds;
+    private double p99Seconds;
+}
@@ -0,0 +1,23 @@
+package com.smartlogix.dto;
+
+import com.smartlogix.domain.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+// Map marker for an order; details are loaded from GET /api/orders/{id} when a marker is opened
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderLocationDTO {
+
+    private UUID id;
+    private String orderNumber;
+    private OrderStatus status;
+    private double latitude;
+    private double longitude;
+}
@@ -0,0 +1,19 @@
+package com.smartlogix.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderLocationResultDTO {
+
+    private List<OrderLocationDTO> orders;
+    // More orders lie inside the box than the limit allowed; the returned ones come first in geohash order
+    private boolean truncated;
+}
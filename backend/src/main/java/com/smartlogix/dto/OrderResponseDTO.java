@@ -28,4 +28,21 @@ public class OrderResponseDTO {
     private UUID tenantId;
     private Instant createdAt;
     private Instant updatedAt;
+    private long version;
+
+    // Summary projection used by list queries; heavy text columns are filled in only when requested
+    public OrderResponseDTO(UUID id, String orderNumber, OrderStatus status, BigDecimal weight,
+                            Double latitude, Double longitude, UUID tenantId, Instant createdAt, Instant updatedAt,
+                            long version) {
+        this.id = id;
+        this.orderNumber = orderNumber;
+        this.status = status;
+        this.weight = weight;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.tenantId = tenantId;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.version = version;
+    }
 }
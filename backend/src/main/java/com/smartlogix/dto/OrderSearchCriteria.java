@@ -0,0 +1,27 @@
+package com.smartlogix.dto;
+
+import com.smartlogix.domain.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Set;
+
+// Bound from query parameters of GET /api/orders/search; every filter is optional, date ranges are [from, to) and weight bounds inclusive
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSearchCriteria {
+
+    private Set<OrderStatus> status;
+    private Instant createdFrom;
+    private Instant createdTo;
+    private Instant updatedFrom;
+    private Instant updatedTo;
+    private BigDecimal minWeight;
+    private BigDecimal maxWeight;
+}
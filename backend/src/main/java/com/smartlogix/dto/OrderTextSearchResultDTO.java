@@ -0,0 +1,19 @@
+package com.smartlogix.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderTextSearchResultDTO {
+
+    private List<OrderResponseDTO> orders;
+    // Number of matching orders, of which the newest up to the limit are returned
+    private long total;
+}
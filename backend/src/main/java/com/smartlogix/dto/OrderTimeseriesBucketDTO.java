@@ -0,0 +1,23 @@
+package com.smartlogix.dto;
+
+import com.smartlogix.domain.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderTimeseriesBucketDTO {
+
+    // First and last day of the bucket, both inclusive; a week cut off by the requested range only covers its part
+    private LocalDate start;
+    private LocalDate end;
+    // Orders that entered each status in the bucket; PENDING is the number of orders created
+    private Map<OrderStatus, Long> statusCounts;
+}
@@ -0,0 +1,23 @@
+package com.smartlogix.dto;
+
+import com.smartlogix.domain.enums.TimeseriesGranularity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderTimeseriesDTO {
+
+    private LocalDate from;
+    private LocalDate to;
+    private TimeseriesGranularity granularity;
+    // One bucket per day or week of the range, oldest first, including those without orders
+    private List<OrderTimeseriesBucketDTO> buckets;
+}
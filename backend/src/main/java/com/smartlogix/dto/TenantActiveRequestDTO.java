@@ -0,0 +1,17 @@
+package com.smartlogix.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TenantActiveRequestDTO {
+
+    @NotNull(message = "Active flag is required")
+    private Boolean active;
+}
@@ -0,0 +1,8 @@
+package com.smartlogix.exception;
+
+public class ConcurrentUpdateException extends RuntimeException {
+
+    public ConcurrentUpdateException(String message) {
+        super(message);
+    }
+}
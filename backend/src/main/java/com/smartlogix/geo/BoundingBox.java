@@ -0,0 +1,58 @@
+package com.smartlogix.geo;
+
+import java.util.List;
+
+// A latitude/longitude rectangle; west > east describes a box that crosses the antimeridian
+public record BoundingBox(double west, double south, double east, double north) {
+
+    public BoundingBox {
+        if (!(south >= -90 && north <= 90 && south <= north)) {
+            throw new IllegalStateException("Invalid bbox latitudes: south=" + south + ", north=" + north);
+        }
+        if (!(west >= -180 && west <= 180 && east >= -180 && east <= 180)) {
+            throw new IllegalStateException("Invalid bbox longitudes: west=" + west + ", east=" + east);
+        }
+    }
+
+    // Parses "west,south,east,north" in degrees, the GeoJSON bbox order
+    public static BoundingBox parse(String bbox) {
+        String[] parts = bbox == null ? new String[0] : bbox.split(",");
+        if (parts.length != 4) {
+            throw new IllegalStateException("bbox must be west,south,east,north");
+        }
+        try {
+            return new BoundingBox(Double.parseDouble(parts[0].trim()), Double.parseDouble(parts[1].trim()),
+                    Double.parseDouble(parts[2].trim()), Double.parseDouble(parts[3].trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("bbox must be west,south,east,north: " + bbox);
+        }
+    }
+
+    // Splits a box crossing the antimeridian into its eastern and western halves
+    public List<BoundingBox> parts() {
+        if (west <= east) {
+            return List.of(this);
+        }
+        return List.of(new BoundingBox(west, south, 180, north), new BoundingBox(-180, south, east, north));
+    }
+
+    // Both boxes must not cross the antimeridian
+    public boolean covers(BoundingBox other) {
+        return other.west >= west && other.east <= east && other.south >= south && other.north <= north;
+    }
+
+    // Both boxes must not cross the antimeridian and must overlap
+    public BoundingBox intersection(BoundingBox other) {
+        return new BoundingBox(Math.max(west, other.west), Math.max(south, other.south),
+                Math.min(east, other.east), Math.min(north, other.north));
+    }
+
+    public boolean contains(double latitude, double longitude) {
+        if (latitude < south || latitude > north) {
+            return false;
+        }
+        return west <= east
+                ? longitude >= west && longitude <= east
+                : longitude >= west || longitude <= east;
+    }
+}
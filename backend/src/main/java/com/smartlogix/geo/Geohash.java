@@ -0,0 +1,221 @@
+package com.smartlogix.geo;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.TreeSet;
+
+// Geohashes interleave longitude and latitude bits along a Z-order curve, so every geohash cell is a contiguous
+// range of the string sort order. The alphabet is in ASCII order, which makes a B-tree over a "C"-collated
+// geohash column usable for cell lookups.
+public final class Geohash {
+
+    public static final int MAX_PRECISION = 12;
+
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+
+    // Sorts after every geohash character; the exclusive upper bound of the last cells of the curve
+    private static final char END = '{';
+
+    private Geohash() {
+    }
+
+    // A half-open range [from, to) of geohashes
+    public record Range(String from, String to) {
+
+        public boolean contains(String geohash) {
+            return geohash.compareTo(from) >= 0 && geohash.compareTo(to) < 0;
+        }
+    }
+
+    public static String encode(double latitude, double longitude, int precision) {
+        if (precision < 1 || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Geohash precision must be between 1 and " + MAX_PRECISION);
+        }
+        double minLat = -90, maxLat = 90, minLon = -180, maxLon = 180;
+        char[] hash = new char[precision];
+        boolean lonBit = true;
+        int bits = 0, value = 0, length = 0;
+        while (length < precision) {
+            if (lonBit) {
+                double mid = (minLon + maxLon) / 2;
+                if (longitude >= mid) {
+                    value = value << 1 | 1;
+                    minLon = mid;
+                } else {
+                    value <<= 1;
+                    maxLon = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    value = value << 1 | 1;
+                    minLat = mid;
+                } else {
+                    value <<= 1;
+                    maxLat = mid;
+                }
+            }
+            lonBit = !lonBit;
+            if (++bits == 5) {
+                hash[length++] = BASE32.charAt(value);
+                bits = 0;
+                value = 0;
+            }
+        }
+        return new String(hash);
+    }
+
+    // Geohash ranges that together contain every point of the box, built from at most maxCells cells: the box is
+    // covered at the finest uniform precision that fits, then cells the box only partly covers are split into their
+    // finer children while the budget allows, so the cover hugs the box. Cells adjacent on the curve are merged.
+    public static List<Range> cover(BoundingBox box, int maxCells) {
+        if (box.west() > box.east()) {
+            throw new IllegalArgumentException("Cover each part of a box crossing the antimeridian separately");
+        }
+        int precision = 1;
+        for (int candidate = MAX_PRECISION; candidate > 1; candidate--) {
+            if (cellCount(box, candidate) <= maxCells) {
+                precision = candidate;
+                break;
+            }
+        }
+
+        Deque<String> pending = new ArrayDeque<>(cells(box, precision));
+        int count = pending.size();
+        TreeSet<String> cells = new TreeSet<>();
+        while (!pending.isEmpty()) {
+            String cell = pending.poll();
+            BoundingBox bounds = bounds(cell);
+            if (cell.length() < MAX_PRECISION && !box.covers(bounds)) {
+                // The intersection's north and east edges may touch cells of the neighbouring parent
+                List<String> children = cells(box.intersection(bounds), cell.length() + 1).stream()
+                        .filter(child -> child.startsWith(cell))
+                        .toList();
+                if (count - 1 + children.size() <= maxCells) {
+                    pending.addAll(children);
+                    count += children.size() - 1;
+                    continue;
+                }
+            }
+            cells.add(cell);
+        }
+
+        List<Range> ranges = new ArrayList<>();
+        for (String cell : cells) {
+            String from = trimZeros(cell);
+            String to = trimZeros(successor(cell));
+            Range last = ranges.isEmpty() ? null : ranges.get(ranges.size() - 1);
+            if (last != null && last.to().equals(from)) {
+                ranges.set(ranges.size() - 1, new Range(last.from(), to));
+            } else {
+                ranges.add(new Range(from, to));
+            }
+        }
+        return ranges;
+    }
+
+    public static BoundingBox bounds(String geohash) {
+        double minLat = -90, maxLat = 90, minLon = -180, maxLon = 180;
+        boolean lonBit = true;
+        for (int i = 0; i < geohash.length(); i++) {
+            int value = BASE32.indexOf(geohash.charAt(i));
+            for (int bit = 4; bit >= 0; bit--) {
+                boolean set = (value >> bit & 1) == 1;
+                if (lonBit) {
+                    double mid = (minLon + maxLon) / 2;
+                    if (set) {
+                        minLon = mid;
+                    } else {
+                        maxLon = mid;
+                    }
+                } else {
+                    double mid = (minLat + maxLat) / 2;
+                    if (set) {
+                        minLat = mid;
+                    } else {
+                        maxLat = mid;
+                    }
+                }
+                lonBit = !lonBit;
+            }
+        }
+        return new BoundingBox(minLon, minLat, maxLon, maxLat);
+    }
+
+    // The cells of the given precision that intersect the box, which must not cross the antimeridian
+    public static List<String> cells(BoundingBox box, int precision) {
+        double cellWidth = cellWidth(precision);
+        double cellHeight = cellHeight(precision);
+        List<String> cells = new ArrayList<>();
+        for (int row = row(box.south(), precision); row <= row(box.north(), precision); row++) {
+            for (int column = column(box.west(), precision); column <= column(box.east(), precision); column++) {
+                cells.add(encode(-90 + (row + 0.5) * cellHeight, -180 + (column + 0.5) * cellWidth, precision));
+            }
+        }
+        return cells;
+    }
+
+    // Trailing '0's do not change where a bound falls among full-precision geohashes; dropping them lets the bounds
+    // of cells with different precisions meet
+    private static String trimZeros(String bound) {
+        int length = bound.length();
+        while (length > 1 && bound.charAt(length - 1) == BASE32.charAt(0)) {
+            length--;
+        }
+        return bound.substring(0, length);
+    }
+
+    // The next cell of the same precision along the curve, or END after the last cell
+    private static String successor(String cell) {
+        char[] chars = cell.toCharArray();
+        for (int i = chars.length - 1; i >= 0; i--) {
+            int index = BASE32.indexOf(chars[i]);
+            if (index < BASE32.length() - 1) {
+                chars[i] = BASE32.charAt(index + 1);
+                return new String(chars);
+            }
+            chars[i] = BASE32.charAt(0);
+        }
+        return String.valueOf(END);
+    }
+
+    public static long cellCount(BoundingBox box, int precision) {
+        return columns(box, precision) * rows(box, precision);
+    }
+
+    private static long columns(BoundingBox box, int precision) {
+        return column(box.east(), precision) - column(box.west(), precision) + 1L;
+    }
+
+    private static long rows(BoundingBox box, int precision) {
+        return row(box.north(), precision) - row(box.south(), precision) + 1L;
+    }
+
+    private static int column(double longitude, int precision) {
+        int max = (1 << longitudeBits(precision)) - 1;
+        return Math.min(max, (int) Math.floor((longitude + 180) / cellWidth(precision)));
+    }
+
+    private static int row(double latitude, int precision) {
+        int max = (1 << latitudeBits(precision)) - 1;
+        return Math.min(max, (int) Math.floor((latitude + 90) / cellHeight(precision)));
+    }
+
+    public static double cellWidth(int precision) {
+        return 360.0 / (1L << longitudeBits(precision));
+    }
+
+    private static double cellHeight(int precision) {
+        return 180.0 / (1L << latitudeBits(precision));
+    }
+
+    private static int longitudeBits(int precision) {
+        return (5 * precision + 1) / 2;
+    }
+
+    private static int latitudeBits(int precision) {
+        return 5 * precision / 2;
+    }
+}
@@ -0,0 +1,264 @@
+package com.smartlogix.messaging;
+
+import com.smartlogix.domain.entity.NotificationTrace;
+import com.smartlogix.domain.repository.NotificationTraceRepository;
+import com.smartlogix.dto.NotificationTraceDTO;
+import com.smartlogix.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.integration.annotation.ServiceActivator;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Latency of order change notifications, hop by hop: from the commit that an event announces to the broker's ack of
+// its record (publish), to its receipt by the replica that forwards it (consume), and from there to the WebSocket
+// broker (dispatch), plus commit to dispatch as a whole (end-to-end). Every event is recorded in the
+// smartlogix.notifications.latency timers, whose histograms have a bucket at the objective. A sample of events is
+// also traced: each replica queues the stamps it took and a background thread adds them to the event's row in
+// notification_traces, so a slow notification can be followed across replicas. Stamps come from the clocks of
+// different replicas, so hops shorter than their skew read as zero.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationLatency {
+
+    // Channel the Kafka binder sends acknowledged order event records to, with the headers set by OrderEventProducer
+    public static final String ACK_CHANNEL = "orderEventAcks";
+    static final String COMMITTED_AT_HEADER = "smartlogix_committedAt";
+    // Only set on traced events
+    static final String EVENT_ID_HEADER = "smartlogix_eventId";
+    static final String TENANT_ID_HEADER = "smartlogix_tenantId";
+    static final String EVENT_TYPE_HEADER = "smartlogix_eventType";
+
+    private static final int MAX_TRACES = 500;
+
+    private final NotificationTraceRepository notificationTraceRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${smartlogix.notifications.slo-ms:1000}")
+    private long sloMs;
+
+    @Value("${smartlogix.notifications.trace.sample-rate:0.01}")
+    private double sampleRate;
+
+    @Value("${smartlogix.notifications.trace.retention-hours:24}")
+    private long retentionHours;
+
+    @Value("${smartlogix.notifications.trace.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${smartlogix.notifications.trace.batch-size:500}")
+    private int batchSize;
+
+    private Timer publishTimer;
+    private Timer consumeTimer;
+    private Timer dispatchTimer;
+    private Timer endToEndTimer;
+    private Counter dropped;
+    private BlockingQueue<Stamps> queue;
+    private volatile boolean running;
+    private Thread writer;
+
+    // The stamps one replica took of a traced event; the others are null
+    record Stamps(UUID eventId, UUID tenantId, String eventType, Instant committedAt,
+                  Instant acknowledgedAt, Instant consumedAt, Instant dispatchedAt) {
+    }
+
+    @PostConstruct
+    void init() {
+        publishTimer = timer("publish");
+        consumeTimer = timer("consume");
+        dispatchTimer = timer("dispatch");
+        endToEndTimer = timer("end-to-end");
+        dropped = Counter.builder("smartlogix.notifications.traces.dropped")
+                .description("Notification trace stamps dropped because the trace writer fell behind")
+                .register(meterRegistry);
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        writer = Thread.ofVirtual().name("notification-trace-writer").start(this::run);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.interrupt();
+            writer.join(Duration.ofSeconds(10));
+        }
+    }
+
+    // Whether a new event is traced
+    public boolean sample() {
+        return sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    // Called with the record the broker acknowledged
+    @ServiceActivator(inputChannel = ACK_CHANNEL)
+    public void acknowledged(Message<?> record) {
+        Instant acknowledgedAt = Instant.now();
+        MessageHeaders headers = record.getHeaders();
+        String committedAt = headers.get(COMMITTED_AT_HEADER, String.class);
+        if (committedAt == null) {
+            return;
+        }
+        Instant committed = Instant.parse(committedAt);
+        record(publishTimer, committed, acknowledgedAt);
+
+        String eventId = headers.get(EVENT_ID_HEADER, String.class);
+        if (eventId != null) {
+            enqueue(new Stamps(UUID.fromString(eventId), UUID.fromString(headers.get(TENANT_ID_HEADER, String.class)),
+                    headers.get(EVENT_TYPE_HEADER, String.class), committed, acknowledgedAt, null, null));
+        }
+    }
+
+    // Called as the event reaches the replica that forwards it to WebSocket subscribers
+    public void consumed(OrderEvent event) {
+        event.setConsumedAt(Instant.now());
+        if (event.getTimestamp() != null) {
+            record(consumeTimer, event.getTimestamp(), event.getConsumedAt());
+        }
+    }
+
+    // Called right before the event is handed to the WebSocket broker, which sends it with both stamps
+    public void dispatched(OrderEvent event) {
+        event.setDispatchedAt(Instant.now());
+        if (event.getConsumedAt() != null) {
+            record(dispatchTimer, event.getConsumedAt(), event.getDispatchedAt());
+        }
+        if (event.getTimestamp() == null) {
+            return;
+        }
+        record(endToEndTimer, event.getTimestamp(), event.getDispatchedAt());
+        // Events from replicas that do not stamp them yet have no id and are never traced
+        if (event.isTraced() && event.getEventId() != null) {
+            enqueue(new Stamps(event.getEventId(), event.getTenantId(), event.getEventType(), event.getTimestamp(),
+                    null, event.getConsumedAt(), event.getDispatchedAt()));
+        }
+    }
+
+    public List<NotificationTraceDTO> getTraces(UUID tenantId, int limit) {
+        return notificationTraceRepository.findByTenantIdOrderByCommittedAtDesc(tenantId,
+                        Limit.of(Math.max(1, Math.min(limit, MAX_TRACES))))
+                .stream()
+                .map(NotificationLatency::toDTO)
+                .toList();
+    }
+
+    public NotificationTraceDTO getTrace(UUID tenantId, UUID eventId) {
+        return notificationTraceRepository.findByTenantIdAndEventId(tenantId, eventId)
+                .map(NotificationLatency::toDTO)
+                .orElseThrow(() -> new ResourceNotFoundException("Notification trace", eventId));
+    }
+
+    // Writes first, if any, and the queued stamps up to a batch; returns the number written
+    int flush(Stamps first) {
+        List<Stamps> batch = new ArrayList<>(batchSize);
+        if (first != null) {
+            batch.add(first);
+        }
+        queue.drainTo(batch, batchSize - batch.size());
+        if (!batch.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> batch.forEach(stamps ->
+                    notificationTraceRepository.addStamps(stamps.eventId(), stamps.tenantId(), stamps.eventType(),
+                            stamps.committedAt(), stamps.acknowledgedAt(), stamps.consumedAt(),
+                            stamps.dispatchedAt())));
+        }
+        return batch.size();
+    }
+
+    int purge() {
+        return transactionTemplate.execute(status -> notificationTraceRepository.deleteCommittedBefore(
+                Instant.now().minus(Duration.ofHours(retentionHours))));
+    }
+
+    private void enqueue(Stamps stamps) {
+        if (!queue.offer(stamps)) {
+            dropped.increment();
+        }
+    }
+
+    private void run() {
+        log.info("Notification trace writer started: sampleRate={}, retentionHours={}", sampleRate, retentionHours);
+        Instant nextPurge = Instant.now();
+        while (running) {
+            try {
+                int written = flush(queue.poll(1, TimeUnit.SECONDS));
+                while (written == batchSize) {
+                    written = flush(null);
+                }
+                if (Instant.now().isAfter(nextPurge)) {
+                    int purged = purge();
+                    log.debug("Purged notification traces past retention: rows={}", purged);
+                    nextPurge = Instant.now().plus(Duration.ofHours(1));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Notification trace writer failed, retrying", e);
+            }
+        }
+    }
+
+    private Timer timer(String hop) {
+        return Timer.builder("smartlogix.notifications.latency")
+                .description("Time from the commit of an order change to each hop of its WebSocket notification")
+                .tag("hop", hop)
+                .publishPercentileHistogram()
+                .serviceLevelObjectives(Duration.ofMillis(sloMs))
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(60))
+                .register(meterRegistry);
+    }
+
+    // Timestamps taken on different replicas can be slightly out of order
+    private static void record(Timer timer, Instant from, Instant to) {
+        timer.record(Math.max(0, ChronoUnit.NANOS.between(from, to)), TimeUnit.NANOSECONDS);
+    }
+
+    private static NotificationTraceDTO toDTO(NotificationTrace trace) {
+        return NotificationTraceDTO.builder()
+                .eventId(trace.getEventId())
+                .eventType(trace.getEventType())
+                .committedAt(trace.getCommittedAt())
+                .acknowledgedAt(trace.getAcknowledgedAt())
+                .consumedAt(trace.getConsumedAt())
+                .dispatchedAt(trace.getDispatchedAt())
+                .publishMillis(millisBetween(trace.getCommittedAt(), trace.getAcknowledgedAt()))
+                .consumeMillis(millisBetween(trace.getCommittedAt(), trace.getConsumedAt()))
+                .dispatchMillis(millisBetween(trace.getConsumedAt(), trace.getDispatchedAt()))
+                .endToEndMillis(millisBetween(trace.getCommittedAt(), trace.getDispatchedAt()))
+                .build();
+    }
+
+    private static Long millisBetween(Instant from, Instant to) {
+        return from == null || to == null ? null : Math.max(0, ChronoUnit.MILLIS.between(from, to));
+    }
+}
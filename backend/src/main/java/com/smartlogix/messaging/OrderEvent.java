@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 @Data
@@ -15,9 +16,22 @@ import java.util.UUID;
 @AllArgsConstructor
 public class OrderEvent {
 
+    // Identifies the event in notification traces
+    private UUID eventId;
     private String eventType;
     private UUID orderId;
+    // Set instead of orderId when one event covers a set-based update of many orders
+    private List<UUID> orderIds;
     private UUID tenantId;
     private OrderStatus status;
+    // Status changes only: the status the order left, or for a batched event the status of each of orderIds in turn
+    private OrderStatus previousStatus;
+    private List<OrderStatus> previousStatuses;
+    // Events are built once the change committed, so this is the commit stamp the notification latency is measured from
     private Instant timestamp;
+    // Sampled for a stored notification trace, see NotificationLatency
+    private boolean traced;
+    // Stamped by the replica that forwards the event to WebSocket subscribers, who receive it with both stamps
+    private Instant consumedAt;
+    private Instant dispatchedAt;
 }
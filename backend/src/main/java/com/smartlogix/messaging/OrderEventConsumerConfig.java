@@ -1,11 +1,19 @@
 package com.smartlogix.messaging;
 
+import com.smartlogix.service.OrderCache;
+import com.smartlogix.service.OrderStatusCounts;
+import com.smartlogix.service.OrderTextIndex;
+import com.smartlogix.service.TenantTagResolver;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 
+import java.util.List;
+import java.util.UUID;
 import java.util.function.Consumer;
 
 @Slf4j
@@ -13,18 +21,76 @@ import java.util.function.Consumer;
 @RequiredArgsConstructor
 public class OrderEventConsumerConfig {
 
-    private final SimpMessagingTemplate messagingTemplate;
+    private final OrderNotifier orderNotifier;
+    private final OrderCache orderCache;
+    private final OrderTextIndex orderTextIndex;
+    private final OrderStatusCounts orderStatusCounts;
+    private final MeterRegistry meterRegistry;
+    private final TenantTagResolver tenantTagResolver;
+    private final NotificationLatency notificationLatency;
 
     @Bean
     public Consumer<OrderEvent> orderEventConsumer() {
+        Meter.MeterProvider<Timer> consumeTimer = Timer.builder("smartlogix.events.consume")
+                .description("Time spent handling an order event, including its WebSocket notification")
+                .publishPercentileHistogram()
+                .withRegistry(meterRegistry);
         return event -> {
-            log.info("Received order event: type={}, orderId={}, tenantId={}",
-                    event.getEventType(), event.getOrderId(), event.getTenantId());
+            notificationLatency.consumed(event);
+            String exception = "none";
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                if (event.getOrderIds() != null) {
+                    log.info("Received batched order event: type={}, orders={}, tenantId={}",
+                            event.getEventType(), event.getOrderIds().size(), event.getTenantId());
+                } else {
+                    log.info("Received order event: type={}, orderId={}, tenantId={}",
+                            event.getEventType(), event.getOrderId(), event.getTenantId());
+                }
 
-            String destination = "/topic/orders/" + event.getTenantId();
-            messagingTemplate.convertAndSend(destination, event);
+                notificationLatency.dispatched(event);
+                orderNotifier.send(event.getTenantId(), event);
 
-            log.debug("WebSocket notification sent to {}", destination);
+                log.debug("WebSocket notification sent: tenantId={}", event.getTenantId());
+            } catch (RuntimeException e) {
+                exception = e.getClass().getSimpleName();
+                throw e;
+            } finally {
+                sample.stop(consumeTimer.withTags("type", event.getEventType(), "exception", exception));
+                meterRegistry.counter("smartlogix.events.consumed",
+                                "type", event.getEventType(),
+                                "exception", exception,
+                                "tenant", tenantTagResolver.tagOf(event.getTenantId()))
+                        .increment();
+            }
         };
     }
+
+    // Bound without a consumer group, so every replica receives every order event and drops its cached copies
+    @Bean
+    public Consumer<OrderEvent> orderCacheEvictionConsumer() {
+        return event -> {
+            List<UUID> orderIds = event.getOrderIds() != null ? event.getOrderIds() : List.of(event.getOrderId());
+            orderCache.evict(event.getTenantId(), orderIds);
+        };
+    }
+
+    // Also bound without a consumer group: every replica adds created orders to its text index. Order text is only
+    // written at creation, so other event types leave the index as it is.
+    @Bean
+    public Consumer<OrderEvent> orderTextIndexConsumer() {
+        return event -> {
+            if (!"OrderCreated".equals(event.getEventType())) {
+                return;
+            }
+            List<UUID> orderIds = event.getOrderIds() != null ? event.getOrderIds() : List.of(event.getOrderId());
+            orderTextIndex.index(event.getTenantId(), orderIds);
+        };
+    }
+
+    // Also bound without a consumer group: every replica keeps its live status counts current
+    @Bean
+    public Consumer<OrderEvent> orderStatusCountConsumer() {
+        return orderStatusCounts::apply;
+    }
 }
@@ -1,12 +1,26 @@
 package com.smartlogix.messaging;
 
 import com.smartlogix.domain.entity.Order;
+import com.smartlogix.domain.enums.OrderStatus;
+import com.smartlogix.domain.id.TimeOrderedUuid;
+import com.smartlogix.domain.repository.OrderRepositoryCustom.StatusChange;
+import com.smartlogix.service.TenantTagResolver;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.integration.support.MessageBuilder;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 @Slf4j
 @Service
@@ -14,19 +28,107 @@ import java.time.Instant;
 public class OrderEventProducer {
 
     private final StreamBridge streamBridge;
+    private final MeterRegistry meterRegistry;
+    private final TenantTagResolver tenantTagResolver;
+    private final NotificationLatency notificationLatency;
+
+    private Meter.MeterProvider<Timer> publishTimer;
+
+    @PostConstruct
+    void init() {
+        publishTimer = Timer.builder("smartlogix.events.publish")
+                .description("Time spent handing order events to the binder")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.of(10, ChronoUnit.MICROS))
+                .maximumExpectedValue(Duration.ofSeconds(5))
+                .withRegistry(meterRegistry);
+    }
 
     public void publishOrderEvent(Order order, String eventType) {
+        publish(toEvent(order, eventType));
+    }
+
+    public void publishStatusChange(Order order, OrderStatus previousStatus) {
+        OrderEvent event = toEvent(order, "OrderStatusChanged");
+        event.setPreviousStatus(previousStatus);
+        publish(event);
+    }
+
+    // Sends back-to-back so the Kafka producer coalesces them into as few produce requests as
+    // its linger.ms/batch.size settings allow, instead of one round trip per order.
+    public void publishOrderEvents(List<Order> orders, String eventType) {
+        if (orders.isEmpty()) {
+            return;
+        }
+
+        log.info("Publishing {} order events: type={}, tenantId={}",
+                orders.size(), eventType, orders.get(0).getTenant().getId());
+
+        for (Order order : orders) {
+            send(toEvent(order, eventType));
+        }
+    }
+
+    // changes holds the changed orders in event order, each with the status it left
+    public void publishStatusChange(UUID tenantId, Map<UUID, StatusChange> changes, OrderStatus status) {
+        List<UUID> orderIds = List.copyOf(changes.keySet());
         OrderEvent event = OrderEvent.builder()
+                .eventId(TimeOrderedUuid.next())
+                .eventType("OrderStatusChanged")
+                .orderIds(orderIds)
+                .tenantId(tenantId)
+                .status(status)
+                .previousStatuses(changes.values().stream().map(StatusChange::previousStatus).toList())
+                .timestamp(Instant.now())
+                .traced(notificationLatency.sample())
+                .build();
+
+        log.info("Publishing batched order event: type={}, orders={}, status={}, tenantId={}",
+                event.getEventType(), orderIds.size(), status, tenantId);
+
+        send(event);
+    }
+
+    private void publish(OrderEvent event) {
+        log.info("Publishing order event: type={}, orderId={}, tenantId={}",
+                event.getEventType(), event.getOrderId(), event.getTenantId());
+
+        send(event);
+    }
+
+    // With the Kafka binder a send returns once the record is queued in the producer, before the broker acknowledges it.
+    // The headers come back with the acknowledged record on NotificationLatency.ACK_CHANNEL.
+    private void send(OrderEvent event) {
+        MessageBuilder<OrderEvent> message = MessageBuilder.withPayload(event)
+                .setHeader(NotificationLatency.COMMITTED_AT_HEADER, event.getTimestamp().toString());
+        if (event.isTraced()) {
+            message.setHeader(NotificationLatency.EVENT_ID_HEADER, event.getEventId().toString())
+                    .setHeader(NotificationLatency.TENANT_ID_HEADER, event.getTenantId().toString())
+                    .setHeader(NotificationLatency.EVENT_TYPE_HEADER, event.getEventType());
+        }
+        String result = "error";
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            result = streamBridge.send("order-events-out-0", message.build()) ? "sent" : "failed";
+        } finally {
+            sample.stop(publishTimer.withTags("type", event.getEventType(), "result", result));
+            meterRegistry.counter("smartlogix.events.published",
+                            "type", event.getEventType(),
+                            "result", result,
+                            "tenant", tenantTagResolver.tagOf(event.getTenantId()))
+                    .increment();
+        }
+    }
+
+    private OrderEvent toEvent(Order order, String eventType) {
+        return OrderEvent.builder()
+                .eventId(TimeOrderedUuid.next())
                 .eventType(eventType)
                 .orderId(order.getId())
                 .tenantId(order.getTenant().getId())
                 .status(order.getStatus())
                 .timestamp(Instant.now())
+                .traced(notificationLatency.sample())
                 .build();
-
-        log.info("Publishing order event: type={}, orderId={}, tenantId={}",
-                eventType, event.getOrderId(), event.getTenantId());
-
-        streamBridge.send("order-events-out-0", event);
     }
 }
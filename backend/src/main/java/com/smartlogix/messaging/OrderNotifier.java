@@ -0,0 +1,41 @@
+package com.smartlogix.messaging;
+
+import com.smartlogix.service.TenantTagResolver;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+// Sends order updates to the tenant's WebSocket topic. The timer covers handing the message to the broker, which
+// queues it for each subscribed session.
+@Component
+@RequiredArgsConstructor
+public class OrderNotifier {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final MeterRegistry meterRegistry;
+    private final TenantTagResolver tenantTagResolver;
+
+    private Timer sendTimer;
+
+    @PostConstruct
+    void init() {
+        sendTimer = Timer.builder("smartlogix.websocket.send")
+                .description("Time spent handing order updates to the WebSocket broker")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.of(10, ChronoUnit.MICROS))
+                .maximumExpectedValue(Duration.ofSeconds(1))
+                .register(meterRegistry);
+    }
+
+    public void send(UUID tenantId, Object payload) {
+        sendTimer.record(() -> messagingTemplate.convertAndSend("/topic/orders/" + tenantId, payload));
+        meterRegistry.counter("smartlogix.websocket.messages", "tenant", tenantTagResolver.tagOf(tenantId)).increment();
+    }
+}
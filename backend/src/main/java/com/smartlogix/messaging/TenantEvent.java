@@ -0,0 +1,21 @@
+package com.smartlogix.messaging;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TenantEvent {
+
+    private String eventType;
+    private UUID tenantId;
+    private boolean active;
+    private Instant timestamp;
+}
@@ -0,0 +1,40 @@
+package com.smartlogix.messaging;
+
+import com.smartlogix.security.UserPrincipalService;
+import com.smartlogix.service.ActiveTenantCache;
+import com.smartlogix.service.OrderStatusCounts;
+import com.smartlogix.service.OrderTextIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.Consumer;
+
+// The tenantEventConsumer binding has no consumer group, so every replica receives every
+// tenant event and drops its own cached tenant and user state.
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class TenantEventConsumerConfig {
+
+    private final ActiveTenantCache activeTenantCache;
+    private final UserPrincipalService userPrincipalService;
+    private final OrderTextIndex orderTextIndex;
+    private final OrderStatusCounts orderStatusCounts;
+
+    @Bean
+    public Consumer<TenantEvent> tenantEventConsumer() {
+        return event -> {
+            log.info("Received tenant event: type={}, tenantId={}, active={}",
+                    event.getEventType(), event.getTenantId(), event.isActive());
+
+            activeTenantCache.evict(event.getTenantId());
+            userPrincipalService.evictTenant(event.getTenantId());
+            if (!event.isActive()) {
+                orderTextIndex.evict(event.getTenantId());
+                orderStatusCounts.evict(event.getTenantId());
+            }
+        };
+    }
+}
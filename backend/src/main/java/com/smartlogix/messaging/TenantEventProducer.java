@@ -0,0 +1,31 @@
+package com.smartlogix.messaging;
+
+import com.smartlogix.domain.entity.Tenant;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TenantEventProducer {
+
+    private final StreamBridge streamBridge;
+
+    public void publishTenantEvent(Tenant tenant, String eventType) {
+        TenantEvent event = TenantEvent.builder()
+                .eventType(eventType)
+                .tenantId(tenant.getId())
+                .active(tenant.isActive())
+                .timestamp(Instant.now())
+                .build();
+
+        log.info("Publishing tenant event: type={}, tenantId={}, active={}",
+                eventType, event.getTenantId(), event.isActive());
+
+        streamBridge.send("tenant-events-out-0", event);
+    }
+}
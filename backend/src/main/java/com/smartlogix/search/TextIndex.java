@@ -0,0 +1,209 @@
+package com.smartlogix.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory inverted index from TextTokenizer tokens to documents. Documents are numbered in the order they are first
+// added, and a search returns the highest numbers first, so documents added oldest first come back newest first.
+// Terms are looked up by hash while indexing and also kept sorted, which makes every term starting with a prefix one
+// range of the sorted map. Searches share a read lock; each put holds the write lock only while it inserts one
+// document's terms.
+public class TextIndex {
+
+    // Rough heap cost of the structures behind each term and document, for estimatedBytes()
+    private static final int TERM_OVERHEAD = 176;
+    private static final int DOCUMENT_OVERHEAD = 128;
+    private static final int REFERENCE_SIZE = 8;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> terms = new HashMap<>();
+    private final NavigableMap<String, Postings> sortedTerms = new TreeMap<>();
+    private final Map<UUID, Integer> numbers = new HashMap<>();
+    private final List<UUID> ids = new ArrayList<>();
+    private final List<String[]> documentTerms = new ArrayList<>();
+    private long estimatedBytes;
+
+    public record Matches(List<UUID> ids, int total) {
+    }
+
+    // Indexes the texts under the id, replacing what was indexed for it before; the id keeps its number
+    public void put(UUID id, String... texts) {
+        String[] tokens = TextTokenizer.tokens(texts).toArray(String[]::new);
+        Arrays.sort(tokens);
+
+        lock.writeLock().lock();
+        try {
+            Integer number = numbers.get(id);
+            if (number == null) {
+                number = ids.size();
+                numbers.put(id, number);
+                ids.add(id);
+                documentTerms.add(null);
+                estimatedBytes += DOCUMENT_OVERHEAD;
+            } else if (Arrays.equals(documentTerms.get(number), tokens)) {
+                return;
+            } else {
+                removeTerms(number);
+            }
+
+            String[] stored = new String[tokens.length];
+            for (int i = 0; i < tokens.length; i++) {
+                Postings postings = terms.get(tokens[i]);
+                if (postings == null) {
+                    postings = new Postings(tokens[i]);
+                    terms.put(tokens[i], postings);
+                    sortedTerms.put(tokens[i], postings);
+                    estimatedBytes += TERM_OVERHEAD + tokens[i].length() + postings.bytes();
+                }
+                // Documents share the term instance the maps already hold
+                stored[i] = postings.term;
+                estimatedBytes += postings.add(number);
+            }
+            documentTerms.set(number, stored);
+            estimatedBytes += (long) REFERENCE_SIZE * stored.length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Documents matching every prefix, highest numbers first; total counts all matches, not only the returned ones
+    public Matches search(List<String> prefixes, int limit) {
+        lock.readLock().lock();
+        try {
+            BitSet matches = null;
+            for (String prefix : prefixes) {
+                BitSet prefixMatches = new BitSet(ids.size());
+                for (Postings postings : sortedTerms.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+                    postings.addTo(prefixMatches);
+                }
+                if (matches == null) {
+                    matches = prefixMatches;
+                } else {
+                    matches.and(prefixMatches);
+                }
+                if (matches.isEmpty()) {
+                    break;
+                }
+            }
+            if (matches == null) {
+                return new Matches(List.of(), 0);
+            }
+
+            List<UUID> result = new ArrayList<>(Math.min(limit, matches.cardinality()));
+            for (int number = matches.length() - 1; number >= 0 && result.size() < limit;
+                 number = matches.previousSetBit(number - 1)) {
+                result.add(ids.get(number));
+            }
+            return new Matches(result, matches.cardinality());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            return estimatedBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ids.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeTerms(int number) {
+        String[] previous = documentTerms.get(number);
+        for (String term : previous) {
+            Postings postings = terms.get(term);
+            postings.remove(number);
+            if (postings.isEmpty()) {
+                terms.remove(term);
+                sortedTerms.remove(term);
+                estimatedBytes -= TERM_OVERHEAD + term.length() + postings.bytes();
+            }
+        }
+        estimatedBytes -= (long) REFERENCE_SIZE * previous.length;
+        documentTerms.set(number, null);
+    }
+
+    // Ascending document numbers of one term
+    private static final class Postings {
+
+        private final String term;
+        private int[] numbers = new int[2];
+        private int size;
+
+        Postings(String term) {
+            this.term = term;
+        }
+
+        // Returns the number of bytes the postings grew by
+        long add(int number) {
+            // Numbers are handed out in ascending order, so only a replaced document lands before the end
+            int position = size == 0 || numbers[size - 1] < number ? size : Arrays.binarySearch(numbers, 0, size, number);
+            if (position >= 0 && position < size) {
+                return 0;
+            }
+            if (position < 0) {
+                position = -position - 1;
+            }
+            long grown = 0;
+            if (size == numbers.length) {
+                int capacity = size + (size >> 1) + 1;
+                grown = 4L * (capacity - numbers.length);
+                numbers = Arrays.copyOf(numbers, capacity);
+            }
+            System.arraycopy(numbers, position, numbers, position + 1, size - position);
+            numbers[position] = number;
+            size++;
+            return grown;
+        }
+
+        void remove(int number) {
+            int position = Arrays.binarySearch(numbers, 0, size, number);
+            if (position >= 0) {
+                System.arraycopy(numbers, position + 1, numbers, position, size - position - 1);
+                size--;
+            }
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        long bytes() {
+            return 4L * numbers.length;
+        }
+
+        void addTo(BitSet documents) {
+            for (int i = 0; i < size; i++) {
+                documents.set(numbers[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.smartlogix.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+// Splits text into lower-case words of letters and digits with accents removed, so "Müller-Straße 12" gives
+// [muller, straße, 12]. Single characters are dropped and long words cut to MAX_TOKEN_LENGTH; queries go through the
+// same steps, so a cut query word still matches as a prefix.
+public final class TextTokenizer {
+
+    public static final int MIN_TOKEN_LENGTH = 2;
+    public static final int MAX_TOKEN_LENGTH = 32;
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private TextTokenizer() {
+    }
+
+    // Distinct tokens in order of first appearance
+    public static List<String> tokens(String... texts) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String text : texts) {
+            if (text != null && !text.isEmpty()) {
+                split(normalize(text), tokens);
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    private static String normalize(String text) {
+        if (isAscii(text)) {
+            return text.toLowerCase(Locale.ROOT);
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void split(String text, Set<String> tokens) {
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                if (i - start >= MIN_TOKEN_LENGTH) {
+                    tokens.add(text.substring(start, Math.min(i, start + MAX_TOKEN_LENGTH)));
+                }
+                start = -1;
+            }
+        }
+    }
+}
@@ -1,5 +1,10 @@
 package com.smartlogix.security;
 
+import com.smartlogix.service.TenantTagResolver;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,6 +20,8 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
 import java.util.UUID;
 
 @Slf4j
@@ -23,7 +30,21 @@ import java.util.UUID;
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final CustomUserDetailsService userDetailsService;
+    private final UserPrincipalService userPrincipalService;
+    private final MeterRegistry meterRegistry;
+    private final TenantTagResolver tenantTagResolver;
+
+    private Meter.MeterProvider<Timer> authenticationTimer;
+
+    @PostConstruct
+    void init() {
+        authenticationTimer = Timer.builder("smartlogix.auth.jwt")
+                .description("Time spent authenticating requests that carry a bearer token")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.of(10, ChronoUnit.MICROS))
+                .maximumExpectedValue(Duration.ofSeconds(1))
+                .withRegistry(meterRegistry);
+    }
 
     @Override
     protected void doFilterInternal(
@@ -38,16 +59,20 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             return;
         }
 
+        // authenticated, unauthenticated when the token parses but does not authenticate, rejected when it fails
+        String result = "unauthenticated";
+        UUID tenantId = null;
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
             final String jwt = authHeader.substring(7);
-            final String email = jwtUtil.extractEmail(jwt);
-            final UUID tenantId = jwtUtil.extractTenantId(jwt);
+            final JwtClaims claims = jwtUtil.parseToken(jwt);
+            tenantId = claims.tenantId();
 
-            TenantContext.set(tenantId);
+            TenantContext.set(claims.tenantId());
 
-            if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-                if (jwtUtil.isTokenValid(jwt, userDetails)) {
+            if (claims.email() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserDetails userDetails = userPrincipalService.resolve(claims);
+                if (jwtUtil.isTokenValid(claims, userDetails)) {
                     UsernamePasswordAuthenticationToken authToken =
                             new UsernamePasswordAuthenticationToken(
                                     userDetails,
@@ -56,12 +81,19 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                             );
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
+                    result = "authenticated";
                 }
             }
         } catch (Exception e) {
             log.warn("JWT authentication failed: {}", e.getMessage());
             TenantContext.clear();
+            result = "rejected";
         }
+        sample.stop(authenticationTimer.withTags("result", result));
+        meterRegistry.counter("smartlogix.auth.jwt.requests",
+                        "result", result,
+                        "tenant", tenantTagResolver.tagOf(tenantId))
+                .increment();
 
         try {
             filterChain.doFilter(request, response);
@@ -0,0 +1,11 @@
+package com.smartlogix.security;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record JwtClaims(String email, UUID tenantId, String role, Instant expiresAt) {
+
+    public boolean isExpired() {
+        return expiresAt != null && expiresAt.isBefore(Instant.now());
+    }
+}
@@ -1,18 +1,26 @@
 package com.smartlogix.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
-import java.util.function.Function;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
@@ -24,6 +32,27 @@ public class JwtUtil {
     @Value("${smartlogix.jwt.expiration-ms}")
     private long expirationMs;
 
+    @Value("${smartlogix.jwt.cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    private Key signingKey;
+    private JwtParser jwtParser;
+
+    // Keyed by a SHA-256 digest of the compact token so raw bearer tokens are never retained
+    private Cache<String, JwtClaims> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new UntilTokenExpiry())
+                .build();
+    }
+
     public String generateToken(String email, UUID tenantId, String role) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("tenantId", tenantId.toString());
@@ -33,55 +62,84 @@ public class JwtUtil {
                 .setSubject(email)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + expirationMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    public JwtClaims parseToken(String token) {
+        String digest = digest(token);
+        JwtClaims cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null && !cached.isExpired()) {
+            return cached;
+        }
+
+        Claims claims = jwtParser.parseClaimsJws(token).getBody();
+        String tenantId = claims.get("tenantId", String.class);
+        JwtClaims verified = new JwtClaims(
+                claims.getSubject(),
+                tenantId != null ? UUID.fromString(tenantId) : null,
+                claims.get("role", String.class),
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null
+        );
+
+        if (verified.expiresAt() != null) {
+            verifiedTokens.put(digest, verified);
+        }
+        return verified;
+    }
+
     public String extractEmail(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return parseToken(token).email();
     }
 
     public UUID extractTenantId(String token) {
-        String tenantIdStr = extractClaim(token, claims -> claims.get("tenantId", String.class));
-        return UUID.fromString(tenantIdStr);
+        return parseToken(token).tenantId();
     }
 
     public String extractRole(String token) {
-        return extractClaim(token, claims -> claims.get("role", String.class));
+        return parseToken(token).role();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
         try {
-            final String email = extractEmail(token);
-            return email.equals(userDetails.getUsername()) && !isTokenExpired(token);
+            return isTokenValid(parseToken(token), userDetails);
         } catch (JwtException e) {
             log.warn("JWT validation failed: {}", e.getMessage());
             return false;
         }
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean isTokenValid(JwtClaims claims, UserDetails userDetails) {
+        return claims.email() != null
+                && claims.email().equals(userDetails.getUsername())
+                && !claims.isExpired();
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 
-    private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
+    private static final class UntilTokenExpiry implements Expiry<String, JwtClaims> {
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
+        @Override
+        public long expireAfterCreate(String key, JwtClaims claims, long currentTime) {
+            long remainingMs = claims.expiresAt().toEpochMilli() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMs, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, JwtClaims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(java.nio.charset.StandardCharsets.UTF_8));
+        @Override
+        public long expireAfterRead(String key, JwtClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
@@ -0,0 +1,145 @@
+package com.smartlogix.security;
+
+import com.smartlogix.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${smartlogix.security.hashing.pool-size:0}")
+    private int poolSize;
+
+    @Value("${smartlogix.security.hashing.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${smartlogix.security.hashing.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    private ThreadPoolExecutor executor;
+    private Timer encodeTimer;
+    private Timer matchesTimer;
+    private Timer queueWaitTimer;
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    void init() {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        encodeTimer = Timer.builder("smartlogix.auth.hash.duration")
+                .description("Time spent computing password hashes")
+                .tag("operation", "encode")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        matchesTimer = Timer.builder("smartlogix.auth.hash.duration")
+                .description("Time spent computing password hashes")
+                .tag("operation", "matches")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        queueWaitTimer = Timer.builder("smartlogix.auth.hash.queue.wait")
+                .description("Time password hashing tasks spent waiting for a hashing thread")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("smartlogix.auth.hash.queue.depth", executor, e -> e.getQueue().size())
+                .description("Password hashing tasks waiting for a hashing thread")
+                .register(meterRegistry);
+        Gauge.builder("smartlogix.auth.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing tasks currently running")
+                .register(meterRegistry);
+        rejectedCounter = Counter.builder("smartlogix.auth.hash.rejected")
+                .description("Password hashing requests rejected because the hashing pool was saturated")
+                .register(meterRegistry);
+
+        log.info("Password hashing pool started: threads={}, queueCapacity={}", threads, queueCapacity);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return submit(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    public boolean upgradeEncoding(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T submit(Timer timer, Callable<T> task) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                queueWaitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                return timer.recordCallable(task);
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new ServiceOverloadedException(
+                    "Authentication is temporarily overloaded, please retry shortly", retryAfterSeconds);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private static final class HashingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.smartlogix.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.smartlogix.domain.entity.User;
+import com.smartlogix.domain.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserPrincipalService {
+
+    public enum PrincipalSource {
+        CLAIMS,
+        DATABASE
+    }
+
+    private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${smartlogix.security.principal-source:claims}")
+    private String principalSourceName;
+
+    @Value("${smartlogix.security.user-cache.ttl-seconds:300}")
+    private long cacheTtlSeconds;
+
+    @Value("${smartlogix.security.user-cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    private PrincipalSource principalSource;
+    private Cache<String, TenantUserPrincipal> principals;
+    private Counter avoidedByClaims;
+    private Counter avoidedByCache;
+    private Counter databaseLookups;
+
+    @PostConstruct
+    void init() {
+        principalSource = PrincipalSource.valueOf(principalSourceName.trim().toUpperCase(Locale.ROOT));
+        principals = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "userPrincipals");
+
+        avoidedByClaims = Counter.builder("smartlogix.auth.db.lookups.avoided")
+                .description("Authenticated requests that did not need a user lookup in the database")
+                .tag("source", "claims")
+                .register(meterRegistry);
+        avoidedByCache = Counter.builder("smartlogix.auth.db.lookups.avoided")
+                .description("Authenticated requests that did not need a user lookup in the database")
+                .tag("source", "cache")
+                .register(meterRegistry);
+        databaseLookups = Counter.builder("smartlogix.auth.db.lookups")
+                .description("User lookups made against the database while authenticating requests")
+                .register(meterRegistry);
+
+        log.info("JWT principal source: {}", principalSource);
+    }
+
+    public TenantUserPrincipal resolve(JwtClaims claims) {
+        if (principalSource == PrincipalSource.CLAIMS) {
+            avoidedByClaims.increment();
+            return new TenantUserPrincipal(claims.email(), claims.tenantId(), claims.role());
+        }
+
+        boolean[] loaded = {false};
+        TenantUserPrincipal principal = principals.get(claims.email(), email -> {
+            loaded[0] = true;
+            return loadFromDatabase(email);
+        });
+        if (!loaded[0]) {
+            avoidedByCache.increment();
+        }
+
+        if (principal == null) {
+            throw new UsernameNotFoundException("User not found with email: " + claims.email());
+        }
+        if (!Objects.equals(principal.tenantId(), claims.tenantId())) {
+            throw new UsernameNotFoundException("User " + claims.email() + " does not belong to tenant " + claims.tenantId());
+        }
+        return principal;
+    }
+
+    public void evictUser(String email) {
+        principals.invalidate(email);
+    }
+
+    public void evictTenant(UUID tenantId) {
+        principals.asMap().values().removeIf(principal -> principal.tenantId().equals(tenantId));
+    }
+
+    public PrincipalSource getPrincipalSource() {
+        return principalSource;
+    }
+
+    private TenantUserPrincipal loadFromDatabase(String email) {
+        databaseLookups.increment();
+        return userRepository.findByEmail(email)
+                .map(UserPrincipalService::toPrincipal)
+                .orElse(null);
+    }
+
+    private static TenantUserPrincipal toPrincipal(User user) {
+        return new TenantUserPrincipal(user.getEmail(), user.getTenant().getId(), user.getRole().name());
+    }
+}
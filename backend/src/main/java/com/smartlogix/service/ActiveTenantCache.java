@@ -0,0 +1,66 @@
+package com.smartlogix.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.smartlogix.domain.entity.Tenant;
+import com.smartlogix.domain.repository.TenantRepository;
+import com.smartlogix.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+// Caches only whether a tenant is active; callers get a managed reference via getReferenceById,
+// so resolving the tenant for an order write costs no query once the active check is cached.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ActiveTenantCache {
+
+    private final TenantRepository tenantRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${smartlogix.tenant-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${smartlogix.tenant-cache.max-size:10000}")
+    private long maxSize;
+
+    private Cache<UUID, Boolean> activeTenants;
+
+    @PostConstruct
+    void init() {
+        activeTenants = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, activeTenants, "activeTenants");
+    }
+
+    public Tenant requireActiveTenant(UUID tenantId) {
+        return findActiveTenant(tenantId)
+                .orElseThrow(() -> new ResourceNotFoundException("Tenant", tenantId));
+    }
+
+    public Optional<Tenant> findActiveTenant(UUID tenantId) {
+        if (tenantId == null) {
+            return Optional.empty();
+        }
+        boolean active = activeTenants.get(tenantId,
+                id -> tenantRepository.findByIdAndActiveTrue(id).isPresent());
+        return active ? Optional.of(tenantRepository.getReferenceById(tenantId)) : Optional.empty();
+    }
+
+    public void evict(UUID tenantId) {
+        log.debug("Evicting cached tenant state: tenantId={}", tenantId);
+        activeTenants.invalidate(tenantId);
+    }
+}
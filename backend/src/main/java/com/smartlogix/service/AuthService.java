@@ -7,14 +7,18 @@ import com.smartlogix.domain.repository.TenantRepository;
 import com.smartlogix.domain.repository.UserRepository;
 import com.smartlogix.dto.AuthRequest;
 import com.smartlogix.dto.AuthResponse;
+import com.smartlogix.exception.ServiceOverloadedException;
 import com.smartlogix.security.JwtUtil;
+import com.smartlogix.security.PasswordHashingService;
+import com.smartlogix.security.UserPrincipalService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+// Password hashing runs on the bounded hashing pool outside of any transaction, so a login burst
+// never holds database connections while it waits for a hashing thread.
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -23,17 +27,20 @@ public class AuthService {
     private final UserRepository userRepository;
     private final TenantRepository tenantRepository;
     private final JwtUtil jwtUtil;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final UserPrincipalService userPrincipalService;
+    private final TransactionTemplate transactionTemplate;
 
-    @Transactional(readOnly = true)
     public AuthResponse login(AuthRequest request) {
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new BadCredentialsException("Invalid email or password"));
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPasswordHash())) {
+        if (!passwordHashingService.matches(request.getPassword(), user.getPasswordHash())) {
             throw new BadCredentialsException("Invalid email or password");
         }
 
+        rehashIfNeeded(user, request.getPassword());
+
         String token = jwtUtil.generateToken(
                 user.getEmail(),
                 user.getTenant().getId(),
@@ -50,39 +57,56 @@ public class AuthService {
                 .build();
     }
 
-    @Transactional
     public AuthResponse register(String email, String password, String tenantSlug) {
-        Tenant tenant = tenantRepository.findBySlug(tenantSlug)
-                .orElseGet(() -> {
-                    Tenant newTenant = Tenant.builder()
-                            .name(tenantSlug)
-                            .slug(tenantSlug)
-                            .active(true)
-                            .build();
-                    return tenantRepository.save(newTenant);
-                });
-
-        if (userRepository.findByEmailAndTenantId(email, tenant.getId()).isPresent()) {
-            throw new IllegalStateException("User already exists with email: " + email);
-        }
+        String passwordHash = passwordHashingService.encode(password);
 
-        User user = User.builder()
-                .email(email)
-                .passwordHash(passwordEncoder.encode(password))
-                .role(UserRole.ROLE_USER)
-                .tenant(tenant)
-                .build();
+        User saved = transactionTemplate.execute(status -> {
+            Tenant tenant = tenantRepository.findBySlug(tenantSlug)
+                    .orElseGet(() -> {
+                        Tenant newTenant = Tenant.builder()
+                                .name(tenantSlug)
+                                .slug(tenantSlug)
+                                .active(true)
+                                .build();
+                        return tenantRepository.save(newTenant);
+                    });
+
+            if (userRepository.findByEmailAndTenantId(email, tenant.getId()).isPresent()) {
+                throw new IllegalStateException("User already exists with email: " + email);
+            }
+
+            User user = User.builder()
+                    .email(email)
+                    .passwordHash(passwordHash)
+                    .role(UserRole.ROLE_USER)
+                    .tenant(tenant)
+                    .build();
 
-        User saved = userRepository.save(user);
-        log.info("Registered new user: email={}, tenantId={}", saved.getEmail(), tenant.getId());
+            return userRepository.save(user);
+        });
 
-        String token = jwtUtil.generateToken(saved.getEmail(), tenant.getId(), saved.getRole().name());
+        userPrincipalService.evictUser(saved.getEmail());
+        log.info("Registered new user: email={}, tenantId={}", saved.getEmail(), saved.getTenant().getId());
+
+        String token = jwtUtil.generateToken(saved.getEmail(), saved.getTenant().getId(), saved.getRole().name());
 
         return AuthResponse.builder()
                 .token(token)
                 .email(saved.getEmail())
-                .tenantId(tenant.getId())
+                .tenantId(saved.getTenant().getId())
                 .role(saved.getRole().name())
                 .build();
     }
+
+    private void rehashIfNeeded(User user, String rawPassword) {
+        if (!passwordHashingService.upgradeEncoding(user.getPasswordHash())) {
+            return;
+        }
+        try {
+            userRepository.updatePasswordHash(user.getId(), passwordHashingService.encode(rawPassword));
+            log.info("Rehashed password with current work factor: email={}", user.getEmail());
+        } catch (ServiceOverloadedException e) {
+            log.debug("Skipping password rehash for {}: hashing pool saturated", user.getEmail());
+        }
+    }
 }
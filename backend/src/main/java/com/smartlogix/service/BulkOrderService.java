@@ -0,0 +1,168 @@
+package com.smartlogix.service;
+
+import com.smartlogix.domain.entity.Order;
+import com.smartlogix.domain.entity.Tenant;
+import com.smartlogix.domain.entity.User;
+import com.smartlogix.domain.enums.OrderStatus;
+import com.smartlogix.domain.repository.OrderRepository;
+import com.smartlogix.domain.repository.UserRepository;
+import com.smartlogix.dto.BulkOrderItemResultDTO;
+import com.smartlogix.dto.BulkOrderItemResultDTO.Outcome;
+import com.smartlogix.dto.BulkOrderResultDTO;
+import com.smartlogix.dto.OrderRequestDTO;
+import com.smartlogix.mapper.OrderMapper;
+import com.smartlogix.messaging.OrderEventProducer;
+import com.smartlogix.security.TenantContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+// Orchestrates its own transaction so that a duplicate orderNumber inserted concurrently by another
+// request only removes that item from the batch instead of failing the whole request.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkOrderService {
+
+    private final OrderRepository orderRepository;
+    private final UserRepository userRepository;
+    private final ActiveTenantCache activeTenantCache;
+    private final OrderMapper orderMapper;
+    private final OrderEventProducer orderEventProducer;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${smartlogix.orders.bulk.max-size:1000}")
+    private int maxBulkSize;
+
+    public BulkOrderResultDTO createOrders(List<OrderRequestDTO> requests) {
+        if (requests.size() > maxBulkSize) {
+            throw new IllegalStateException(
+                    String.format("Bulk request contains %d orders, the maximum is %d", requests.size(), maxBulkSize));
+        }
+
+        UUID tenantId = TenantContext.get();
+        BulkOrderItemResultDTO[] results = new BulkOrderItemResultDTO[requests.size()];
+        Map<String, Integer> pending = validate(requests, results);
+
+        markExisting(pending, results);
+
+        List<Order> saved = List.of();
+        if (!pending.isEmpty()) {
+            try {
+                saved = insert(tenantId, requests, pending);
+            } catch (DataIntegrityViolationException e) {
+                log.warn("Bulk insert hit a concurrent duplicate, retrying without conflicting orders: tenantId={}", tenantId);
+                markExisting(pending, results);
+                saved = pending.isEmpty() ? List.of() : insert(tenantId, requests, pending);
+            }
+        }
+
+        for (Order order : saved) {
+            int index = pending.get(order.getOrderNumber());
+            results[index] = result(index, order.getOrderNumber(), Outcome.CREATED, null);
+            results[index].setOrderId(order.getId());
+        }
+
+        orderEventProducer.publishOrderEvents(saved, "OrderCreated");
+
+        log.info("Bulk order creation: tenantId={}, requested={}, created={}", tenantId, requests.size(), saved.size());
+
+        return BulkOrderResultDTO.builder()
+                .created(saved.size())
+                .failed(requests.size() - saved.size())
+                .results(Arrays.asList(results))
+                .build();
+    }
+
+    private Map<String, Integer> validate(List<OrderRequestDTO> requests, BulkOrderItemResultDTO[] results) {
+        Map<String, Integer> pending = new HashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            OrderRequestDTO request = requests.get(i);
+            if (request == null) {
+                results[i] = result(i, null, Outcome.INVALID, "Order is required");
+                continue;
+            }
+
+            Set<ConstraintViolation<OrderRequestDTO>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                String message = violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", "));
+                results[i] = result(i, request.getOrderNumber(), Outcome.INVALID, message);
+            } else if (pending.putIfAbsent(request.getOrderNumber(), i) != null) {
+                results[i] = result(i, request.getOrderNumber(), Outcome.DUPLICATE,
+                        "Duplicate orderNumber within request");
+            }
+        }
+        return pending;
+    }
+
+    private void markExisting(Map<String, Integer> pending, BulkOrderItemResultDTO[] results) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        for (String orderNumber : orderRepository.findExistingOrderNumbers(new HashSet<>(pending.keySet()))) {
+            Integer index = pending.remove(orderNumber);
+            if (index != null) {
+                results[index] = result(index, orderNumber, Outcome.DUPLICATE, "Order number already exists");
+            }
+        }
+    }
+
+    private List<Order> insert(UUID tenantId, List<OrderRequestDTO> requests, Map<String, Integer> pending) {
+        return transactionTemplate.execute(status -> {
+            Tenant tenant = activeTenantCache.requireActiveTenant(tenantId);
+            User createdBy = currentUser(tenantId);
+
+            List<Order> orders = new ArrayList<>(pending.size());
+            for (int index : pending.values()) {
+                Order order = orderMapper.toEntity(requests.get(index));
+                order.setTenant(tenant);
+                order.setStatus(OrderStatus.PENDING);
+                order.setCreatedBy(createdBy);
+                orders.add(order);
+            }
+
+            List<Order> saved = orderRepository.saveAll(orders);
+            orderRepository.flush();
+            orderRepository.countCreated(saved.stream().map(Order::getId).toList());
+            return saved;
+        });
+    }
+
+    private User currentUser(UUID tenantId) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || auth.getName() == null) {
+            return null;
+        }
+        return userRepository.findByEmailAndTenantId(auth.getName(), tenantId).orElse(null);
+    }
+
+    private static BulkOrderItemResultDTO result(int index, String orderNumber, Outcome outcome, String message) {
+        return BulkOrderItemResultDTO.builder()
+                .index(index)
+                .orderNumber(orderNumber)
+                .outcome(outcome)
+                .message(message)
+                .build();
+    }
+}
@@ -0,0 +1,75 @@
+package com.smartlogix.service;
+
+import com.smartlogix.domain.repository.OrderRepository;
+import com.smartlogix.geo.Geohash;
+import jakarta.persistence.Tuple;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+// Fills Order.geohash for orders geocoded before the column existed; new and updated orders get it from the entity.
+// Then rebuilds the geo grid if it does not count every located order, e.g. on its first start. Both steps are
+// idempotent, so every replica may run them on startup; the rebuild is only done by one of them at a time.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GeohashBackfill {
+
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${smartlogix.orders.geo.backfill-batch-size:1000}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        long updated = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> backfillBatch());
+            updated += batch;
+        } while (batch == batchSize);
+        if (updated > 0) {
+            log.info("Backfilled geohashes: orders={}", updated);
+        }
+        reconcileGeoGrid();
+    }
+
+    private void reconcileGeoGrid() {
+        long drift = orderRepository.geoGridDrift();
+        if (drift == 0) {
+            return;
+        }
+        log.info("Rebuilding geo grid: locatedOrdersNotCounted={}", drift);
+        int cells = transactionTemplate.execute(status -> orderRepository.rebuildGeoGrid());
+        if (cells < 0) {
+            log.info("Geo grid rebuild skipped: rebuilt by another replica or no longer drifting");
+        } else {
+            log.info("Rebuilt geo grid: cells={}", cells);
+        }
+    }
+
+    private int backfillBatch() {
+        List<Tuple> orders = orderRepository.findLocatedWithoutGeohash(Limit.of(batchSize));
+        UUID[] ids = new UUID[orders.size()];
+        String[] geohashes = new String[orders.size()];
+        for (int i = 0; i < orders.size(); i++) {
+            Tuple order = orders.get(i);
+            ids[i] = order.get("id", UUID.class);
+            geohashes[i] = Geohash.encode(order.get("latitude", Double.class), order.get("longitude", Double.class),
+                    Geohash.MAX_PRECISION);
+        }
+        if (ids.length > 0) {
+            orderRepository.backfillGeohashes(ids, geohashes);
+        }
+        return orders.size();
+    }
+}
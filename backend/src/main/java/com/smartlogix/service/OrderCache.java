@@ -0,0 +1,75 @@
+package com.smartlogix.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.smartlogix.dto.OrderResponseDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+// Read-through cache for single-order reads. Concurrent misses for the same order block on one load
+// (Caffeine computes each key at most once at a time); entries are dropped on status changes, locally after
+// commit and on every replica through the order event stream, with the TTL bounding anything missed.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderCache {
+
+    private final MeterRegistry meterRegistry;
+    private final TenantTierResolver tenantTierResolver;
+
+    @Value("${smartlogix.order-cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Value("${smartlogix.order-cache.max-size:50000}")
+    private long maxSize;
+
+    private Cache<Key, OrderResponseDTO> orders;
+
+    private record Key(UUID tenantId, UUID orderId) {
+    }
+
+    @PostConstruct
+    void init() {
+        orders = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, orders, "orders");
+    }
+
+    public OrderResponseDTO get(UUID tenantId, UUID orderId, Supplier<OrderResponseDTO> loader) {
+        boolean[] loaded = {false};
+        try {
+            return orders.get(new Key(tenantId, orderId), key -> {
+                loaded[0] = true;
+                return loader.get();
+            });
+        } finally {
+            meterRegistry.counter("smartlogix.orders.cache.requests",
+                            "tier", tenantTierResolver.tierOf(tenantId),
+                            "result", loaded[0] ? "miss" : "hit")
+                    .increment();
+        }
+    }
+
+    public Optional<OrderResponseDTO> getIfPresent(UUID tenantId, UUID orderId) {
+        return Optional.ofNullable(orders.getIfPresent(new Key(tenantId, orderId)));
+    }
+
+    public void evict(UUID tenantId, Collection<UUID> orderIds) {
+        log.debug("Evicting cached orders: tenantId={}, count={}", tenantId, orderIds.size());
+        orderIds.forEach(orderId -> orders.invalidate(new Key(tenantId, orderId)));
+    }
+}
@@ -0,0 +1,34 @@
+package com.smartlogix.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+// Opaque continuation token for keyset pagination over (createdAt DESC, id DESC).
+public record OrderCursor(Instant createdAt, UUID id) {
+
+    public String encode() {
+        String raw = createdAt.getEpochSecond() + "." + createdAt.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static OrderCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int colon = raw.indexOf(':');
+            int dot = raw.indexOf('.');
+            if (colon < 0 || dot < 0 || dot > colon) {
+                throw new IllegalStateException("Invalid cursor");
+            }
+            Instant createdAt = Instant.ofEpochSecond(
+                    Long.parseLong(raw.substring(0, dot)),
+                    Long.parseLong(raw.substring(dot + 1, colon)));
+            return new OrderCursor(createdAt, UUID.fromString(raw.substring(colon + 1)));
+        } catch (IllegalArgumentException | DateTimeException | ArithmeticException e) {
+            // Malformed Base64, numbers or UUID, or an instant out of range
+            throw new IllegalStateException("Invalid cursor", e);
+        }
+    }
+}
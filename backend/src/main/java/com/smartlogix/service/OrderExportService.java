@@ -0,0 +1,125 @@
+package com.smartlogix.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.smartlogix.domain.entity.Order;
+import com.smartlogix.domain.enums.OrderExportFormat;
+import com.smartlogix.domain.repository.OrderRepository;
+import com.smartlogix.dto.OrderCsvRecord;
+import com.smartlogix.dto.OrderResponseDTO;
+import com.smartlogix.mapper.OrderMapper;
+import com.smartlogix.security.TenantContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+// Streams a tenant's orders from a database cursor straight into the response, so memory stays flat regardless
+// of how many orders the tenant has.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderExportService {
+
+    private final OrderRepository orderRepository;
+    private final OrderMapper orderMapper;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnlyTransaction;
+    private ObjectWriter orderWriter;
+
+    @PostConstruct
+    void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        orderWriter = objectMapper.writerFor(OrderResponseDTO.class);
+    }
+
+    // The body runs on an async request thread after the controller returns, so the tenant is captured here
+    public StreamingResponseBody export(OrderExportFormat format) {
+        UUID tenantId = TenantContext.get();
+        return out -> {
+            try {
+                long rows = readOnlyTransaction.execute(status -> write(tenantId, format, out));
+                log.info("Order export finished: tenantId={}, format={}, rows={}", tenantId, format, rows);
+            } catch (UncheckedIOException e) {
+                // Typically the client disconnected; the cursor is closed and the transaction rolled back by now
+                log.info("Order export aborted: tenantId={}, format={}, reason={}", tenantId, format, e.getCause().getMessage());
+                throw e.getCause();
+            }
+        };
+    }
+
+    private long write(UUID tenantId, OrderExportFormat format, OutputStream out) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long rows = 0;
+        try (Stream<Order> orders = orderRepository.streamByTenantId(tenantId)) {
+            if (format == OrderExportFormat.CSV) {
+                writer.write(String.join(",", OrderCsvRecord.COLUMNS));
+                writer.write('\n');
+            }
+            Iterator<Order> iterator = orders.iterator();
+            while (iterator.hasNext()) {
+                Order order = iterator.next();
+                if (format == OrderExportFormat.CSV) {
+                    writeCsv(writer, order);
+                } else {
+                    writer.write(orderWriter.writeValueAsString(orderMapper.toResponseDTO(order)));
+                    writer.write('\n');
+                }
+                // Rows already written are dropped so the persistence context does not grow with the export
+                if (++rows % OrderRepository.EXPORT_FETCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return rows;
+    }
+
+    // Same layout the CSV import reads, see OrderCsvRecord.COLUMNS
+    private void writeCsv(Writer writer, Order order) throws IOException {
+        BigDecimal weight = order.getWeight();
+        writeCsvField(writer, order.getOrderNumber());
+        writer.write(',');
+        writeCsvField(writer, order.getDescription());
+        writer.write(',');
+        writeCsvField(writer, order.getDestinationAddress());
+        writer.write(',');
+        writeCsvField(writer, weight == null ? null : weight.toPlainString());
+        writer.write('\n');
+    }
+
+    private void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,147 @@
+package com.smartlogix.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.smartlogix.domain.enums.OrderStatus;
+import com.smartlogix.domain.repository.OrderRepository;
+import com.smartlogix.dto.OrderFieldChangeDTO;
+import com.smartlogix.dto.OrderHistoryDTO;
+import com.smartlogix.dto.OrderHistoryEntryDTO;
+import com.smartlogix.exception.ResourceNotFoundException;
+import com.smartlogix.security.TenantContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.Tuple;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.envers.RevisionType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.history.RevisionMetadata;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+// Change timeline of an order built from its Envers revisions: each page is one query over orders_aud, fetching one
+// revision past the page so that its last entry can be diffed as well. Pages of closed orders never change again and
+// are cached without expiry, bounded only by size.
+@Service
+@RequiredArgsConstructor
+public class OrderHistoryService {
+
+    private static final int MAX_PAGE_SIZE = 200;
+
+    // Audited order fields reported in diffs, by the orders_aud column they are read from
+    private static final Map<String, String> FIELDS = new LinkedHashMap<>();
+
+    static {
+        FIELDS.put("orderNumber", "order_number");
+        FIELDS.put("status", "status");
+        FIELDS.put("description", "description");
+        FIELDS.put("destinationAddress", "destination_address");
+        FIELDS.put("trackingNotes", "tracking_notes");
+        FIELDS.put("weight", "weight");
+        FIELDS.put("latitude", "latitude");
+        FIELDS.put("longitude", "longitude");
+    }
+
+    private final OrderRepository orderRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${smartlogix.orders.history.cache-max-size:10000}")
+    private long cacheMaxSize;
+
+    private Cache<Key, OrderHistoryDTO> closedHistories;
+
+    private record Key(UUID tenantId, UUID orderId, int page, int size) {
+    }
+
+    @PostConstruct
+    void init() {
+        closedHistories = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, closedHistories, "orderHistories");
+    }
+
+    @Transactional(readOnly = true)
+    public OrderHistoryDTO getOrderHistory(UUID orderId, Pageable pageable) {
+        UUID tenantId = TenantContext.get();
+        int size = Math.min(Math.max(pageable.getPageSize(), 1), MAX_PAGE_SIZE);
+        Key key = new Key(tenantId, orderId, pageable.getPageNumber(), size);
+        OrderHistoryDTO cached = closedHistories.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long offset = (long) pageable.getPageNumber() * size;
+        List<Tuple> rows = orderRepository.findHistory(tenantId, orderId, offset, size + 1);
+        // Past the last page there is no row to read the count and status from
+        Tuple summary = rows.isEmpty() && offset > 0
+                ? orderRepository.findHistory(tenantId, orderId, 0, 1).stream().findFirst().orElse(null)
+                : rows.stream().findFirst().orElse(null);
+        if (summary == null) {
+            throw new ResourceNotFoundException("Order", orderId);
+        }
+
+        List<OrderHistoryEntryDTO> entries = new ArrayList<>(Math.min(rows.size(), size));
+        for (int i = 0; i < rows.size() && i < size; i++) {
+            entries.add(toEntry(rows.get(i), i + 1 < rows.size() ? rows.get(i + 1) : null));
+        }
+        long total = summary.get("total", Long.class);
+        OrderStatus currentStatus = status(summary.get("current_status", String.class));
+        OrderHistoryDTO history = OrderHistoryDTO.builder()
+                .orderId(orderId)
+                .currentStatus(currentStatus)
+                .closed(currentStatus != null && currentStatus.isClosed())
+                .entries(entries)
+                .page(pageable.getPageNumber())
+                .size(size)
+                .totalEntries(total)
+                .hasNext(offset + size < total)
+                .build();
+        if (history.isClosed()) {
+            closedHistories.put(key, history);
+        }
+        return history;
+    }
+
+    // previous is the next older revision, or null when the row is the oldest one
+    private OrderHistoryEntryDTO toEntry(Tuple row, Tuple previous) {
+        RevisionType revisionType = RevisionType.fromRepresentation(row.get("revtype", Number.class).byteValue());
+        List<OrderFieldChangeDTO> changes = new ArrayList<>();
+        // A deleted order's last revision holds no field values
+        if (revisionType != RevisionType.DEL) {
+            FIELDS.forEach((field, column) -> {
+                Object from = previous == null ? null : previous.get(column);
+                Object to = row.get(column);
+                if (!Objects.equals(from, to)) {
+                    changes.add(new OrderFieldChangeDTO(field, from, to));
+                }
+            });
+        }
+        return OrderHistoryEntryDTO.builder()
+                .revision(row.get("rev", Number.class).longValue())
+                .timestamp(Instant.ofEpochMilli(row.get("revtstmp", Long.class)))
+                .type(switch (revisionType) {
+                    case ADD -> RevisionMetadata.RevisionType.INSERT;
+                    case MOD -> RevisionMetadata.RevisionType.UPDATE;
+                    case DEL -> RevisionMetadata.RevisionType.DELETE;
+                })
+                .status(status(row.get("status", String.class)))
+                .changes(changes)
+                .build();
+    }
+
+    private static OrderStatus status(String value) {
+        return value == null ? null : OrderStatus.valueOf(value);
+    }
+}
@@ -0,0 +1,171 @@
+package com.smartlogix.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.smartlogix.domain.enums.OrderStatus;
+import com.smartlogix.domain.repository.OrderRepositoryCustom.StatusChange;
+import com.smartlogix.dto.OrderLifecycleDTO;
+import com.smartlogix.dto.OrderLifecycleStageDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.TimeWindowPercentileHistogram;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// How long orders stay in each status before their next transition, and how long they take from creation to delivery.
+// Each tenant has an HDR histogram per step over a sliding window (Micrometer's TimeWindowPercentileHistogram rotates
+// a ring of them), created with the step's first order; recording into it does not allocate. The same durations go to
+// Prometheus as timers tagged by tier rather than tenant, which keeps their series bounded. Both are recorded by the
+// replica that made the change.
+@Service
+@RequiredArgsConstructor
+public class OrderLifecycleMetrics {
+
+    static final String CREATED = "CREATED";
+
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+    // Histogram slot of the lead time, after the from x to slots of the status transitions
+    private static final int LEAD_TIME = STATUSES.length * STATUSES.length;
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+    // Bucket above any real duration, so that its count is the number of orders in the window
+    private static final double WINDOW_COUNT_BUCKET = Duration.ofDays(3650).toNanos();
+
+    private final MeterRegistry meterRegistry;
+    private final TenantTierResolver tenantTierResolver;
+
+    @Value("${smartlogix.orders.lifecycle.window-minutes:60}")
+    private long windowMinutes;
+
+    @Value("${smartlogix.orders.lifecycle.window-buffer-length:3}")
+    private int windowBufferLength;
+
+    @Value("${smartlogix.orders.lifecycle.max-tenants:1000}")
+    private long maxTenants;
+
+    private DistributionStatisticConfig histogramConfig;
+    private Cache<UUID, AtomicReferenceArray<TimeWindowPercentileHistogram>> tenants;
+    // Prometheus timers by tier and slot, registered up front so that recording does not look them up
+    private final Map<String, Timer[]> timers = new HashMap<>();
+
+    @PostConstruct
+    void init() {
+        Duration window = Duration.ofMinutes(windowMinutes);
+        histogramConfig = DistributionStatisticConfig.builder()
+                .percentiles(PERCENTILES)
+                .serviceLevelObjectives(WINDOW_COUNT_BUCKET)
+                .expiry(window)
+                .bufferLength(windowBufferLength)
+                .build()
+                .merge(DistributionStatisticConfig.DEFAULT);
+        // A tenant without transitions for a whole window has nothing left to report
+        tenants = Caffeine.newBuilder()
+                .maximumSize(maxTenants)
+                .expireAfterAccess(window)
+                .build();
+
+        for (String tier : List.of(TenantTierResolver.PREMIUM, TenantTierResolver.STANDARD)) {
+            Timer[] tierTimers = new Timer[LEAD_TIME + 1];
+            for (OrderStatus to : STATUSES) {
+                for (OrderStatus from : to.predecessors()) {
+                    tierTimers[slot(from, to)] = timer("smartlogix.orders.lifecycle.status-time", window)
+                            .description("Time orders spent in a status before moving to the next")
+                            .tag("tier", tier)
+                            .tag("from", from.name())
+                            .tag("to", to.name())
+                            .register(meterRegistry);
+                }
+            }
+            tierTimers[LEAD_TIME] = timer("smartlogix.orders.lifecycle.lead-time", window)
+                    .description("Time from order creation to delivery")
+                    .tag("tier", tier)
+                    .register(meterRegistry);
+            timers.put(tier, tierTimers);
+        }
+    }
+
+    // Records a committed transition into status at changedAt, the updated_at it wrote
+    public void recordTransition(UUID tenantId, OrderStatus status, Instant changedAt, StatusChange change) {
+        AtomicReferenceArray<TimeWindowPercentileHistogram> histograms =
+                tenants.get(tenantId, id -> new AtomicReferenceArray<>(LEAD_TIME + 1));
+        Timer[] tierTimers = timers.get(tenantTierResolver.tierOf(tenantId));
+
+        int slot = slot(change.previousStatus(), status);
+        record(histograms, tierTimers[slot], slot, nanosBetween(change.previousStatusSince(), changedAt));
+        if (status == OrderStatus.DELIVERED) {
+            record(histograms, tierTimers[LEAD_TIME], LEAD_TIME, nanosBetween(change.createdAt(), changedAt));
+        }
+    }
+
+    public OrderLifecycleDTO getLifecycle(UUID tenantId) {
+        List<OrderLifecycleStageDTO> stages = new ArrayList<>();
+        AtomicReferenceArray<TimeWindowPercentileHistogram> histograms = tenants.getIfPresent(tenantId);
+        for (int slot = 0; histograms != null && slot <= LEAD_TIME; slot++) {
+            TimeWindowPercentileHistogram histogram = histograms.get(slot);
+            if (histogram == null) {
+                continue;
+            }
+            HistogramSnapshot snapshot = histogram.takeSnapshot(0, 0, 0);
+            long count = (long) snapshot.histogramCounts()[0].count();
+            if (count == 0) {
+                continue;
+            }
+            ValueAtPercentile[] percentiles = snapshot.percentileValues();
+            stages.add(OrderLifecycleStageDTO.builder()
+                    .from(slot == LEAD_TIME ? CREATED : STATUSES[slot / STATUSES.length].name())
+                    .to(slot == LEAD_TIME ? OrderStatus.DELIVERED.name() : STATUSES[slot % STATUSES.length].name())
+                    .count(count)
+                    .p50Seconds(percentiles[0].value(TimeUnit.SECONDS))
+                    .p95Seconds(percentiles[1].value(TimeUnit.SECONDS))
+                    .p99Seconds(percentiles[2].value(TimeUnit.SECONDS))
+                    .build());
+        }
+        return OrderLifecycleDTO.builder()
+                .windowMinutes(windowMinutes)
+                .stages(stages)
+                .build();
+    }
+
+    private void record(AtomicReferenceArray<TimeWindowPercentileHistogram> histograms, Timer timer, int slot,
+                        long nanos) {
+        TimeWindowPercentileHistogram histogram = histograms.get(slot);
+        if (histogram == null) {
+            histograms.compareAndSet(slot, null,
+                    new TimeWindowPercentileHistogram(meterRegistry.config().clock(), histogramConfig, false));
+            histogram = histograms.get(slot);
+        }
+        histogram.recordLong(nanos);
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer.Builder timer(String name, Duration window) {
+        return Timer.builder(name)
+                .publishPercentiles(PERCENTILES)
+                .distributionStatisticExpiry(window)
+                .distributionStatisticBufferLength(windowBufferLength);
+    }
+
+    private static int slot(OrderStatus from, OrderStatus to) {
+        return from.ordinal() * STATUSES.length + to.ordinal();
+    }
+
+    // Timestamps written by different replicas can be slightly out of order
+    private static long nanosBetween(Instant from, Instant to) {
+        return Math.max(0, ChronoUnit.NANOS.between(from, to));
+    }
+}
@@ -1,28 +1,64 @@
 package com.smartlogix.service;
 
 import com.smartlogix.domain.entity.Order;
+import com.smartlogix.domain.entity.OrderGeoCell;
 import com.smartlogix.domain.entity.Tenant;
 import com.smartlogix.domain.entity.User;
 import com.smartlogix.domain.enums.OrderStatus;
+import com.smartlogix.domain.enums.OrderTextField;
+import com.smartlogix.domain.repository.OrderGeoCellRepository;
 import com.smartlogix.domain.repository.OrderRepository;
-import com.smartlogix.domain.repository.TenantRepository;
+import com.smartlogix.domain.repository.OrderRepositoryCustom.StatusChange;
 import com.smartlogix.domain.repository.UserRepository;
+import com.smartlogix.dto.BulkStatusUpdateFailureDTO;
+import com.smartlogix.dto.BulkStatusUpdateResultDTO;
+import com.smartlogix.dto.CursorPageDTO;
+import com.smartlogix.dto.OrderClusterDTO;
+import com.smartlogix.dto.OrderClusterResultDTO;
+import com.smartlogix.dto.OrderLocationDTO;
+import com.smartlogix.dto.OrderLocationResultDTO;
 import com.smartlogix.dto.OrderRequestDTO;
 import com.smartlogix.dto.OrderResponseDTO;
+import com.smartlogix.dto.OrderSearchCriteria;
+import com.smartlogix.dto.OrderTextSearchResultDTO;
+import com.smartlogix.exception.ConcurrentUpdateException;
 import com.smartlogix.exception.ResourceNotFoundException;
+import com.smartlogix.geo.BoundingBox;
+import com.smartlogix.geo.Geohash;
 import com.smartlogix.mapper.OrderMapper;
 import com.smartlogix.messaging.OrderEventProducer;
+import com.smartlogix.messaging.OrderNotifier;
+import com.smartlogix.search.TextIndex;
+import com.smartlogix.search.TextTokenizer;
 import com.smartlogix.security.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.Tuple;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
 
 @Slf4j
@@ -31,17 +67,42 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class OrderService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 200;
+    private static final int MAX_LOCATIONS = 2000;
+    private static final int MAX_CLUSTER_CELLS = 1024;
+    private static final int MAX_ZOOM = 30;
+    private static final int MAX_TEXT_SEARCH_RESULTS = 200;
+
     private final OrderRepository orderRepository;
-    private final TenantRepository tenantRepository;
+    private final OrderGeoCellRepository orderGeoCellRepository;
+    private final ActiveTenantCache activeTenantCache;
+    private final OrderCache orderCache;
+    private final OrderTextIndex orderTextIndex;
     private final UserRepository userRepository;
     private final OrderMapper orderMapper;
     private final OrderEventProducer orderEventProducer;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final OrderLifecycleMetrics orderLifecycleMetrics;
+    private final OrderNotifier orderNotifier;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${smartlogix.orders.bulk.max-size:1000}")
+    private int maxBulkSize;
+
+    @Value("${smartlogix.orders.transition.max-attempts:3}")
+    private int maxTransitionAttempts;
+
+    private Counter transitionConflicts;
+
+    @PostConstruct
+    void init() {
+        transitionConflicts = Counter.builder("smartlogix.orders.transition.conflicts")
+                .description("Status transitions whose compare-and-set lost to a concurrent update and were re-read")
+                .register(meterRegistry);
+    }
 
     public OrderResponseDTO createOrder(OrderRequestDTO requestDTO) {
         UUID tenantId = TenantContext.get();
-        Tenant tenant = tenantRepository.findByIdAndActiveTrue(tenantId)
-                .orElseThrow(() -> new ResourceNotFoundException("Tenant", tenantId));
+        Tenant tenant = activeTenantCache.requireActiveTenant(tenantId);
 
         Order order = orderMapper.toEntity(requestDTO);
         order.setTenant(tenant);
@@ -54,61 +115,354 @@ public class OrderService {
         }
 
         Order saved = orderRepository.save(order);
+        orderRepository.countCreated(List.of(saved.getId()));
         log.info("Created order: id={}, orderNumber={}, tenantId={}", saved.getId(), saved.getOrderNumber(), tenantId);
 
-        orderEventProducer.publishOrderEvent(saved, "OrderCreated");
+        afterCommit(() -> orderEventProducer.publishOrderEvent(saved, "OrderCreated"));
 
         return orderMapper.toResponseDTO(saved);
     }
 
     @Transactional(readOnly = true)
-    public Page<OrderResponseDTO> getOrders(Pageable pageable) {
+    public Page<OrderResponseDTO> getOrders(Pageable pageable, Set<OrderTextField> fields) {
         UUID tenantId = TenantContext.get();
-        return orderRepository.findByTenantId(tenantId, pageable)
-                .map(orderMapper::toResponseDTO);
+        Page<OrderResponseDTO> page = orderRepository.findSummariesByTenantId(tenantId, pageable);
+        fillTextFields(tenantId, page.getContent(), fields);
+        return page;
     }
 
     @Transactional(readOnly = true)
-    public OrderResponseDTO getOrderById(UUID id) {
+    public CursorPageDTO<OrderResponseDTO> getOrdersByCursor(String cursor, int size, Set<OrderTextField> fields) {
         UUID tenantId = TenantContext.get();
-        Order order = orderRepository.findByTenantIdAndId(tenantId, id)
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<OrderResponseDTO> orders;
+        if (cursor == null || cursor.isBlank()) {
+            orders = orderRepository.findFirstByCursor(tenantId, limit);
+        } else {
+            OrderCursor after = OrderCursor.decode(cursor);
+            orders = orderRepository.findAfterCursor(tenantId, after.createdAt(), after.id(), limit);
+        }
+
+        boolean hasNext = orders.size() > pageSize;
+        List<OrderResponseDTO> page = hasNext ? orders.subList(0, pageSize) : orders;
+        String nextCursor = null;
+        if (hasNext) {
+            OrderResponseDTO last = page.get(page.size() - 1);
+            nextCursor = new OrderCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        fillTextFields(tenantId, page, fields);
+
+        return CursorPageDTO.<OrderResponseDTO>builder()
+                .content(page)
+                .size(pageSize)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public Page<OrderResponseDTO> searchOrders(OrderSearchCriteria criteria, Pageable pageable, Set<OrderTextField> fields) {
+        UUID tenantId = TenantContext.get();
+        validateRange("created", criteria.getCreatedFrom(), criteria.getCreatedTo());
+        validateRange("updated", criteria.getUpdatedFrom(), criteria.getUpdatedTo());
+        validateRange("weight", criteria.getMinWeight(), criteria.getMaxWeight());
+        pageable.getSort().forEach(order -> {
+            if (!OrderRepository.SEARCH_SORT_PROPERTIES.contains(order.getProperty())) {
+                throw new IllegalStateException("Unsupported sort property: " + order.getProperty());
+            }
+        });
+
+        Page<OrderResponseDTO> page = orderRepository.search(tenantId, criteria, pageable);
+        fillTextFields(tenantId, page.getContent(), fields);
+        return page;
+    }
+
+    // Every word of the query matches as a prefix of a word in the description, destination address or tracking
+    // notes; the tenant's in-memory index answers with ids, newest first, and only those are read
+    @Transactional(readOnly = true)
+    public OrderTextSearchResultDTO searchOrderText(String query, int limit, Set<OrderTextField> fields) {
+        UUID tenantId = TenantContext.get();
+        List<String> prefixes = TextTokenizer.tokens(query);
+        if (prefixes.isEmpty()) {
+            throw new IllegalStateException(String.format(
+                    "Search text must contain a word of at least %d letters or digits", TextTokenizer.MIN_TOKEN_LENGTH));
+        }
+        int maxResults = Math.max(1, Math.min(limit, MAX_TEXT_SEARCH_RESULTS));
+        TextIndex.Matches matches = orderTextIndex.search(tenantId, prefixes, maxResults);
+
+        List<OrderResponseDTO> orders = List.of();
+        if (!matches.ids().isEmpty()) {
+            Map<UUID, OrderResponseDTO> byId = new HashMap<>();
+            orderRepository.findSummariesByIds(tenantId, matches.ids()).forEach(order -> byId.put(order.getId(), order));
+            orders = matches.ids().stream().map(byId::get).filter(Objects::nonNull).toList();
+            fillTextFields(tenantId, orders, fields);
+        }
+        return OrderTextSearchResultDTO.builder()
+                .orders(orders)
+                .total(matches.total())
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public OrderLocationResultDTO getOrderLocations(BoundingBox box, int limit) {
+        UUID tenantId = TenantContext.get();
+        int maxResults = Math.max(1, Math.min(limit, MAX_LOCATIONS));
+        List<OrderLocationDTO> locations = orderRepository.findLocations(tenantId, box, maxResults + 1);
+
+        boolean truncated = locations.size() > maxResults;
+        return OrderLocationResultDTO.builder()
+                .orders(truncated ? locations.subList(0, maxResults) : locations)
+                .truncated(truncated)
+                .build();
+    }
+
+    // Reads the pre-aggregated grid level that suits the zoom, so the response grows with the cells in view and not
+    // with the orders in them
+    @Transactional(readOnly = true)
+    public OrderClusterResultDTO getOrderClusters(BoundingBox box, int zoom) {
+        UUID tenantId = TenantContext.get();
+        int precision = clusterPrecision(box, zoom);
+        String[] cells = box.parts().stream()
+                .flatMap(part -> Geohash.cells(part, precision).stream())
+                .toArray(String[]::new);
+
+        Map<String, List<Tuple>> byCell = new TreeMap<>();
+        for (Tuple row : orderGeoCellRepository.findCells(tenantId, precision, cells)) {
+            byCell.computeIfAbsent(row.get("cell", String.class), cell -> new ArrayList<>()).add(row);
+        }
+        List<OrderClusterDTO> clusters = byCell.entrySet().stream()
+                .map(entry -> cluster(entry.getKey(), entry.getValue()))
+                .toList();
+
+        return OrderClusterResultDTO.builder()
+                .precision(precision)
+                .total(clusters.stream().mapToLong(OrderClusterDTO::getCount).sum())
+                .clusters(clusters)
+                .build();
+    }
+
+    // Answers conditional GETs without hydrating the order: from the cached DTO when present, else a version-only query
+    @Transactional(readOnly = true)
+    public long getOrderVersion(UUID id) {
+        UUID tenantId = TenantContext.get();
+        return orderCache.getIfPresent(tenantId, id)
+                .map(OrderResponseDTO::getVersion)
+                .or(() -> orderRepository.findVersion(tenantId, id))
                 .orElseThrow(() -> new ResourceNotFoundException("Order", id));
-        return orderMapper.toResponseDTO(order);
     }
 
+    @Transactional(readOnly = true)
+    public OrderResponseDTO getOrderById(UUID id) {
+        UUID tenantId = TenantContext.get();
+        return orderCache.get(tenantId, id, () -> orderRepository.findByTenantIdAndId(tenantId, id)
+                .map(orderMapper::toResponseDTO)
+                .orElseThrow(() -> new ResourceNotFoundException("Order", id)));
+    }
+
+    // Compare-and-set on the status that was read, under the row locks the transition statement takes: a transition
+    // waiting on the lock of a racing one re-checks status in (:fromStatuses) against the row that one committed, so
+    // only one of them passes validation. The loser matches no row, then re-reads and re-validates.
     public OrderResponseDTO transitionStatus(UUID orderId, OrderStatus newStatus) {
         UUID tenantId = TenantContext.get();
-        Order order = orderRepository.findByTenantIdAndId(tenantId, orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order", orderId));
+        OrderStatus previousStatus = currentStatus(tenantId, orderId);
 
-        validateTransition(order.getStatus(), newStatus);
-        OrderStatus previousStatus = order.getStatus();
+        Instant changedAt;
+        StatusChange change;
+        for (int attempt = 1; ; attempt++) {
+            validateTransition(previousStatus, newStatus);
+            changedAt = Instant.now();
+            change = orderRepository.transitionStatuses(
+                    tenantId, List.of(orderId), EnumSet.of(previousStatus), newStatus, changedAt).get(orderId);
+            if (change != null) {
+                break;
+            }
 
-        order.setStatus(newStatus);
-        Order saved = orderRepository.save(order);
+            transitionConflicts.increment();
+            if (attempt >= maxTransitionAttempts) {
+                throw new ConcurrentUpdateException(String.format(
+                        "Order %s was modified concurrently %d times while transitioning to %s", orderId, attempt, newStatus));
+            }
+            log.debug("Order status changed concurrently, re-reading: id={}, expected={}, attempt={}",
+                    orderId, previousStatus, attempt);
+            previousStatus = currentStatus(tenantId, orderId);
+        }
+
+        Order saved = orderRepository.findByTenantIdAndId(tenantId, orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order", orderId));
 
         log.info("Order status transitioned: id={}, from={}, to={}", orderId, previousStatus, newStatus);
 
-        orderEventProducer.publishOrderEvent(saved, "OrderStatusChanged");
+        OrderResponseDTO response = orderMapper.toResponseDTO(saved);
+        Instant transitionedAt = changedAt;
+        StatusChange committed = change;
+        afterCommit(() -> {
+            orderCache.evict(tenantId, List.of(orderId));
+            orderLifecycleMetrics.recordTransition(tenantId, newStatus, transitionedAt, committed);
+            orderEventProducer.publishStatusChange(saved, committed.previousStatus());
+            orderNotifier.send(tenantId, response);
+        });
 
-        messagingTemplate.convertAndSend(
-                "/topic/orders/" + tenantId,
-                orderMapper.toResponseDTO(saved)
-        );
+        return response;
+    }
 
-        return orderMapper.toResponseDTO(saved);
+    // One conditional UPDATE for the whole set; the batched event is forwarded by OrderEventConsumerConfig as a
+    // single WebSocket message to the tenant instead of one message per order
+    public BulkStatusUpdateResultDTO transitionStatuses(List<UUID> orderIds, OrderStatus newStatus) {
+        if (orderIds.size() > maxBulkSize) {
+            throw new IllegalStateException(
+                    String.format("Bulk request contains %d orders, the maximum is %d", orderIds.size(), maxBulkSize));
+        }
+
+        UUID tenantId = TenantContext.get();
+        Set<UUID> requested = new LinkedHashSet<>(orderIds);
+        Instant changedAt = Instant.now();
+        Map<UUID, StatusChange> updated = orderRepository.transitionStatuses(
+                tenantId, requested, newStatus.predecessors(), newStatus, changedAt);
+
+        List<UUID> updatedIds = requested.stream().filter(updated::containsKey).toList();
+        List<UUID> rejectedIds = requested.stream().filter(id -> !updated.containsKey(id)).toList();
+        List<BulkStatusUpdateFailureDTO> failures = describeFailures(tenantId, rejectedIds, newStatus);
+
+        log.info("Bulk status transition: tenantId={}, to={}, updated={}, failed={}",
+                tenantId, newStatus, updatedIds.size(), failures.size());
+
+        if (!updatedIds.isEmpty()) {
+            afterCommit(() -> {
+                orderCache.evict(tenantId, updatedIds);
+                updated.values().forEach(change ->
+                        orderLifecycleMetrics.recordTransition(tenantId, newStatus, changedAt, change));
+                orderEventProducer.publishStatusChange(tenantId, updated, newStatus);
+            });
+        }
+
+        return BulkStatusUpdateResultDTO.builder()
+                .newStatus(newStatus)
+                .updated(updatedIds.size())
+                .failed(failures.size())
+                .updatedIds(updatedIds)
+                .failures(failures)
+                .build();
+    }
+
+    // Cache eviction and events must not run before the change is visible to other transactions, or a
+    // concurrent read could re-cache the old state; outside a transaction (unit tests) they run immediately
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // The coarsest grid level whose cells are no wider than a 256 pixel map tile at the zoom, or coarser still when the
+    // box would take more than MAX_CLUSTER_CELLS of them
+    private int clusterPrecision(BoundingBox box, int zoom) {
+        double tileWidth = 360.0 / (1L << Math.max(0, Math.min(zoom, MAX_ZOOM)));
+        int precision = 1;
+        while (precision < OrderGeoCell.MAX_PRECISION && Geohash.cellWidth(precision) > tileWidth) {
+            precision++;
+        }
+        while (precision > 1 && cellCount(box, precision) > MAX_CLUSTER_CELLS) {
+            precision--;
+        }
+        return precision;
+    }
+
+    private long cellCount(BoundingBox box, int precision) {
+        return box.parts().stream().mapToLong(part -> Geohash.cellCount(part, precision)).sum();
+    }
+
+    private OrderClusterDTO cluster(String cell, List<Tuple> rows) {
+        Map<OrderStatus, Long> statusCounts = new EnumMap<>(OrderStatus.class);
+        long count = 0;
+        double latitudeSum = 0;
+        double longitudeSum = 0;
+        for (Tuple row : rows) {
+            long orderCount = row.get("order_count", Long.class);
+            statusCounts.put(OrderStatus.valueOf(row.get("status", String.class)), orderCount);
+            count += orderCount;
+            latitudeSum += row.get("latitude_sum", Double.class);
+            longitudeSum += row.get("longitude_sum", Double.class);
+        }
+        return OrderClusterDTO.builder()
+                .cell(cell)
+                .count(count)
+                .latitude(latitudeSum / count)
+                .longitude(longitudeSum / count)
+                .statusCounts(statusCounts)
+                .build();
+    }
+
+    private OrderStatus currentStatus(UUID tenantId, UUID orderId) {
+        return orderRepository.findStatus(tenantId, orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order", orderId));
+    }
+
+    private List<BulkStatusUpdateFailureDTO> describeFailures(UUID tenantId, List<UUID> rejectedIds, OrderStatus newStatus) {
+        if (rejectedIds.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, OrderStatus> current = new HashMap<>();
+        for (Tuple row : orderRepository.findStatuses(tenantId, rejectedIds)) {
+            current.put(row.get("id", UUID.class), row.get("status", OrderStatus.class));
+        }
+
+        return rejectedIds.stream()
+                .map(id -> {
+                    OrderStatus status = current.get(id);
+                    if (status == null) {
+                        return BulkStatusUpdateFailureDTO.builder()
+                                .orderId(id)
+                                .reason(BulkStatusUpdateFailureDTO.Reason.NOT_FOUND)
+                                .message("Order not found")
+                                .build();
+                    }
+                    return BulkStatusUpdateFailureDTO.builder()
+                            .orderId(id)
+                            .reason(BulkStatusUpdateFailureDTO.Reason.INVALID_TRANSITION)
+                            .currentStatus(status)
+                            .message(String.format("Invalid status transition from %s to %s", status, newStatus))
+                            .build();
+                })
+                .toList();
+    }
+
+    private void fillTextFields(UUID tenantId, List<OrderResponseDTO> orders, Set<OrderTextField> fields) {
+        if (orders.isEmpty() || fields.isEmpty()) {
+            return;
+        }
+        Map<UUID, OrderResponseDTO> byId = new HashMap<>();
+        orders.forEach(order -> byId.put(order.getId(), order));
+
+        for (Tuple row : orderRepository.findTextFields(tenantId, byId.keySet(), fields)) {
+            OrderResponseDTO order = byId.get(row.get("id", UUID.class));
+            if (fields.contains(OrderTextField.DESCRIPTION)) {
+                order.setDescription(row.get(OrderTextField.DESCRIPTION.getProperty(), String.class));
+            }
+            if (fields.contains(OrderTextField.DESTINATION_ADDRESS)) {
+                order.setDestinationAddress(row.get(OrderTextField.DESTINATION_ADDRESS.getProperty(), String.class));
+            }
+            if (fields.contains(OrderTextField.TRACKING_NOTES)) {
+                order.setTrackingNotes(row.get(OrderTextField.TRACKING_NOTES.getProperty(), String.class));
+            }
+        }
+    }
+
+    private <T extends Comparable<? super T>> void validateRange(String name, T from, T to) {
+        if (from != null && to != null && from.compareTo(to) > 0) {
+            throw new IllegalStateException(String.format("Invalid %s range: %s is after %s", name, from, to));
+        }
     }
 
     private void validateTransition(OrderStatus current, OrderStatus next) {
-        boolean valid = switch (current) {
-            case PENDING -> next == OrderStatus.APPROVED || next == OrderStatus.CANCELLED;
-            case APPROVED -> next == OrderStatus.IN_TRANSIT || next == OrderStatus.CANCELLED;
-            case IN_TRANSIT -> next == OrderStatus.SHIPPED || next == OrderStatus.CANCELLED;
-            case SHIPPED -> next == OrderStatus.DELIVERED;
-            case DELIVERED, CANCELLED -> false;
-        };
-
-        if (!valid) {
+        if (!current.canTransitionTo(next)) {
             throw new IllegalStateException(
                     String.format("Invalid status transition from %s to %s", current, next)
             );
@@ -0,0 +1,57 @@
+package com.smartlogix.service;
+
+import com.smartlogix.security.TenantContext;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+// Times every public OrderService call made from outside the service, and counts the calls per tenant. Ordered
+// outside the transaction, so the time includes the commit and the work registered to run after it. The timer is not
+// tagged by tenant: its percentile histogram is one set of buckets per operation and outcome, not per tenant as well.
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class OrderServiceMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final TenantTagResolver tenantTagResolver;
+
+    private Meter.MeterProvider<Timer> timer;
+
+    @PostConstruct
+    void init() {
+        timer = Timer.builder("smartlogix.orders.service")
+                .description("Time spent in order service operations")
+                .publishPercentileHistogram()
+                .withRegistry(meterRegistry);
+    }
+
+    @Around("execution(public * com.smartlogix.service.OrderService.*(..))")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        String operation = joinPoint.getSignature().getName();
+        String exception = "none";
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(timer.withTags("operation", operation, "exception", exception));
+            meterRegistry.counter("smartlogix.orders.service.calls",
+                            "operation", operation,
+                            "exception", exception,
+                            "tenant", tenantTagResolver.tagOf(TenantContext.get()))
+                    .increment();
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.smartlogix.service;
+
+import com.smartlogix.domain.enums.OrderStatus;
+import com.smartlogix.domain.repository.OrderRepository;
+import com.smartlogix.messaging.OrderEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.Tuple;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+// Live order counts by status per tenant, answered from memory. A tenant's counters are seeded with one GROUP BY query
+// when they are first read and from then on follow the order events every replica receives. An event lost between
+// commit and publish, or one that overlaps the seed query, leaves the counters off, so a background pass compares them
+// with the orders table and corrects what two passes in a row agree on: a difference seen once is usually an event
+// still on its way.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderStatusCounts {
+
+    private final OrderRepository orderRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${smartlogix.orders.status-counts.reconcile-interval-seconds:300}")
+    private long reconcileIntervalSeconds;
+
+    private final Map<UUID, TenantCounts> tenants = new ConcurrentHashMap<>();
+    private Counter corrections;
+    private volatile boolean running;
+    private Thread reconciler;
+
+    // Registered before its seed query runs, so events for changes the query does not see are counted as well; the
+    // first reader seeds it and concurrent readers wait for that
+    private static final class TenantCounts {
+        private final Map<OrderStatus, LongAdder> counts = new EnumMap<>(OrderStatus.class);
+        private final AtomicBoolean seeding = new AtomicBoolean();
+        private final CompletableFuture<Void> seeded = new CompletableFuture<>();
+        // Difference to the orders table found by the previous reconciliation pass, by status ordinal
+        private final long[] drift = new long[OrderStatus.values().length];
+
+        TenantCounts() {
+            for (OrderStatus status : OrderStatus.values()) {
+                counts.put(status, new LongAdder());
+            }
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        corrections = Counter.builder("smartlogix.orders.status-counts.corrections")
+                .description("Orders the reconciliation pass added to or removed from the live status counters")
+                .register(meterRegistry);
+    }
+
+    public Map<OrderStatus, Long> getCounts(UUID tenantId) {
+        TenantCounts tenantCounts = seeded(tenantId);
+        Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+        // Drift can take a counter below zero until it is reconciled
+        tenantCounts.counts.forEach((status, count) -> counts.put(status, Math.max(0, count.sum())));
+        return counts;
+    }
+
+    // Tenants not seeded yet are skipped: their seed query reads the change from the table
+    public void apply(OrderEvent event) {
+        TenantCounts tenantCounts = tenants.get(event.getTenantId());
+        if (tenantCounts == null || event.getStatus() == null) {
+            return;
+        }
+        if ("OrderCreated".equals(event.getEventType())) {
+            tenantCounts.counts.get(event.getStatus()).add(event.getOrderIds() != null ? event.getOrderIds().size() : 1);
+        } else if ("OrderStatusChanged".equals(event.getEventType())) {
+            List<OrderStatus> previousStatuses = event.getPreviousStatuses() != null
+                    ? event.getPreviousStatuses()
+                    : event.getPreviousStatus() != null ? List.of(event.getPreviousStatus()) : List.of();
+            for (OrderStatus previousStatus : previousStatuses) {
+                tenantCounts.counts.get(previousStatus).decrement();
+                tenantCounts.counts.get(event.getStatus()).increment();
+            }
+        }
+    }
+
+    public void evict(UUID tenantId) {
+        tenants.remove(tenantId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        reconciler = Thread.ofVirtual().name("order-status-count-reconciler").start(this::run);
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (reconciler != null) {
+            reconciler.interrupt();
+        }
+    }
+
+    void reconcile() {
+        tenants.forEach((tenantId, tenantCounts) -> {
+            if (!tenantCounts.seeded.isDone() || tenantCounts.seeded.isCompletedExceptionally()) {
+                return;
+            }
+            Map<OrderStatus, Long> actual = readCounts(tenantId);
+            for (OrderStatus status : OrderStatus.values()) {
+                LongAdder count = tenantCounts.counts.get(status);
+                long difference = actual.getOrDefault(status, 0L) - count.sum();
+                long previous = tenantCounts.drift[status.ordinal()];
+                tenantCounts.drift[status.ordinal()] = difference;
+                if (difference == 0 || Long.signum(difference) != Long.signum(previous)) {
+                    continue;
+                }
+                long correction = Long.signum(difference) * Math.min(Math.abs(difference), Math.abs(previous));
+                count.add(correction);
+                // The next correction again needs two passes that agree
+                tenantCounts.drift[status.ordinal()] = 0;
+                corrections.increment(Math.abs(correction));
+                log.warn("Corrected drifted order status count: tenantId={}, status={}, correction={}",
+                        tenantId, status, correction);
+            }
+        });
+    }
+
+    private void run() {
+        log.info("Order status count reconciliation started: intervalSeconds={}", reconcileIntervalSeconds);
+        while (running) {
+            try {
+                Thread.sleep(Duration.ofSeconds(reconcileIntervalSeconds));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                reconcile();
+            } catch (RuntimeException e) {
+                log.warn("Order status count reconciliation failed, retrying after the interval", e);
+            }
+        }
+    }
+
+    private TenantCounts seeded(UUID tenantId) {
+        TenantCounts tenantCounts = tenants.computeIfAbsent(tenantId, id -> new TenantCounts());
+        if (tenantCounts.seeding.compareAndSet(false, true)) {
+            try {
+                readCounts(tenantId).forEach((status, count) -> tenantCounts.counts.get(status).add(count));
+            } catch (RuntimeException e) {
+                tenants.remove(tenantId, tenantCounts);
+                tenantCounts.seeded.completeExceptionally(e);
+                throw e;
+            }
+            tenantCounts.seeded.complete(null);
+        }
+        try {
+            tenantCounts.seeded.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        return tenantCounts;
+    }
+
+    private Map<OrderStatus, Long> readCounts(UUID tenantId) {
+        Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+        for (Tuple row : orderRepository.countByStatus(tenantId)) {
+            counts.put(row.get("status", OrderStatus.class), row.get("count", Long.class));
+        }
+        return counts;
+    }
+}
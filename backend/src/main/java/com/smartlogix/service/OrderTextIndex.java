@@ -0,0 +1,211 @@
+package com.smartlogix.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.smartlogix.domain.enums.OrderTextField;
+import com.smartlogix.domain.repository.OrderRepository;
+import com.smartlogix.domain.repository.TenantRepository;
+import com.smartlogix.search.TextIndex;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.Tuple;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+// Per-tenant in-memory text indexes over the order text columns, weighed by their estimated heap size. A tenant's
+// index is built from a streaming scan of its orders on its first search (and at startup for as many tenants as fit),
+// then kept current from order events on every replica. Indexes not searched for idle-minutes, and the least valuable
+// ones once max-memory-mb is used up, are dropped and rebuilt on their next search.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderTextIndex {
+
+    private final OrderRepository orderRepository;
+    private final TenantRepository tenantRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${smartlogix.orders.text-index.max-memory-mb:256}")
+    private long maxMemoryMb;
+
+    @Value("${smartlogix.orders.text-index.idle-minutes:60}")
+    private long idleMinutes;
+
+    @Value("${smartlogix.orders.text-index.warm-up:true}")
+    private boolean warmUp;
+
+    private Cache<UUID, TenantIndex> indexes;
+    private TransactionTemplate readOnlyTransaction;
+    private Timer buildTimer;
+
+    // Registered before its scan starts, so events that arrive during the scan are applied to it as well; the first
+    // caller builds it and concurrent callers wait for that build
+    private static final class TenantIndex {
+        private final TextIndex index = new TextIndex();
+        private final AtomicBoolean building = new AtomicBoolean();
+        private final CompletableFuture<TextIndex> built = new CompletableFuture<>();
+    }
+
+    @PostConstruct
+    void init() {
+        long idleNanos = Duration.ofMinutes(idleMinutes).toNanos();
+        indexes = Caffeine.newBuilder()
+                .maximumWeight(maxMemoryMb * 1024 * 1024)
+                .weigher((UUID tenantId, TenantIndex tenantIndex) ->
+                        (int) Math.min(Integer.MAX_VALUE, tenantIndex.index.estimatedBytes()))
+                // Only searches keep an index from going idle; re-weighing it after an event does not
+                .expireAfter(new Expiry<UUID, TenantIndex>() {
+                    @Override
+                    public long expireAfterCreate(UUID tenantId, TenantIndex tenantIndex, long currentTime) {
+                        return idleNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(UUID tenantId, TenantIndex tenantIndex, long currentTime,
+                                                  long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(UUID tenantId, TenantIndex tenantIndex, long currentTime,
+                                                long currentDuration) {
+                        return idleNanos;
+                    }
+                })
+                .removalListener((UUID tenantId, TenantIndex tenantIndex, RemovalCause cause) -> {
+                    if (cause.wasEvicted()) {
+                        log.info("Dropped order text index: tenantId={}, cause={}, estimatedBytes={}",
+                                tenantId, cause, tenantIndex.index.estimatedBytes());
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, indexes, "orderTextIndexes");
+        Gauge.builder("smartlogix.orders.text-index.memory", this, OrderTextIndex::estimatedBytes)
+                .description("Estimated heap used by the per-tenant order text indexes")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        buildTimer = Timer.builder("smartlogix.orders.text-index.build")
+                .description("Time to build a tenant's order text index from a scan of its orders")
+                .register(meterRegistry);
+
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    public TextIndex.Matches search(UUID tenantId, List<String> prefixes, int limit) {
+        return built(tenantId).search(prefixes, limit);
+    }
+
+    // Adds the orders to their tenant's index if it is in memory; an index built later finds them in its scan
+    public void index(UUID tenantId, Collection<UUID> orderIds) {
+        TenantIndex tenantIndex = indexes.policy().getIfPresentQuietly(tenantId);
+        if (tenantIndex == null || orderIds.isEmpty()) {
+            return;
+        }
+        for (Tuple row : orderRepository.findTextFields(tenantId, orderIds, EnumSet.allOf(OrderTextField.class))) {
+            put(tenantIndex.index, row);
+        }
+        reweigh(tenantId, tenantIndex);
+    }
+
+    public void evict(UUID tenantId) {
+        indexes.invalidate(tenantId);
+    }
+
+    // Applies pending re-weighs first; Caffeine otherwise folds them in asynchronously
+    public long estimatedBytes() {
+        indexes.cleanUp();
+        return indexes.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L);
+    }
+
+    // Runs in the background so that startup does not wait for the scans; searches meanwhile build or wait as usual
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpOnStartup() {
+        if (!warmUp) {
+            return;
+        }
+        Thread.ofVirtual().name("order-text-index-warm-up").start(() -> {
+            long budget = maxMemoryMb * 1024 * 1024;
+            for (UUID tenantId : tenantRepository.findActiveIds()) {
+                if (estimatedBytes() >= budget) {
+                    log.info("Order text index warm-up stopped at the memory budget: maxMemoryMb={}", maxMemoryMb);
+                    return;
+                }
+                try {
+                    built(tenantId);
+                } catch (RuntimeException e) {
+                    log.warn("Failed to build order text index during warm-up: tenantId={}", tenantId, e);
+                }
+            }
+        });
+    }
+
+    private TextIndex built(UUID tenantId) {
+        TenantIndex tenantIndex = indexes.get(tenantId, id -> new TenantIndex());
+        if (tenantIndex.building.compareAndSet(false, true)) {
+            try {
+                buildTimer.record(() -> build(tenantId, tenantIndex.index));
+            } catch (RuntimeException e) {
+                indexes.asMap().remove(tenantId, tenantIndex);
+                tenantIndex.built.completeExceptionally(e);
+                throw e;
+            }
+            tenantIndex.built.complete(tenantIndex.index);
+            reweigh(tenantId, tenantIndex);
+        }
+        try {
+            return tenantIndex.built.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private void build(UUID tenantId, TextIndex index) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Tuple> rows = orderRepository.streamTextFieldsByTenantId(tenantId)) {
+                rows.forEach(row -> put(index, row));
+            }
+        });
+        log.info("Built order text index: tenantId={}, orders={}, terms={}, estimatedBytes={}",
+                tenantId, index.size(), index.termCount(), index.estimatedBytes());
+        if (index.estimatedBytes() > maxMemoryMb * 1024 * 1024) {
+            log.warn("Order text index of tenant exceeds the whole memory budget and is rebuilt on every search: "
+                    + "tenantId={}, estimatedBytes={}, maxMemoryMb={}", tenantId, index.estimatedBytes(), maxMemoryMb);
+        }
+    }
+
+    // Caffeine weighs an entry when it is written, so a grown index is written back to be weighed again
+    private void reweigh(UUID tenantId, TenantIndex tenantIndex) {
+        indexes.asMap().replace(tenantId, tenantIndex, tenantIndex);
+    }
+
+    private void put(TextIndex index, Tuple row) {
+        index.put(row.get("id", UUID.class),
+                row.get(OrderTextField.DESCRIPTION.getProperty(), String.class),
+                row.get(OrderTextField.DESTINATION_ADDRESS.getProperty(), String.class),
+                row.get(OrderTextField.TRACKING_NOTES.getProperty(), String.class));
+    }
+}
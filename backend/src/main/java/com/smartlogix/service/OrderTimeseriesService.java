@@ -0,0 +1,90 @@
+package com.smartlogix.service;
+
+import com.smartlogix.domain.entity.OrderDailyCount;
+import com.smartlogix.domain.enums.OrderStatus;
+import com.smartlogix.domain.enums.TimeseriesGranularity;
+import com.smartlogix.domain.repository.OrderDailyCountRepository;
+import com.smartlogix.dto.OrderTimeseriesBucketDTO;
+import com.smartlogix.dto.OrderTimeseriesDTO;
+import com.smartlogix.security.TenantContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// Order time series read from the daily rollup, so a request reads at most one row per status and day of its range
+// however many orders those days saw, and sums the days into weeks itself
+@Service
+@RequiredArgsConstructor
+public class OrderTimeseriesService {
+
+    // A year, leap day included
+    private static final int MAX_DAYS = 366;
+
+    private final OrderDailyCountRepository orderDailyCountRepository;
+
+    @Transactional(readOnly = true)
+    public OrderTimeseriesDTO getTimeseries(LocalDate from, LocalDate to, TimeseriesGranularity granularity) {
+        if (from.isAfter(to)) {
+            throw new IllegalStateException("Time series range starts after it ends: from=" + from + ", to=" + to);
+        }
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days > MAX_DAYS) {
+            throw new IllegalStateException(
+                    String.format("Time series range covers %d days, the maximum is %d", days, MAX_DAYS));
+        }
+        UUID tenantId = TenantContext.get();
+
+        List<OrderTimeseriesBucketDTO> buckets = new ArrayList<>();
+        for (LocalDate start = from; !start.isAfter(to); ) {
+            LocalDate end = granularity == TimeseriesGranularity.WEEK
+                    ? start.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY))
+                    : start;
+            if (end.isAfter(to)) {
+                end = to;
+            }
+            Map<OrderStatus, Long> statusCounts = new EnumMap<>(OrderStatus.class);
+            for (OrderStatus status : OrderStatus.values()) {
+                statusCounts.put(status, 0L);
+            }
+            buckets.add(OrderTimeseriesBucketDTO.builder()
+                    .start(start)
+                    .end(end)
+                    .statusCounts(statusCounts)
+                    .build());
+            start = end.plusDays(1);
+        }
+
+        for (OrderDailyCount row : orderDailyCountRepository.findByTenantIdAndDayBetween(tenantId, from, to)) {
+            buckets.get(bucket(from, row.getDay(), granularity)).getStatusCounts()
+                    .merge(row.getStatus(), row.getOrderCount(), Long::sum);
+        }
+
+        return OrderTimeseriesDTO.builder()
+                .from(from)
+                .to(to)
+                .granularity(granularity)
+                .buckets(buckets)
+                .build();
+    }
+
+    private static int bucket(LocalDate from, LocalDate day, TimeseriesGranularity granularity) {
+        return switch (granularity) {
+            case DAY -> (int) ChronoUnit.DAYS.between(from, day);
+            case WEEK -> (int) ChronoUnit.WEEKS.between(monday(from), monday(day));
+        };
+    }
+
+    private static LocalDate monday(LocalDate day) {
+        return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+}
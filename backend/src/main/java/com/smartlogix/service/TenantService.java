@@ -0,0 +1,52 @@
+package com.smartlogix.service;
+
+import com.smartlogix.domain.entity.Tenant;
+import com.smartlogix.domain.repository.TenantRepository;
+import com.smartlogix.exception.ResourceNotFoundException;
+import com.smartlogix.messaging.TenantEventProducer;
+import com.smartlogix.security.UserPrincipalService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+@Slf4j
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class TenantService {
+
+    private final TenantRepository tenantRepository;
+    private final ActiveTenantCache activeTenantCache;
+    private final UserPrincipalService userPrincipalService;
+    private final TenantEventProducer tenantEventProducer;
+
+    public Tenant setActive(UUID tenantId, boolean active) {
+        Tenant tenant = tenantRepository.findById(tenantId)
+                .orElseThrow(() -> new ResourceNotFoundException("Tenant", tenantId));
+
+        if (tenant.isActive() == active) {
+            return tenant;
+        }
+
+        tenant.setActive(active);
+        Tenant saved = tenantRepository.save(tenant);
+        log.info("Tenant {}: id={}", active ? "activated" : "deactivated", tenantId);
+
+        String eventType = active ? "TenantActivated" : "TenantDeactivated";
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                activeTenantCache.evict(tenantId);
+                userPrincipalService.evictTenant(tenantId);
+                tenantEventProducer.publishTenantEvent(saved, eventType);
+            }
+        });
+
+        return saved;
+    }
+}
@@ -0,0 +1,120 @@
+package com.smartlogix.service;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Maps a tenant to the "tenant" tag of the per-tenant metrics. Only the busiest tenants of the last interval are tagged
+// with their id, all others share "other", so the tag has at most top-n + 2 values however many tenants exist. Meters
+// of tenants that drop out of the top are removed from the registry instead of being exported unchanged forever.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TenantTagResolver {
+
+    public static final String OTHER = "other";
+    // Work done before a tenant is known, such as rejected tokens
+    public static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${smartlogix.metrics.tenant-tags.top-n:20}")
+    private int topN;
+
+    @Value("${smartlogix.metrics.tenant-tags.refresh-interval-seconds:60}")
+    private long refreshIntervalSeconds;
+
+    // Calls per tenant since the last refresh
+    private final Map<UUID, LongAdder> activity = new ConcurrentHashMap<>();
+    private volatile Map<UUID, String> tags = Map.of();
+    private volatile boolean running;
+    private Thread refresher;
+
+    // Also counts the call towards the tenant's rank
+    public String tagOf(UUID tenantId) {
+        if (tenantId == null) {
+            return NONE;
+        }
+        activity.computeIfAbsent(tenantId, id -> new LongAdder()).increment();
+        return tags.getOrDefault(tenantId, OTHER);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        refresher = Thread.ofVirtual().name("tenant-tag-refresher").start(this::run);
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (refresher != null) {
+            refresher.interrupt();
+        }
+    }
+
+    void refresh() {
+        Map<UUID, Long> counts = new HashMap<>();
+        activity.forEach((tenantId, calls) -> {
+            long sum = calls.sumThenReset();
+            if (sum == 0) {
+                // Idle for a whole interval; a call racing with the removal only goes uncounted
+                activity.remove(tenantId, calls);
+            } else {
+                counts.put(tenantId, sum);
+            }
+        });
+
+        Map<UUID, String> top = new HashMap<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<UUID, Long>comparingByValue().reversed())
+                .limit(topN)
+                .forEach(entry -> top.put(entry.getKey(), entry.getKey().toString()));
+        tags = Map.copyOf(top);
+
+        // Also catches meters registered by a call that resolved the old tags while they were being replaced
+        Set<String> current = Set.copyOf(top.values());
+        int removed = 0;
+        for (Meter meter : meterRegistry.getMeters()) {
+            String tag = meter.getId().getTag("tenant");
+            if (tag != null && !tag.equals(OTHER) && !tag.equals(NONE) && !current.contains(tag)
+                    && meterRegistry.remove(meter) != null) {
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            log.debug("Removed meters of tenants that left the metric tags: meters={}", removed);
+        }
+    }
+
+    private void run() {
+        log.info("Tenant metric tags started: topN={}, intervalSeconds={}", topN, refreshIntervalSeconds);
+        while (running) {
+            try {
+                Thread.sleep(Duration.ofSeconds(refreshIntervalSeconds));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                refresh();
+            } catch (RuntimeException e) {
+                log.warn("Tenant metric tag refresh failed, retrying after the interval", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.smartlogix.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.UUID;
+
+// Maps a tenant to the tier used as a metric tag; tenants are "standard" unless listed as premium,
+// which keeps the tag to two values however many tenants exist.
+@Component
+public class TenantTierResolver {
+
+    public static final String PREMIUM = "premium";
+    public static final String STANDARD = "standard";
+
+    @Value("${smartlogix.tenant-tiers.premium:}")
+    private Set<UUID> premiumTenants;
+
+    public String tierOf(UUID tenantId) {
+        return premiumTenants.contains(tenantId) ? PREMIUM : STANDARD;
+    }
+}
@@ -0,0 +1,152 @@
+-- Schema as hibernate.ddl-auto=update and spring.batch.jdbc.initialize-schema=always created it before the migrations
+-- existed, constraint names included. Databases created that way are baselined at this version
+-- (spring.flyway.baseline-on-migrate) and pick up from V2.
+
+create table tenants (
+    id uuid not null,
+    active boolean not null,
+    created_at timestamp(6) with time zone not null,
+    name varchar(255) not null,
+    slug varchar(255) not null,
+    updated_at timestamp(6) with time zone not null,
+    constraint tenants_pkey primary key (id),
+    constraint uk4moql6miwoh3w0drxa2gmjbll unique (name),
+    constraint ukkn82rs0p55luybrg4n7x7di8 unique (slug)
+);
+
+create table users (
+    id uuid not null,
+    created_at timestamp(6) with time zone not null,
+    email varchar(255) not null,
+    password_hash varchar(255) not null,
+    role varchar(255) not null check (role in ('ROLE_ADMIN', 'ROLE_USER')),
+    updated_at timestamp(6) with time zone not null,
+    tenant_id uuid not null,
+    constraint users_pkey primary key (id),
+    constraint uk6dotkott2kjsp8vw4d0m25fb7 unique (email),
+    constraint fk21hn1a5ja1tve7ae02fnn4cld foreign key (tenant_id) references tenants
+);
+
+create table orders (
+    id uuid not null,
+    created_at timestamp(6) with time zone not null,
+    description text,
+    destination_address text,
+    latitude float(53),
+    longitude float(53),
+    order_number varchar(255) not null,
+    status varchar(255) not null
+        check (status in ('PENDING', 'APPROVED', 'IN_TRANSIT', 'SHIPPED', 'DELIVERED', 'CANCELLED')),
+    tracking_notes text,
+    updated_at timestamp(6) with time zone not null,
+    weight numeric(10, 2),
+    created_by_id uuid,
+    tenant_id uuid not null,
+    constraint orders_pkey primary key (id),
+    constraint uknthkiu7pgmnqnu86i2jyoe2v7 unique (order_number),
+    constraint fk2fw0iiauv5pgvxmw31vf38dqt foreign key (created_by_id) references users,
+    constraint fk45pihpalbn6gyf7x3l9hbybw0 foreign key (tenant_id) references tenants
+);
+
+-- Envers
+create sequence revinfo_seq start with 1 increment by 50;
+
+create table revinfo (
+    rev integer not null,
+    revtstmp bigint,
+    constraint revinfo_pkey primary key (rev)
+);
+
+create table orders_aud (
+    id uuid not null,
+    rev integer not null,
+    revtype smallint,
+    created_at timestamp(6) with time zone,
+    description text,
+    destination_address text,
+    latitude float(53),
+    longitude float(53),
+    order_number varchar(255),
+    status varchar(255)
+        check (status in ('PENDING', 'APPROVED', 'IN_TRANSIT', 'SHIPPED', 'DELIVERED', 'CANCELLED')),
+    tracking_notes text,
+    updated_at timestamp(6) with time zone,
+    weight numeric(10, 2),
+    created_by_id uuid,
+    tenant_id uuid,
+    constraint orders_aud_pkey primary key (rev, id),
+    constraint fkinujab7ljkelflu16c9jjch19 foreign key (rev) references revinfo
+);
+
+-- Spring Batch 5.1 (org/springframework/batch/core/schema-postgresql.sql)
+create table batch_job_instance (
+    job_instance_id bigint not null primary key,
+    version bigint,
+    job_name varchar(100) not null,
+    job_key varchar(32) not null,
+    constraint job_inst_un unique (job_name, job_key)
+);
+
+create table batch_job_execution (
+    job_execution_id bigint not null primary key,
+    version bigint,
+    job_instance_id bigint not null,
+    create_time timestamp not null,
+    start_time timestamp default null,
+    end_time timestamp default null,
+    status varchar(10),
+    exit_code varchar(2500),
+    exit_message varchar(2500),
+    last_updated timestamp,
+    constraint job_inst_exec_fk foreign key (job_instance_id) references batch_job_instance (job_instance_id)
+);
+
+create table batch_job_execution_params (
+    job_execution_id bigint not null,
+    parameter_name varchar(100) not null,
+    parameter_type varchar(100) not null,
+    parameter_value varchar(2500),
+    identifying char(1) not null,
+    constraint job_exec_params_fk foreign key (job_execution_id) references batch_job_execution (job_execution_id)
+);
+
+create table batch_step_execution (
+    step_execution_id bigint not null primary key,
+    version bigint not null,
+    step_name varchar(100) not null,
+    job_execution_id bigint not null,
+    create_time timestamp not null,
+    start_time timestamp default null,
+    end_time timestamp default null,
+    status varchar(10),
+    commit_count bigint,
+    read_count bigint,
+    filter_count bigint,
+    write_count bigint,
+    read_skip_count bigint,
+    write_skip_count bigint,
+    process_skip_count bigint,
+    rollback_count bigint,
+    exit_code varchar(2500),
+    exit_message varchar(2500),
+    last_updated timestamp,
+    constraint job_exec_step_fk foreign key (job_execution_id) references batch_job_execution (job_execution_id)
+);
+
+create table batch_step_execution_context (
+    step_execution_id bigint not null primary key,
+    short_context varchar(2500) not null,
+    serialized_context text,
+    constraint step_exec_ctx_fk foreign key (step_execution_id) references batch_step_execution (step_execution_id)
+);
+
+create table batch_job_execution_context (
+    job_execution_id bigint not null primary key,
+    short_context varchar(2500) not null,
+    serialized_context text,
+    constraint job_exec_ctx_fk foreign key (job_execution_id) references batch_job_execution (job_execution_id)
+);
+
+create sequence batch_step_execution_seq maxvalue 9223372036854775807 no cycle;
+create sequence batch_job_execution_seq maxvalue 9223372036854775807 no cycle;
+create sequence batch_job_seq maxvalue 9223372036854775807 no cycle;
@@ -0,0 +1,21 @@
+-- Optimistic locking on orders (Order.version). The constant default fills existing rows without rewriting the table.
+alter table orders add column version bigint default 0 not null;
+
+-- Geohash of the order's location (Order.geohash), in byte order so a prefix bounds a range scan. GeohashBackfill fills
+-- it in for orders located before the column existed.
+alter table orders add column geohash varchar(12) collate "C";
+
+-- Located orders per tenant, geohash cell and status for the map clusters, one row per cell at each precision.
+-- GeohashBackfill builds it from the orders on startup; the statements in OrderRepositoryCustomImpl keep it current.
+create table order_geo_cells (
+    tenant_id uuid not null,
+    cell_precision integer not null,
+    cell varchar(7) collate "C" not null,
+    status varchar(255) not null
+        check (status in ('PENDING', 'APPROVED', 'IN_TRANSIT', 'SHIPPED', 'DELIVERED', 'CANCELLED')),
+    order_count bigint not null,
+    latitude_sum float(53) not null,
+    longitude_sum float(53) not null,
+    -- Tenant first, so it also serves reads of one tenant's level
+    constraint order_geo_cells_pkey primary key (tenant_id, cell_precision, cell, status)
+);
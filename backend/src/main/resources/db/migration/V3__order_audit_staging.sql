@@ -0,0 +1,15 @@
+-- Order changes captured in the writing transaction and turned into Envers revisions by the asynchronous audit writer
+-- (smartlogix.audit.async), one revision per transaction id.
+create table order_audit_staging (
+    id bigint generated by default as identity,
+    tx_id bigint not null,
+    order_id uuid not null,
+    rev_type smallint not null,
+    status varchar(255) not null
+        check (status in ('PENDING', 'APPROVED', 'IN_TRANSIT', 'SHIPPED', 'DELIVERED', 'CANCELLED')),
+    updated_at timestamp(6) with time zone not null,
+    captured_at timestamp(6) with time zone not null,
+    constraint order_audit_staging_pkey primary key (id)
+);
+
+create index idx_order_audit_staging_tx on order_audit_staging (tx_id);
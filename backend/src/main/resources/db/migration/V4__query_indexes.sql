@@ -0,0 +1,18 @@
+-- Indexes of the order reads; the baseline schema only had the primary and unique keys.
+
+-- Keyset and page listing, newest first
+create index idx_orders_tenant_created_id on orders (tenant_id, created_at desc, id desc);
+-- Status filters and per-status counts; (tenant_id, status) is its prefix
+create index idx_orders_tenant_status_created on orders (tenant_id, status, created_at desc);
+create index idx_orders_tenant_updated on orders (tenant_id, updated_at desc);
+create index idx_orders_tenant_weight on orders (tenant_id, weight);
+-- Bounding-box range scans
+create index idx_orders_tenant_geohash on orders (tenant_id, geohash, id);
+
+-- Located orders still missing a geohash, which GeohashBackfill looks for on every start; stays empty once they are
+-- filled in, so the lookup no longer scans the table
+create index idx_orders_located_without_geohash on orders (id)
+    where geohash is null and latitude is not null and longitude is not null;
+
+-- Order history pages (OrderHistoryService); the Envers primary key leads with rev
+create index idx_orders_aud_id_rev on orders_aud (id, rev);
@@ -0,0 +1,37 @@
+-- Orders that entered each status per tenant and UTC day, behind GET /api/metrics/timeseries. PENDING is only entered
+-- when an order is created, so its counts are the orders created that day. New changes are added by the statements in
+-- OrderRepositoryCustomImpl, in the same transaction as the change.
+create table order_daily_counts (
+    tenant_id uuid not null,
+    day date not null,
+    status varchar(255) not null
+        check (status in ('PENDING', 'APPROVED', 'IN_TRANSIT', 'SHIPPED', 'DELIVERED', 'CANCELLED')),
+    order_count bigint not null,
+    constraint order_daily_counts_pkey primary key (tenant_id, day, status)
+);
+
+-- Backfill from the existing history: creations from the orders themselves, every later status from the audit
+-- revisions that changed it, including changes still staged for the asynchronous audit writer. Runs once, before the
+-- application that maintains the table starts.
+insert into order_daily_counts (tenant_id, day, status, order_count)
+select tenant_id, cast(created_at at time zone 'UTC' as date), 'PENDING', count(*)
+from orders
+group by 1, 2
+union all
+select tenant_id, cast(changed_at at time zone 'UTC' as date), status, count(*)
+from (
+    select tenant_id, status, changed_at,
+           lag(status) over (partition by id order by source, seq) as previous_status
+    from (
+        select a.id, a.tenant_id, a.status, coalesce(a.updated_at, to_timestamp(r.revtstmp / 1000.0)) as changed_at,
+               0 as source, cast(a.rev as bigint) as seq
+        from orders_aud a
+        join revinfo r on r.rev = a.rev
+        union all
+        select s.order_id, o.tenant_id, s.status, s.updated_at, 1, s.id
+        from order_audit_staging s
+        join orders o on o.id = s.order_id
+    ) history
+) changes
+where status <> 'PENDING' and status is distinct from previous_status
+group by 1, 2, 3;
@@ -0,0 +1,15 @@
+-- Sampled order events with the time of each hop from the commit to the WebSocket broker, behind
+-- GET /api/metrics/notification-traces. The hops happen on different replicas, each of which adds its own stamps to
+-- the row; rows older than smartlogix.notifications.trace.retention-hours are deleted.
+create table notification_traces (
+    event_id uuid not null,
+    tenant_id uuid not null,
+    event_type varchar(255) not null,
+    committed_at timestamp(6) with time zone not null,
+    acknowledged_at timestamp(6) with time zone,
+    consumed_at timestamp(6) with time zone,
+    dispatched_at timestamp(6) with time zone,
+    constraint notification_traces_pkey primary key (event_id)
+);
+
+create index idx_notification_traces_tenant_committed on notification_traces (tenant_id, committed_at);
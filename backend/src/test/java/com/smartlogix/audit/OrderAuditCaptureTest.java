@@ -0,0 +1,92 @@
+package com.smartlogix.audit;
+
+import com.smartlogix.domain.entity.Order;
+import com.smartlogix.domain.enums.OrderStatus;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.ActionQueue;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderAuditCaptureTest {
+
+    private static final String[] PROPERTIES = {"description", "status", "updatedAt", "version"};
+
+    @Mock
+    private EventSource session;
+
+    @Mock
+    private ActionQueue actionQueue;
+
+    @Mock
+    private EntityPersister persister;
+
+    private OrderAuditCapture orderAuditCapture;
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        orderAuditCapture = new OrderAuditCapture(10);
+        order = Order.builder()
+                .id(UUID.randomUUID())
+                .status(OrderStatus.APPROVED)
+                .updatedAt(Instant.now())
+                .build();
+        when(persister.getPropertyNames()).thenReturn(PROPERTIES);
+    }
+
+    @Test
+    void onPostUpdate_shouldSignalTheWriterOnceTheTransactionCommits() throws InterruptedException {
+        when(session.getActionQueue()).thenReturn(actionQueue);
+
+        orderAuditCapture.onPostUpdate(update(1, 2, 3));
+
+        verify(actionQueue).registerProcess(any(BeforeTransactionCompletionProcess.class));
+        ArgumentCaptor<AfterTransactionCompletionProcess> afterCompletion =
+                ArgumentCaptor.forClass(AfterTransactionCompletionProcess.class);
+        verify(actionQueue).registerProcess(afterCompletion.capture());
+        assertThat(orderAuditCapture.awaitCommitted(0, TimeUnit.MILLISECONDS)).isFalse();
+
+        afterCompletion.getValue().doAfterTransactionCompletion(true, session);
+
+        assertThat(orderAuditCapture.awaitCommitted(0, TimeUnit.MILLISECONDS)).isTrue();
+    }
+
+    @Test
+    void onPostUpdate_shouldIgnoreChangesToUnauditedProperties() {
+        orderAuditCapture.onPostUpdate(update(3));
+
+        verifyNoInteractions(session);
+    }
+
+    @Test
+    void onPostUpdate_shouldRejectChangesStagingCannotHold() {
+        assertThatThrownBy(() -> orderAuditCapture.onPostUpdate(update(0, 1)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Order.description");
+
+        verifyNoInteractions(session);
+    }
+
+    private PostUpdateEvent update(int... dirtyProperties) {
+        Object[] state = new Object[PROPERTIES.length];
+        return new PostUpdateEvent(order, order.getId(), state, state.clone(), dirtyProperties, persister, session);
+    }
+}
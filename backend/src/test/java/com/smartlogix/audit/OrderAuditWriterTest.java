@@ -0,0 +1,75 @@
+package com.smartlogix.audit;
+
+import com.smartlogix.domain.entity.OrderAuditStaging;
+import com.smartlogix.domain.repository.OrderAuditStagingRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderAuditWriterTest {
+
+    @Mock
+    private OrderAuditStagingRepository stagingRepository;
+
+    @Mock
+    private OrderAuditCapture orderAuditCapture;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private MeterRegistry meterRegistry;
+    private OrderAuditWriter orderAuditWriter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        orderAuditWriter = new OrderAuditWriter(stagingRepository, orderAuditCapture, transactionTemplate, meterRegistry);
+        ReflectionTestUtils.setField(orderAuditWriter, "batchSize", 500);
+        orderAuditWriter.init();
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<Integer>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void drain_shouldWriteBatchesUntilStagingIsEmpty() {
+        when(stagingRepository.writeAuditRows(500)).thenReturn(500, 120, 0);
+        when(stagingRepository.findFirstByOrderByIdAsc()).thenReturn(Optional.empty());
+
+        assertThat(orderAuditWriter.drain()).isEqualTo(620);
+
+        verify(stagingRepository, times(3)).writeAuditRows(500);
+        assertThat(meterRegistry.get("smartlogix.audit.written").counter().count()).isEqualTo(620);
+        assertThat(orderAuditWriter.lag()).isEqualTo(Duration.ZERO);
+    }
+
+    @Test
+    void drain_shouldReportTheLagOfRowsLeftToAnotherWriter() {
+        // Another replica holds the writer lock, so nothing is written here and the rows stay staged
+        OrderAuditStaging staged = OrderAuditStaging.builder()
+                .capturedAt(Instant.now().minusSeconds(30))
+                .build();
+        when(stagingRepository.writeAuditRows(500)).thenReturn(0);
+        when(stagingRepository.findFirstByOrderByIdAsc()).thenReturn(Optional.of(staged));
+
+        assertThat(orderAuditWriter.drain()).isZero();
+
+        assertThat(orderAuditWriter.lag()).isGreaterThanOrEqualTo(Duration.ofSeconds(30));
+        assertThat(meterRegistry.get("smartlogix.audit.lag").gauge().value()).isGreaterThanOrEqualTo(30);
+    }
+}
@@ -0,0 +1,110 @@
+package com.smartlogix.benchmark;
+
+import com.smartlogix.audit.OrderAuditCapture;
+import com.smartlogix.domain.id.TimeOrderedUuid;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Loads the orders table with random (v4) and with time-ordered (v7) ids and compares insert throughput and primary
+// key size. Run with: mvn test -Dtest=OrderIdInsertBenchmarkTest -Dbenchmark=true [-Dbenchmark.rows=10000000]
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(OrderAuditCapture.class)
+class OrderIdInsertBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 10_000_000);
+    private static final int BATCH_SIZE = 10_000;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:15-alpine"));
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl() + "&reWriteBatchedInserts=true");
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private record Result(String ids, double rowsPerSecond, double lastTenthRowsPerSecond, long primaryKeyBytes) {
+    }
+
+    @Test
+    void timeOrderedIdsShouldKeepThePrimaryKeySmaller() {
+        Result random = load("random", UUID::randomUUID);
+        Result timeOrdered = load("time-ordered", TimeOrderedUuid::next);
+
+        for (Result result : List.of(random, timeOrdered)) {
+            System.out.printf("%s ids, %d rows: %.0f rows/s overall, %.0f rows/s over the last tenth, "
+                            + "primary key %d MB%n", result.ids(), ROWS, result.rowsPerSecond(),
+                    result.lastTenthRowsPerSecond(), result.primaryKeyBytes() / (1024 * 1024));
+        }
+
+        assertThat(timeOrdered.primaryKeyBytes()).isLessThan(random.primaryKeyBytes());
+    }
+
+    private Result load(String name, Supplier<UUID> ids) {
+        jdbcTemplate.execute("truncate table orders cascade");
+        UUID tenantId = seedTenant(name);
+        Timestamp now = Timestamp.from(Instant.now());
+        long started = System.nanoTime();
+        long lastTenthStarted = started;
+        for (int loaded = 0; loaded < ROWS; loaded += BATCH_SIZE) {
+            if (loaded == ROWS - ROWS / 10 / BATCH_SIZE * BATCH_SIZE) {
+                lastTenthStarted = System.nanoTime();
+            }
+            List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+            for (int i = loaded; i < Math.min(loaded + BATCH_SIZE, ROWS); i++) {
+                rows.add(new Object[]{ids.get(), name + "-" + i, tenantId, now, now});
+            }
+            jdbcTemplate.batchUpdate("insert into orders (id, order_number, status, tenant_id, weight, created_at, "
+                    + "updated_at) values (?, ?, 'PENDING', ?, 1.0, ?, ?)", rows);
+        }
+        long finished = System.nanoTime();
+        jdbcTemplate.execute("checkpoint");
+        Long primaryKeyBytes = jdbcTemplate.queryForObject(
+                "select pg_relation_size(conindid) from pg_constraint where conrelid = 'orders'::regclass "
+                        + "and contype = 'p'", Long.class);
+        int lastTenth = ROWS / 10 / BATCH_SIZE * BATCH_SIZE;
+        return new Result(name,
+                ROWS / ((finished - started) / 1e9),
+                lastTenth == 0 ? 0 : lastTenth / ((finished - lastTenthStarted) / 1e9),
+                primaryKeyBytes);
+    }
+
+    private UUID seedTenant(String name) {
+        UUID tenantId = UUID.randomUUID();
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.update("insert into tenants (id, name, slug, active, created_at, updated_at) values (?, ?, ?, true, ?, ?)",
+                tenantId, "bench-" + name, "bench-" + name, now, now);
+        return tenantId;
+    }
+}
@@ -0,0 +1,134 @@
+package com.smartlogix.benchmark;
+
+import com.smartlogix.audit.OrderAuditCapture;
+import com.smartlogix.domain.enums.OrderTextField;
+import com.smartlogix.domain.repository.OrderRepository;
+import com.smartlogix.dto.OrderResponseDTO;
+import com.smartlogix.mapper.OrderMapper;
+import com.smartlogix.mapper.OrderMapperImpl;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Compares heap allocated per list page between the entity + MapStruct path and the projection path.
+// Run with: mvn test -Dtest=OrderListAllocationBenchmarkTest -Dbenchmark=true
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(OrderAuditCapture.class)
+class OrderListAllocationBenchmarkTest {
+
+    private static final int ORDERS = 20_000;
+    private static final int PAGE_SIZE = 50;
+    private static final int PAGES = 200;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:15-alpine"));
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+    }
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final OrderMapper orderMapper = new OrderMapperImpl();
+
+    private UUID tenantId;
+
+    @BeforeEach
+    void seed() {
+        tenantId = UUID.randomUUID();
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.update("insert into tenants (id, name, slug, active, created_at, updated_at) values (?, ?, ?, true, ?, ?)",
+                tenantId, "bench-" + tenantId, "bench-" + tenantId, now, now);
+
+        List<Object[]> rows = new ArrayList<>(ORDERS);
+        String text = "x".repeat(400);
+        for (int i = 0; i < ORDERS; i++) {
+            rows.add(new Object[]{UUID.randomUUID(), "ALLOC-" + tenantId + "-" + i, tenantId, text, text, text, now, now});
+        }
+        jdbcTemplate.batchUpdate("insert into orders (id, order_number, status, tenant_id, description, destination_address, "
+                + "tracking_notes, weight, latitude, longitude, created_at, updated_at) "
+                + "values (?, ?, 'PENDING', ?, ?, ?, ?, 12.5, 51.5, -0.12, ?, ?)", rows);
+    }
+
+    @Test
+    void projectionPathShouldAllocateLessPerPage() {
+        long entityBytes = measure(page -> {
+            List<OrderResponseDTO> dtos = orderRepository.findByTenantId(tenantId, PageRequest.of(page, PAGE_SIZE))
+                    .map(orderMapper::toResponseDTO)
+                    .getContent();
+            assertThat(dtos).hasSize(PAGE_SIZE);
+            entityManager.clear();
+        });
+        long projectionBytes = measure(page -> assertThat(orderRepository
+                .findSummariesByTenantId(tenantId, PageRequest.of(page, PAGE_SIZE))
+                .getContent()).hasSize(PAGE_SIZE));
+        long projectionWithTextBytes = measure(page -> {
+            List<OrderResponseDTO> dtos = orderRepository
+                    .findSummariesByTenantId(tenantId, PageRequest.of(page, PAGE_SIZE))
+                    .getContent();
+            Set<OrderTextField> fields = EnumSet.of(OrderTextField.DESCRIPTION);
+            assertThat(orderRepository.findTextFields(tenantId, dtos.stream().map(OrderResponseDTO::getId).toList(), fields))
+                    .hasSize(PAGE_SIZE);
+        });
+
+        System.out.printf("Allocated bytes per page of %d: entity+mapper=%d, projection=%d, projection+description=%d%n",
+                PAGE_SIZE, entityBytes, projectionBytes, projectionWithTextBytes);
+
+        assertThat(projectionBytes).isLessThan(entityBytes);
+    }
+
+    private long measure(IntConsumer readPage) {
+        for (int page = 0; page < PAGES; page++) {
+            readPage.accept(page % (ORDERS / PAGE_SIZE));
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int page = 0; page < PAGES; page++) {
+            readPage.accept(page % (ORDERS / PAGE_SIZE));
+        }
+        return (threads.getThreadAllocatedBytes(threadId) - before) / PAGES;
+    }
+}
@@ -0,0 +1,75 @@
+package com.smartlogix.controller;
+
+import com.smartlogix.domain.enums.OrderStatus;
+import com.smartlogix.messaging.NotificationLatency;
+import com.smartlogix.security.TenantContext;
+import com.smartlogix.service.OrderLifecycleMetrics;
+import com.smartlogix.service.OrderStatusCounts;
+import com.smartlogix.service.OrderTimeseriesService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MetricsControllerTest {
+
+    @Mock
+    private OrderStatusCounts orderStatusCounts;
+
+    @Mock
+    private OrderTimeseriesService orderTimeseriesService;
+
+    @Mock
+    private OrderLifecycleMetrics orderLifecycleMetrics;
+
+    @Mock
+    private NotificationLatency notificationLatency;
+
+    private MetricsController metricsController;
+
+    @BeforeEach
+    void setUp() {
+        metricsController = new MetricsController(orderStatusCounts, orderTimeseriesService, orderLifecycleMetrics,
+                notificationLatency);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void getSummary_shouldReturnTheTenantsCounts() {
+        UUID tenantId = UUID.randomUUID();
+        TenantContext.set(tenantId);
+        when(orderStatusCounts.getCounts(tenantId)).thenReturn(Map.of(OrderStatus.PENDING, 3L));
+
+        Map<String, Object> summary = metricsController.getSummary().getBody();
+
+        assertThat(summary)
+                .containsEntry("tenantId", tenantId.toString())
+                .containsEntry("ordersByStatus", Map.of(OrderStatus.PENDING, 3L));
+    }
+
+    @Test
+    void getSummary_noTenant_shouldReturnZeroCountsWithoutTouchingTheCounters() {
+        Map<String, Object> summary = metricsController.getSummary().getBody();
+
+        assertThat(summary)
+                .containsEntry("tenantId", "unknown")
+                .containsEntry("ordersByStatus", Arrays.stream(OrderStatus.values())
+                        .collect(Collectors.toMap(status -> status, status -> 0L)));
+        verifyNoInteractions(orderStatusCounts);
+    }
+}
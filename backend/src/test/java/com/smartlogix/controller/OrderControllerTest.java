@@ -0,0 +1,184 @@
+package com.smartlogix.controller;
+
+import com.smartlogix.domain.enums.OrderStatus;
+import com.smartlogix.dto.CursorPageDTO;
+import com.smartlogix.dto.OrderResponseDTO;
+import com.smartlogix.exception.GlobalExceptionHandler;
+import com.smartlogix.service.BulkOrderService;
+import com.smartlogix.service.OrderExportService;
+import com.smartlogix.service.OrderHistoryService;
+import com.smartlogix.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class OrderControllerTest {
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private BulkOrderService bulkOrderService;
+
+    @Mock
+    private OrderExportService orderExportService;
+
+    @Mock
+    private OrderHistoryService orderHistoryService;
+
+    @Mock
+    private JobLauncher jobLauncher;
+
+    @Mock
+    private Job orderImportJob;
+
+    private MockMvc mockMvc;
+    private UUID orderId;
+
+    @BeforeEach
+    void setUp() {
+        orderId = UUID.randomUUID();
+        mockMvc = MockMvcBuilders.standaloneSetup(new OrderController(orderService, bulkOrderService,
+                        orderExportService, orderHistoryService, jobLauncher, orderImportJob))
+                .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void getOrderById_matchingETag_shouldReturnNotModifiedWithoutLoadingTheOrder() throws Exception {
+        when(orderService.getOrderVersion(orderId)).thenReturn(3L);
+
+        mockMvc.perform(get("/api/orders/{id}", orderId)
+                        .header(HttpHeaders.IF_NONE_MATCH, OrderETags.of(orderId, 3)))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, OrderETags.of(orderId, 3)))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andExpect(content().string(""));
+
+        // The mapper is only reached through getOrderById
+        verify(orderService, never()).getOrderById(any());
+    }
+
+    @Test
+    void getOrderById_staleETag_shouldReturnTheOrderWithItsNewETag() throws Exception {
+        when(orderService.getOrderVersion(orderId)).thenReturn(4L);
+        when(orderService.getOrderById(orderId)).thenReturn(order(orderId, 4));
+
+        mockMvc.perform(get("/api/orders/{id}", orderId)
+                        .header(HttpHeaders.IF_NONE_MATCH, OrderETags.of(orderId, 3)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, OrderETags.of(orderId, 4)))
+                .andExpect(jsonPath("$.id").value(orderId.toString()))
+                .andExpect(jsonPath("$.version").value(4));
+    }
+
+    @Test
+    void getOrderById_withoutIfNoneMatch_shouldNotLookUpTheVersionSeparately() throws Exception {
+        when(orderService.getOrderById(orderId)).thenReturn(order(orderId, 2));
+
+        mockMvc.perform(get("/api/orders/{id}", orderId))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, OrderETags.of(orderId, 2)));
+
+        verify(orderService, never()).getOrderVersion(any());
+    }
+
+    @Test
+    void getOrders_shouldAnswerAMatchingETagWithNotModifiedUntilAnOrderOnThePageChanges() throws Exception {
+        Pageable pageable = PageRequest.of(0, 20);
+        when(orderService.getOrders(eq(pageable), any()))
+                .thenReturn(new PageImpl<>(List.of(order(orderId, 1)), pageable, 1))
+                .thenReturn(new PageImpl<>(List.of(order(orderId, 1)), pageable, 1))
+                .thenReturn(new PageImpl<>(List.of(order(orderId, 2)), pageable, 1));
+
+        String etag = mockMvc.perform(get("/api/orders").param("page", "0").param("size", "20"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/orders").param("page", "0").param("size", "20")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        String changed = mockMvc.perform(get("/api/orders").param("page", "0").param("size", "20")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].version").value(2))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(changed).isNotNull().isNotEqualTo(etag);
+    }
+
+    @Test
+    void getOrdersByCursor_shouldAnswerAMatchingETagWithNotModifiedUntilAnOrderOnThePageChanges() throws Exception {
+        when(orderService.getOrdersByCursor(eq(""), anyInt(), any()))
+                .thenReturn(cursorPage(order(orderId, 1)))
+                .thenReturn(cursorPage(order(orderId, 1)))
+                .thenReturn(cursorPage(order(orderId, 2)));
+
+        String etag = mockMvc.perform(get("/api/orders").param("cursor", ""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/orders").param("cursor", "")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        String changed = mockMvc.perform(get("/api/orders").param("cursor", "")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].version").value(2))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(changed).isNotNull().isNotEqualTo(etag);
+    }
+
+    private static CursorPageDTO<OrderResponseDTO> cursorPage(OrderResponseDTO order) {
+        return CursorPageDTO.<OrderResponseDTO>builder()
+                .content(List.of(order))
+                .size(20)
+                .hasNext(false)
+                .build();
+    }
+
+    private static OrderResponseDTO order(UUID id, long version) {
+        return OrderResponseDTO.builder()
+                .id(id)
+                .orderNumber("ORD-1")
+                .status(OrderStatus.PENDING)
+                .weight(new BigDecimal("1.50"))
+                .createdAt(Instant.parse("2026-01-01T00:00:00Z"))
+                .updatedAt(Instant.parse("2026-01-01T00:00:00Z"))
+                .version(version)
+                .build();
+    }
+}
@@ -0,0 +1,83 @@
+package com.smartlogix.controller;
+
+import com.smartlogix.domain.entity.Tenant;
+import com.smartlogix.exception.GlobalExceptionHandler;
+import com.smartlogix.security.TenantContext;
+import com.smartlogix.service.TenantService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class TenantControllerTest {
+
+    @Mock
+    private TenantService tenantService;
+
+    private MockMvc mockMvc;
+    private UUID tenantId;
+
+    @BeforeEach
+    void setUp() {
+        tenantId = UUID.randomUUID();
+        TenantContext.set(tenantId);
+        mockMvc = MockMvcBuilders.standaloneSetup(new TenantController(tenantService))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void setActive_shouldPassTheRequestedFlagToTheService() throws Exception {
+        when(tenantService.setActive(tenantId, false)).thenReturn(Tenant.builder().id(tenantId).active(false).build());
+
+        mockMvc.perform(patch("/api/tenants/{id}/active", tenantId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"active\": false}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tenantId").value(tenantId.toString()))
+                .andExpect(jsonPath("$.active").value(false));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"{}", "{\"active\": null}", "{\"actve\": true}"})
+    void setActive_withoutTheFlag_shouldRejectTheRequestAndLeaveTheTenantAlone(String body) throws Exception {
+        mockMvc.perform(patch("/api/tenants/{id}/active", tenantId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors.active").value("Active flag is required"));
+
+        verify(tenantService, never()).setActive(any(), anyBoolean());
+    }
+
+    @Test
+    void setActive_otherTenant_shouldReturnNotFound() throws Exception {
+        mockMvc.perform(patch("/api/tenants/{id}/active", UUID.randomUUID())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"active\": true}"))
+                .andExpect(status().isNotFound());
+
+        verifyNoInteractions(tenantService);
+    }
+}
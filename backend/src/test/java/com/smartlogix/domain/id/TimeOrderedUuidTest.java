@@ -0,0 +1,52 @@
+package com.smartlogix.domain.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimeOrderedUuidTest {
+
+    // PostgreSQL compares uuid values as unsigned bytes, which Java's UUID.compareTo does not
+    private static final Comparator<UUID> UNSIGNED = Comparator
+            .comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+            .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
+    @Test
+    void next_shouldCarryVersionVariantAndTimestamp() {
+        long millis = Instant.parse("2030-01-01T00:00:00Z").toEpochMilli();
+
+        UUID id = new TimeOrderedUuid().next(millis);
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(TimeOrderedUuid.timestamp(id)).isEqualTo(Instant.ofEpochMilli(millis));
+    }
+
+    @Test
+    void next_shouldIncreaseWithinAMillisecondAndWhenTheClockStepsBack() {
+        long millis = Instant.parse("2030-01-01T00:00:00Z").toEpochMilli();
+        TimeOrderedUuid generator = new TimeOrderedUuid();
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(generator.next(millis));
+        }
+        ids.add(generator.next(millis - 60_000));
+
+        assertThat(ids).isSortedAccordingTo(UNSIGNED).doesNotHaveDuplicates();
+        // 4096 ids per millisecond, after which the timestamp runs ahead of the clock
+        assertThat(TimeOrderedUuid.timestamp(ids.get(ids.size() - 1))).isEqualTo(Instant.ofEpochMilli(millis + 2));
+    }
+
+    @Test
+    void timestamp_randomId_shouldBeRejected() {
+        assertThatThrownBy(() -> TimeOrderedUuid.timestamp(UUID.randomUUID()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,122 @@
+package com.smartlogix.domain.repository;
+
+import com.smartlogix.audit.OrderAuditCapture;
+import com.smartlogix.domain.entity.Order;
+import com.smartlogix.domain.enums.OrderStatus;
+import com.smartlogix.service.GeohashBackfill;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Upgrades a database as the releases before the migrations left it: the V1 schema, created without Flyway, with
+// orders and audit revisions in it. Flyway has to baseline it at V1 and apply every later migration, after which
+// Hibernate validates the mappings as the context starts.
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({GeohashBackfill.class, OrderAuditCapture.class})
+class BaselineSchemaUpgradeTest {
+
+    private static final UUID TENANT_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID LOCATED_ORDER_ID = UUID.fromString("00000000-0000-0000-0000-000000000011");
+    private static final UUID UNLOCATED_ORDER_ID = UUID.fromString("00000000-0000-0000-0000-000000000012");
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"));
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) throws Exception {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        createBaselineDatabase();
+    }
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private GeohashBackfill geohashBackfill;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void migrate_shouldBaselineAnExistingDatabaseAndApplyTheLaterMigrations() {
+        List<Map<String, Object>> history = jdbcTemplate.queryForList(
+                "select version, type, success from flyway_schema_history order by installed_rank");
+        assertThat(history.get(0)).containsEntry("version", "1").containsEntry("type", "BASELINE");
+        assertThat(history).hasSizeGreaterThan(1).allSatisfy(migration -> assertThat(migration).containsEntry("success", true));
+
+        Order located = orderRepository.findById(LOCATED_ORDER_ID).orElseThrow();
+        assertThat(located.getVersion()).isZero();
+        assertThat(located.getStatus()).isEqualTo(OrderStatus.APPROVED);
+
+        // Daily counts are backfilled from the orders and their audit revisions
+        assertThat(jdbcTemplate.queryForList("select status, cast(sum(order_count) as bigint) as order_count "
+                + "from order_daily_counts group by status order by status"))
+                .containsExactly(
+                        Map.of("status", "APPROVED", "order_count", 1L),
+                        Map.of("status", "PENDING", "order_count", 2L));
+    }
+
+    @Test
+    void backfill_shouldFillInGeohashesAndBuildTheGeoGridOfExistingOrders() {
+        geohashBackfill.backfill();
+
+        assertThat(jdbcTemplate.queryForObject("select geohash from orders where id = ?", String.class, LOCATED_ORDER_ID))
+                .hasSize(12);
+        assertThat(jdbcTemplate.queryForObject("select geohash from orders where id = ?", String.class, UNLOCATED_ORDER_ID))
+                .isNull();
+        assertThat(orderRepository.geoGridDrift()).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "select sum(order_count) from order_geo_cells where tenant_id = ? and cell_precision = 1",
+                Long.class, TENANT_ID)).isEqualTo(1L);
+    }
+
+    private static void createBaselineDatabase() throws Exception {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        try (Connection connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/V1__baseline_schema.sql"));
+        }
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.update("insert into tenants (id, name, slug, active, created_at, updated_at) "
+                + "values (?, 'Upgrade', 'upgrade', true, now(), now())", TENANT_ID);
+        jdbc.update("insert into orders (id, order_number, status, tenant_id, latitude, longitude, created_at, updated_at) "
+                + "values (?, 'UP-1', 'APPROVED', ?, 52.37, 4.89, '2024-05-01T09:00:00Z', '2024-05-02T09:00:00Z')",
+                LOCATED_ORDER_ID, TENANT_ID);
+        jdbc.update("insert into orders (id, order_number, status, tenant_id, created_at, updated_at) "
+                + "values (?, 'UP-2', 'PENDING', ?, '2024-05-01T10:00:00Z', '2024-05-01T10:00:00Z')",
+                UNLOCATED_ORDER_ID, TENANT_ID);
+        jdbc.update("insert into revinfo (rev, revtstmp) values (1, 1714554000000), (2, 1714640400000)");
+        jdbc.update("insert into orders_aud (id, rev, revtype, status, tenant_id, order_number, created_at, updated_at) "
+                + "select id, 1, 0, 'PENDING', tenant_id, order_number, created_at, created_at from orders");
+        jdbc.update("insert into orders_aud (id, rev, revtype, status, tenant_id, order_number, created_at, updated_at) "
+                + "select id, 2, 1, status, tenant_id, order_number, created_at, updated_at from orders where id = ?",
+                LOCATED_ORDER_ID);
+    }
+}
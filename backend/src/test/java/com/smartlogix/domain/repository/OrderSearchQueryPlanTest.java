@@ -0,0 +1,185 @@
+package com.smartlogix.domain.repository;
+
+import com.smartlogix.audit.OrderAuditCapture;
+import com.smartlogix.domain.enums.OrderStatus;
+import com.smartlogix.dto.OrderSearchCriteria;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs every search filter combination against a multi-tenant data set and fails if the plan of any
+// generated statement falls back to a sequential scan of orders. Needs PostgreSQL 16 for EXPLAIN (GENERIC_PLAN).
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(OrderAuditCapture.class)
+class OrderSearchQueryPlanTest {
+
+    private static final int TENANTS = 50;
+    private static final int ORDERS_PER_TENANT = 4_000;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"));
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.properties.hibernate.session_factory.statement_inspector",
+                CapturingStatementInspector.class::getName);
+    }
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.datasource.url}")
+    private String jdbcUrl;
+
+    @Value("${spring.datasource.username}")
+    private String username;
+
+    @Value("${spring.datasource.password}")
+    private String password;
+
+    private UUID tenantId;
+
+    // EXPLAIN (GENERIC_PLAN) only accepts $n placeholders over the simple query protocol
+    private JdbcTemplate explainJdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        Properties connectionProperties = new Properties();
+        connectionProperties.setProperty("preferQueryMode", "simple");
+        DriverManagerDataSource explainDataSource = new DriverManagerDataSource(jdbcUrl, username, password);
+        explainDataSource.setConnectionProperties(connectionProperties);
+        explainJdbcTemplate = new JdbcTemplate(explainDataSource);
+
+        jdbcTemplate.update("insert into tenants (id, name, slug, active, created_at, updated_at) "
+                + "select gen_random_uuid(), 'plan-' || g, 'plan-' || g, true, now(), now() "
+                + "from generate_series(1, ?) g", TENANTS);
+        jdbcTemplate.update("insert into orders (id, order_number, status, tenant_id, description, destination_address, "
+                + "weight, latitude, longitude, created_at, updated_at) "
+                + "select gen_random_uuid(), t.slug || '-' || g, "
+                + "(array['PENDING','APPROVED','IN_TRANSIT','SHIPPED','DELIVERED','CANCELLED'])[1 + g % 6], "
+                + "t.id, repeat('d', 200), repeat('a', 120), (g % 5000) / 100.0, 51.5, -0.12, "
+                + "now() - g * interval '7 minutes', now() - g * interval '3 minutes' "
+                + "from tenants t cross join generate_series(1, ?) g", ORDERS_PER_TENANT);
+        jdbcTemplate.execute("vacuum analyze orders");
+        tenantId = jdbcTemplate.queryForObject("select id from tenants limit 1", UUID.class);
+    }
+
+    Stream<Arguments> filterCombinations() {
+        Instant now = Instant.now();
+        return Stream.of(
+                Arguments.of("no filters", new OrderSearchCriteria(), Sort.unsorted()),
+                Arguments.of("single status", OrderSearchCriteria.builder()
+                        .status(EnumSet.of(OrderStatus.PENDING)).build(), Sort.unsorted()),
+                Arguments.of("status set and created range", OrderSearchCriteria.builder()
+                        .status(EnumSet.of(OrderStatus.APPROVED, OrderStatus.IN_TRANSIT))
+                        .createdFrom(now.minus(3, ChronoUnit.DAYS)).createdTo(now.minus(1, ChronoUnit.DAYS))
+                        .build(), Sort.unsorted()),
+                Arguments.of("created range", OrderSearchCriteria.builder()
+                        .createdFrom(now.minus(2, ChronoUnit.DAYS)).createdTo(now).build(), Sort.unsorted()),
+                Arguments.of("updated range sorted by updatedAt", OrderSearchCriteria.builder()
+                        .updatedFrom(now.minus(1, ChronoUnit.DAYS)).updatedTo(now).build(),
+                        Sort.by(Sort.Direction.DESC, "updatedAt")),
+                Arguments.of("weight range sorted by weight", OrderSearchCriteria.builder()
+                        .minWeight(new BigDecimal("10.00")).maxWeight(new BigDecimal("12.50")).build(),
+                        Sort.by("weight")),
+                Arguments.of("status and weight range", OrderSearchCriteria.builder()
+                        .status(EnumSet.of(OrderStatus.SHIPPED))
+                        .minWeight(new BigDecimal("1.00")).maxWeight(new BigDecimal("2.00")).build(), Sort.unsorted()),
+                Arguments.of("all filters", OrderSearchCriteria.builder()
+                        .status(EnumSet.of(OrderStatus.PENDING, OrderStatus.DELIVERED))
+                        .createdFrom(now.minus(10, ChronoUnit.DAYS)).createdTo(now)
+                        .updatedFrom(now.minus(5, ChronoUnit.DAYS)).updatedTo(now)
+                        .minWeight(new BigDecimal("5.00")).maxWeight(new BigDecimal("40.00")).build(), Sort.unsorted())
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("filterCombinations")
+    void searchShouldNotSequentiallyScanOrders(String name, OrderSearchCriteria criteria, Sort sort) {
+        CapturingStatementInspector.STATEMENTS.clear();
+
+        // Page 1 so the count query runs as well
+        orderRepository.search(tenantId, criteria, PageRequest.of(1, 20, sort));
+
+        List<String> statements = List.copyOf(CapturingStatementInspector.STATEMENTS);
+        assertThat(statements).isNotEmpty();
+        for (String sql : statements) {
+            String plan = explainGeneric(sql);
+            assertThat(plan)
+                    .as("plan for %s:%n%s%n%s", name, sql, plan)
+                    .doesNotContain("Seq Scan on orders");
+        }
+    }
+
+    private String explainGeneric(String sql) {
+        StringBuilder numbered = new StringBuilder();
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return explainJdbcTemplate.queryForList("explain (generic_plan) " + numbered, String.class)
+                .stream()
+                .collect(Collectors.joining("\n"));
+    }
+
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.contains("orders")) {
+                STATEMENTS.add(sql);
+            }
+            return sql;
+        }
+    }
+}
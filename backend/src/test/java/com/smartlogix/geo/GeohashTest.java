@@ -0,0 +1,118 @@
+package com.smartlogix.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GeohashTest {
+
+    @Test
+    void encode_shouldMatchReferenceGeohashes() {
+        assertThat(Geohash.encode(57.64911, 10.40744, 11)).isEqualTo("u4pruydqqvj");
+        assertThat(Geohash.encode(42.6, -5.6, 5)).isEqualTo("ezs42");
+        assertThat(Geohash.encode(-90, -180, 3)).isEqualTo("000");
+        assertThat(Geohash.encode(90, 180, 3)).isEqualTo("zzz");
+    }
+
+    @Test
+    void cover_shouldContainEveryPointInsideTheBox() {
+        Random random = new Random(42);
+        for (int i = 0; i < 200; i++) {
+            double west = random.nextDouble() * 350 - 180;
+            double south = random.nextDouble() * 170 - 90;
+            double width = Math.min(180 - west, Math.pow(10, random.nextInt(5) - 3) * (1 + random.nextDouble()));
+            double height = Math.min(90 - south, Math.pow(10, random.nextInt(5) - 3) * (1 + random.nextDouble()));
+            BoundingBox box = new BoundingBox(west, south, west + width, south + height);
+
+            List<Geohash.Range> ranges = Geohash.cover(box, 16);
+
+            assertThat(ranges).hasSizeBetween(1, 16);
+            for (int k = 1; k < ranges.size(); k++) {
+                assertThat(ranges.get(k).from()).isGreaterThanOrEqualTo(ranges.get(k - 1).to());
+            }
+            for (int j = 0; j < 50; j++) {
+                double latitude = box.south() + random.nextDouble() * height;
+                double longitude = box.west() + random.nextDouble() * width;
+                String geohash = Geohash.encode(latitude, longitude, Geohash.MAX_PRECISION);
+                assertThat(ranges).as("%s in %s", geohash, box).anyMatch(range -> range.contains(geohash));
+            }
+            String corner = Geohash.encode(box.north(), box.east(), Geohash.MAX_PRECISION);
+            assertThat(ranges).anyMatch(range -> range.contains(corner));
+        }
+    }
+
+    @Test
+    void cover_shouldMergeCellsThatAreAdjacentOnTheCurve() {
+        List<Geohash.Range> world = Geohash.cover(new BoundingBox(-180, -90, 180, 90), 16);
+
+        assertThat(world).containsExactly(new Geohash.Range("0", "{"));
+    }
+
+    @Test
+    void cover_shouldSplitPartiallyCoveredCellsWithinBudget() {
+        BoundingBox europe = new BoundingBox(-10, 30, 30, 60);
+
+        List<Geohash.Range> ranges = Geohash.cover(europe, 32);
+
+        // A uniform cover needs four 45x45 degree cells here, almost seven times the area of the box; estimate the
+        // area of the refined cover by sampling the region around the box
+        Random random = new Random(7);
+        int samples = 20_000;
+        long covered = 0;
+        for (int i = 0; i < samples; i++) {
+            String geohash = Geohash.encode(random.nextDouble() * 90, random.nextDouble() * 120 - 60, Geohash.MAX_PRECISION);
+            if (ranges.stream().anyMatch(range -> range.contains(geohash))) {
+                covered++;
+            }
+        }
+        double coverArea = 90.0 * 120.0 * covered / samples;
+        assertThat(ranges.size()).isLessThanOrEqualTo(32);
+        assertThat(coverArea / (40 * 30)).isLessThan(1.5);
+    }
+
+    @Test
+    void cover_shouldStayNearTheBoxForSmallViewports() {
+        BoundingBox hamburg = new BoundingBox(9.9, 53.5, 10.1, 53.6);
+
+        List<Geohash.Range> ranges = Geohash.cover(hamburg, 16);
+
+        assertThat(ranges).allSatisfy(range -> assertThat(range.from()).startsWith("u1x"));
+    }
+
+    @Test
+    void cells_shouldListEveryCellIntersectingTheBox() {
+        BoundingBox box = new BoundingBox(9, 53, 11, 54);
+
+        List<String> cells = Geohash.cells(box, 3);
+
+        assertThat(cells).hasSize((int) Geohash.cellCount(box, 3)).contains("u1x").allMatch(cell -> cell.length() == 3);
+        Random random = new Random(3);
+        for (int i = 0; i < 100; i++) {
+            String cell = Geohash.encode(53 + random.nextDouble(), 9 + 2 * random.nextDouble(), 3);
+            assertThat(cells).contains(cell);
+        }
+    }
+
+    @Test
+    void boundingBox_crossingAntimeridian_shouldSplitIntoTwoParts() {
+        BoundingBox pacific = BoundingBox.parse("170,-10,-170,10");
+
+        assertThat(pacific.parts()).containsExactly(
+                new BoundingBox(170, -10, 180, 10), new BoundingBox(-180, -10, -170, 10));
+        assertThat(pacific.contains(0, 175)).isTrue();
+        assertThat(pacific.contains(0, -175)).isTrue();
+        assertThat(pacific.contains(0, 0)).isFalse();
+    }
+
+    @Test
+    void boundingBox_invalid_shouldThrowIllegalStateException() {
+        assertThatThrownBy(() -> BoundingBox.parse("1,2,3")).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> BoundingBox.parse("a,b,c,d")).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> BoundingBox.parse("0,10,1,5")).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> BoundingBox.parse("0,-91,1,5")).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,147 @@
+package com.smartlogix.messaging;
+
+import com.smartlogix.domain.entity.NotificationTrace;
+import com.smartlogix.domain.repository.NotificationTraceRepository;
+import com.smartlogix.dto.NotificationTraceDTO;
+import com.smartlogix.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationLatencyTest {
+
+    @Mock
+    private NotificationTraceRepository notificationTraceRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private MeterRegistry meterRegistry;
+    private NotificationLatency notificationLatency;
+    private UUID tenantId;
+
+    @BeforeEach
+    void setUp() {
+        tenantId = UUID.randomUUID();
+        meterRegistry = new SimpleMeterRegistry();
+        notificationLatency = new NotificationLatency(notificationTraceRepository, transactionTemplate, meterRegistry);
+        ReflectionTestUtils.setField(notificationLatency, "sloMs", 1000L);
+        ReflectionTestUtils.setField(notificationLatency, "queueCapacity", 2);
+        ReflectionTestUtils.setField(notificationLatency, "batchSize", 500);
+        notificationLatency.init();
+    }
+
+    @Test
+    void consumedAndDispatched_shouldTimeEachHopFromTheCommitAndTraceSampledEvents() {
+        doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        OrderEvent event = OrderEvent.builder()
+                .eventId(UUID.randomUUID())
+                .eventType("OrderCreated")
+                .tenantId(tenantId)
+                .timestamp(Instant.now().minusMillis(300))
+                .traced(true)
+                .build();
+
+        notificationLatency.consumed(event);
+        notificationLatency.dispatched(event);
+
+        assertThat(event.getConsumedAt()).isNotNull();
+        assertThat(event.getDispatchedAt()).isAfterOrEqualTo(event.getConsumedAt());
+        assertThat(hop("consume").totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(300);
+        assertThat(hop("end-to-end").totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(300);
+        assertThat(hop("dispatch").count()).isEqualTo(1);
+        assertThat(hop("publish").count()).isZero();
+
+        assertThat(notificationLatency.flush(null)).isEqualTo(1);
+        verify(notificationTraceRepository).addStamps(eq(event.getEventId()), eq(tenantId), eq("OrderCreated"),
+                eq(event.getTimestamp()), isNull(), eq(event.getConsumedAt()), eq(event.getDispatchedAt()));
+    }
+
+    @Test
+    void acknowledged_shouldTimeThePublishHopAndOnlyTraceEventsWithAnId() {
+        Instant committedAt = Instant.now().minusMillis(50);
+        notificationLatency.acknowledged(MessageBuilder.withPayload("{}")
+                .setHeader(NotificationLatency.COMMITTED_AT_HEADER, committedAt.toString())
+                .build());
+        notificationLatency.acknowledged(MessageBuilder.withPayload("{}")
+                .setHeader(NotificationLatency.COMMITTED_AT_HEADER, committedAt.toString())
+                .setHeader(NotificationLatency.EVENT_ID_HEADER, UUID.randomUUID().toString())
+                .setHeader(NotificationLatency.TENANT_ID_HEADER, tenantId.toString())
+                .setHeader(NotificationLatency.EVENT_TYPE_HEADER, "OrderStatusChanged")
+                .build());
+
+        assertThat(hop("publish").count()).isEqualTo(2);
+        assertThat(hop("publish").max(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(50);
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @Test
+    void dispatched_shouldDropStampsPastTheQueueCapacityAndCountThem() {
+        for (int i = 0; i < 3; i++) {
+            OrderEvent event = OrderEvent.builder()
+                    .eventId(UUID.randomUUID())
+                    .eventType("OrderCreated")
+                    .tenantId(tenantId)
+                    .timestamp(Instant.now())
+                    .traced(true)
+                    .build();
+            notificationLatency.consumed(event);
+            notificationLatency.dispatched(event);
+        }
+
+        assertThat(meterRegistry.get("smartlogix.notifications.traces.dropped").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void getTrace_shouldReportHopDurationsAndLeaveMissingHopsEmpty() {
+        UUID eventId = UUID.randomUUID();
+        Instant committedAt = Instant.parse("2026-01-01T00:00:00Z");
+        when(notificationTraceRepository.findByTenantIdAndEventId(tenantId, eventId)).thenReturn(Optional.of(
+                NotificationTrace.builder()
+                        .eventId(eventId)
+                        .tenantId(tenantId)
+                        .eventType("OrderCreated")
+                        .committedAt(committedAt)
+                        .consumedAt(committedAt.plusMillis(40))
+                        .dispatchedAt(committedAt.plusMillis(45))
+                        .build()));
+
+        NotificationTraceDTO trace = notificationLatency.getTrace(tenantId, eventId);
+
+        assertThat(trace.getPublishMillis()).isNull();
+        assertThat(trace.getConsumeMillis()).isEqualTo(40);
+        assertThat(trace.getDispatchMillis()).isEqualTo(5);
+        assertThat(trace.getEndToEndMillis()).isEqualTo(45);
+        assertThatThrownBy(() -> notificationLatency.getTrace(tenantId, UUID.randomUUID()))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private Timer hop(String hop) {
+        return meterRegistry.get("smartlogix.notifications.latency").tag("hop", hop).timer();
+    }
+}
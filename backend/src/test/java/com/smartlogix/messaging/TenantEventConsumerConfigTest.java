@@ -0,0 +1,99 @@
+package com.smartlogix.messaging;
+
+import com.smartlogix.domain.entity.Tenant;
+import com.smartlogix.domain.repository.TenantRepository;
+import com.smartlogix.security.UserPrincipalService;
+import com.smartlogix.service.ActiveTenantCache;
+import com.smartlogix.service.OrderStatusCounts;
+import com.smartlogix.service.OrderTextIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TenantEventConsumerConfigTest {
+
+    @Mock
+    private TenantRepository tenantRepository;
+
+    @Mock
+    private UserPrincipalService userPrincipalService;
+
+    @Mock
+    private OrderTextIndex orderTextIndex;
+
+    @Mock
+    private OrderStatusCounts orderStatusCounts;
+
+    private ActiveTenantCache activeTenantCache;
+    private Consumer<TenantEvent> tenantEventConsumer;
+    private UUID tenantId;
+    private Tenant tenant;
+
+    @BeforeEach
+    void setUp() {
+        tenantId = UUID.randomUUID();
+        tenant = Tenant.builder().id(tenantId).name("Test Tenant").slug("test-tenant").active(true).build();
+        activeTenantCache = new ActiveTenantCache(tenantRepository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(activeTenantCache, "ttlSeconds", 300L);
+        ReflectionTestUtils.setField(activeTenantCache, "maxSize", 100L);
+        ReflectionTestUtils.invokeMethod(activeTenantCache, "init");
+        tenantEventConsumer = new TenantEventConsumerConfig(
+                activeTenantCache, userPrincipalService, orderTextIndex, orderStatusCounts).tenantEventConsumer();
+    }
+
+    @Test
+    void tenantEventConsumer_deactivated_shouldEvictTheCachedTenantOnThisReplica() {
+        // Cached as active before another replica deactivated the tenant
+        when(tenantRepository.findByIdAndActiveTrue(tenantId))
+                .thenReturn(Optional.of(tenant))
+                .thenReturn(Optional.empty());
+        when(tenantRepository.getReferenceById(tenantId)).thenReturn(tenant);
+        assertThat(activeTenantCache.findActiveTenant(tenantId)).isPresent();
+        assertThat(activeTenantCache.findActiveTenant(tenantId)).isPresent();
+
+        tenantEventConsumer.accept(event("TenantDeactivated", false));
+
+        assertThat(activeTenantCache.findActiveTenant(tenantId)).isEmpty();
+        verify(tenantRepository, times(2)).findByIdAndActiveTrue(tenantId);
+        verify(userPrincipalService).evictTenant(tenantId);
+        verify(orderTextIndex).evict(tenantId);
+        verify(orderStatusCounts).evict(tenantId);
+    }
+
+    @Test
+    void tenantEventConsumer_activated_shouldKeepTheTenantsOrderState() {
+        when(tenantRepository.findByIdAndActiveTrue(tenantId))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(tenant));
+        when(tenantRepository.getReferenceById(tenantId)).thenReturn(tenant);
+        assertThat(activeTenantCache.findActiveTenant(tenantId)).isEmpty();
+
+        tenantEventConsumer.accept(event("TenantActivated", true));
+
+        assertThat(activeTenantCache.findActiveTenant(tenantId)).contains(tenant);
+        verify(userPrincipalService).evictTenant(tenantId);
+        verifyNoInteractions(orderTextIndex, orderStatusCounts);
+    }
+
+    private TenantEvent event(String eventType, boolean active) {
+        return TenantEvent.builder()
+                .eventType(eventType)
+                .tenantId(tenantId)
+                .active(active)
+                .timestamp(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,56 @@
+package com.smartlogix.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TextIndexTest {
+
+    @Test
+    void tokens_shouldLowerCaseStripAccentsAndDropSingleCharacters() {
+        assertThat(TextTokenizer.tokens("Müller-Straße 12, 4th floor", null, "Dock B / müller"))
+                .containsExactly("muller", "straße", "12", "4th", "floor", "dock");
+        assertThat(TextTokenizer.tokens("x".repeat(40))).containsExactly("x".repeat(TextTokenizer.MAX_TOKEN_LENGTH));
+        assertThat(TextTokenizer.tokens(" - a ")).isEmpty();
+    }
+
+    @Test
+    void search_shouldMatchEveryPrefixNewestFirst() {
+        TextIndex index = new TextIndex();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        index.put(first, "Fragile glassware", "Hamburg harbour");
+        index.put(second, "Glass panels", "Hamburg airport", "Leave at gate");
+        index.put(third, "Machine parts", "Munich");
+
+        assertThat(index.search(List.of("glas"), 10)).isEqualTo(new TextIndex.Matches(List.of(second, first), 2));
+        assertThat(index.search(List.of("ham", "gate"), 10)).isEqualTo(new TextIndex.Matches(List.of(second), 1));
+        assertThat(index.search(List.of("glas", "munich"), 10).ids()).isEmpty();
+        assertThat(index.search(List.of("ha"), 1)).isEqualTo(new TextIndex.Matches(List.of(second), 2));
+    }
+
+    @Test
+    void put_existingId_shouldReplaceItsTermsAndKeepItsPosition() {
+        TextIndex index = new TextIndex();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        index.put(first, "Berlin");
+        index.put(second, "Berlin");
+        long bytes = index.estimatedBytes();
+
+        index.put(first, "Berlin");
+        assertThat(index.estimatedBytes()).isEqualTo(bytes);
+
+        index.put(first, "Bremen");
+        index.put(second, "Bremen");
+        assertThat(index.search(List.of("berlin"), 10).ids()).isEmpty();
+        assertThat(index.search(List.of("bremen"), 10).ids()).containsExactly(second, first);
+        assertThat(index.termCount()).isEqualTo(1);
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.estimatedBytes()).isEqualTo(bytes);
+    }
+}
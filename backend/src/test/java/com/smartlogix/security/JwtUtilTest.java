@@ -0,0 +1,77 @@
+package com.smartlogix.security;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "TestSecretKeyForSmartLogixJWTTokenGeneration2024XXXXXX";
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = newJwtUtil(SECRET, 3_600_000L);
+    }
+
+    @Test
+    void parseToken_shouldReturnAllClaims() {
+        UUID tenantId = UUID.randomUUID();
+        String token = jwtUtil.generateToken("user@test.com", tenantId, "ROLE_USER");
+
+        JwtClaims claims = jwtUtil.parseToken(token);
+
+        assertThat(claims.email()).isEqualTo("user@test.com");
+        assertThat(claims.tenantId()).isEqualTo(tenantId);
+        assertThat(claims.role()).isEqualTo("ROLE_USER");
+        assertThat(claims.expiresAt()).isNotNull();
+        assertThat(claims.isExpired()).isFalse();
+    }
+
+    @Test
+    void parseToken_repeatedToken_shouldBeServedFromCache() {
+        String token = jwtUtil.generateToken("user@test.com", UUID.randomUUID(), "ROLE_USER");
+
+        JwtClaims first = jwtUtil.parseToken(token);
+        JwtClaims second = jwtUtil.parseToken(token);
+
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void parseToken_tamperedSignature_shouldThrow() {
+        String token = jwtUtil.generateToken("user@test.com", UUID.randomUUID(), "ROLE_USER");
+        JwtUtil otherKey = newJwtUtil("AnotherSecretKeyForSmartLogixJWTTokenGeneration2024YYYYY", 3_600_000L);
+
+        assertThatThrownBy(() -> otherKey.parseToken(token))
+                .isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    void parseToken_expiredToken_shouldThrowAndNotBeCached() {
+        JwtUtil shortLived = newJwtUtil(SECRET, -1_000L);
+        String token = shortLived.generateToken("user@test.com", UUID.randomUUID(), "ROLE_USER");
+
+        assertThatThrownBy(() -> shortLived.parseToken(token))
+                .isInstanceOf(ExpiredJwtException.class);
+        assertThatThrownBy(() -> shortLived.parseToken(token))
+                .isInstanceOf(ExpiredJwtException.class);
+    }
+
+    private static JwtUtil newJwtUtil(String secret, long expirationMs) {
+        JwtUtil util = new JwtUtil();
+        ReflectionTestUtils.setField(util, "secret", secret);
+        ReflectionTestUtils.setField(util, "expirationMs", expirationMs);
+        ReflectionTestUtils.setField(util, "cacheMaxSize", 100L);
+        util.init();
+        return util;
+    }
+}
@@ -0,0 +1,96 @@
+package com.smartlogix.security;
+
+import com.smartlogix.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PasswordHashingServiceTest {
+
+    private PasswordHashingService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void encodeAndMatches_shouldDelegateToEncoder() {
+        service = newService(new BCryptPasswordEncoder(4), 2, 4);
+
+        String hash = service.encode("secret");
+
+        assertThat(service.matches("secret", hash)).isTrue();
+        assertThat(service.matches("wrong", hash)).isFalse();
+    }
+
+    @Test
+    void upgradeEncoding_weakerHash_shouldRequestRehash() {
+        String weakHash = new BCryptPasswordEncoder(4).encode("secret");
+        service = newService(new BCryptPasswordEncoder(5), 1, 1);
+
+        assertThat(service.upgradeEncoding(weakHash)).isTrue();
+        assertThat(service.upgradeEncoding(service.encode("secret"))).isFalse();
+    }
+
+    @Test
+    void encode_saturatedPool_shouldFailFastWithRetryAfter() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blockingEncoder = mock(PasswordEncoder.class);
+        when(blockingEncoder.encode(any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "hash";
+        });
+        service = newService(blockingEncoder, 1, 1);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> service.encode("a"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> service.encode("b"));
+        waitForQueuedTask();
+
+        assertThatThrownBy(() -> service.encode("c"))
+                .isInstanceOf(ServiceOverloadedException.class)
+                .extracting("retryAfterSeconds")
+                .isEqualTo(1L);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hash");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hash");
+    }
+
+    private void waitForQueuedTask() throws InterruptedException {
+        ThreadPoolExecutor executor =
+                (ThreadPoolExecutor) ReflectionTestUtils.getField(service, "executor");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.getQueue().isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static PasswordHashingService newService(PasswordEncoder encoder, int poolSize, int queueCapacity) {
+        PasswordHashingService service = new PasswordHashingService(encoder, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "poolSize", poolSize);
+        ReflectionTestUtils.setField(service, "queueCapacity", queueCapacity);
+        ReflectionTestUtils.setField(service, "retryAfterSeconds", 1L);
+        service.init();
+        return service;
+    }
+}
@@ -0,0 +1,132 @@
+package com.smartlogix.security;
+
+import com.smartlogix.domain.entity.Tenant;
+import com.smartlogix.domain.entity.User;
+import com.smartlogix.domain.enums.UserRole;
+import com.smartlogix.domain.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserPrincipalServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private UUID tenantId;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        tenantId = UUID.randomUUID();
+    }
+
+    @Test
+    void resolve_claimsSource_shouldBuildThePrincipalFromTheTokenWithoutLookup() {
+        UserPrincipalService service = newService("claims");
+
+        TenantUserPrincipal principal = service.resolve(claims("admin@test.com", tenantId, "ROLE_ADMIN"));
+
+        assertThat(principal.getUsername()).isEqualTo("admin@test.com");
+        assertThat(principal.tenantId()).isEqualTo(tenantId);
+        assertThat(principal.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_ADMIN");
+        verifyNoInteractions(userRepository);
+        assertThat(avoided("claims")).isEqualTo(1);
+    }
+
+    @Test
+    void resolve_databaseSource_shouldTakeTheRoleFromTheUserAndLookItUpOnceUntilEvicted() {
+        UserPrincipalService service = newService("database");
+        // Demoted since the token was issued
+        when(userRepository.findByEmail("user@test.com")).thenReturn(Optional.of(user("user@test.com", tenantId, UserRole.ROLE_USER)));
+        JwtClaims claims = claims("user@test.com", tenantId, "ROLE_ADMIN");
+
+        TenantUserPrincipal first = service.resolve(claims);
+        TenantUserPrincipal second = service.resolve(claims);
+
+        assertThat(first.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_USER");
+        assertThat(second).isEqualTo(first);
+        verify(userRepository, times(1)).findByEmail("user@test.com");
+        assertThat(avoided("cache")).isEqualTo(1);
+        assertThat(meterRegistry.get("smartlogix.auth.db.lookups").counter().count()).isEqualTo(1);
+
+        service.evictUser("user@test.com");
+        service.resolve(claims);
+
+        verify(userRepository, times(2)).findByEmail("user@test.com");
+    }
+
+    @Test
+    void resolve_databaseSource_shouldRejectUnknownUsersAndOtherTenants() {
+        UserPrincipalService service = newService("database");
+        when(userRepository.findByEmail("gone@test.com")).thenReturn(Optional.empty());
+        when(userRepository.findByEmail("user@test.com")).thenReturn(Optional.of(user("user@test.com", tenantId, UserRole.ROLE_USER)));
+
+        assertThatThrownBy(() -> service.resolve(claims("gone@test.com", tenantId, "ROLE_USER")))
+                .isInstanceOf(UsernameNotFoundException.class);
+        assertThatThrownBy(() -> service.resolve(claims("user@test.com", UUID.randomUUID(), "ROLE_USER")))
+                .isInstanceOf(UsernameNotFoundException.class);
+    }
+
+    @Test
+    void evictTenant_shouldDropEveryUserOfThatTenantOnly() {
+        UserPrincipalService service = newService("database");
+        UUID otherTenantId = UUID.randomUUID();
+        when(userRepository.findByEmail("a@test.com")).thenReturn(Optional.of(user("a@test.com", tenantId, UserRole.ROLE_USER)));
+        when(userRepository.findByEmail("b@test.com")).thenReturn(Optional.of(user("b@test.com", tenantId, UserRole.ROLE_ADMIN)));
+        when(userRepository.findByEmail("c@test.com")).thenReturn(Optional.of(user("c@test.com", otherTenantId, UserRole.ROLE_USER)));
+        service.resolve(claims("a@test.com", tenantId, "ROLE_USER"));
+        service.resolve(claims("b@test.com", tenantId, "ROLE_ADMIN"));
+        service.resolve(claims("c@test.com", otherTenantId, "ROLE_USER"));
+
+        service.evictTenant(tenantId);
+        service.resolve(claims("a@test.com", tenantId, "ROLE_USER"));
+        service.resolve(claims("b@test.com", tenantId, "ROLE_ADMIN"));
+        service.resolve(claims("c@test.com", otherTenantId, "ROLE_USER"));
+
+        verify(userRepository, times(2)).findByEmail("a@test.com");
+        verify(userRepository, times(2)).findByEmail("b@test.com");
+        verify(userRepository, times(1)).findByEmail("c@test.com");
+    }
+
+    private UserPrincipalService newService(String principalSource) {
+        UserPrincipalService service = new UserPrincipalService(userRepository, meterRegistry);
+        ReflectionTestUtils.setField(service, "principalSourceName", principalSource);
+        ReflectionTestUtils.setField(service, "cacheTtlSeconds", 300L);
+        ReflectionTestUtils.setField(service, "cacheMaxSize", 100L);
+        service.init();
+        return service;
+    }
+
+    private double avoided(String source) {
+        return meterRegistry.get("smartlogix.auth.db.lookups.avoided").tag("source", source).counter().count();
+    }
+
+    private static JwtClaims claims(String email, UUID tenantId, String role) {
+        return new JwtClaims(email, tenantId, role, Instant.now().plusSeconds(3600));
+    }
+
+    private static User user(String email, UUID tenantId, UserRole role) {
+        return User.builder()
+                .email(email)
+                .role(role)
+                .tenant(Tenant.builder().id(tenantId).build())
+                .build();
+    }
+}
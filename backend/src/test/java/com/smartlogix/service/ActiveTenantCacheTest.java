@@ -0,0 +1,96 @@
+package com.smartlogix.service;
+
+import com.smartlogix.config.BatchConfig;
+import com.smartlogix.domain.entity.Order;
+import com.smartlogix.domain.entity.Tenant;
+import com.smartlogix.domain.repository.OrderRepository;
+import com.smartlogix.domain.repository.TenantRepository;
+import com.smartlogix.exception.ResourceNotFoundException;
+import com.smartlogix.security.TenantContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.item.Chunk;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ActiveTenantCacheTest {
+
+    @Mock
+    private TenantRepository tenantRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    private ActiveTenantCache activeTenantCache;
+    private UUID tenantId;
+    private Tenant tenant;
+
+    @BeforeEach
+    void setUp() {
+        tenantId = UUID.randomUUID();
+        tenant = Tenant.builder().id(tenantId).name("Test Tenant").slug("test-tenant").active(true).build();
+        activeTenantCache = new ActiveTenantCache(tenantRepository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(activeTenantCache, "ttlSeconds", 300L);
+        ReflectionTestUtils.setField(activeTenantCache, "maxSize", 100L);
+        activeTenantCache.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void requireActiveTenant_cachedInactiveTenant_shouldRejectOrderWritesWithoutQueryingAgain() {
+        when(tenantRepository.findByIdAndActiveTrue(tenantId)).thenReturn(Optional.empty());
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> activeTenantCache.requireActiveTenant(tenantId))
+                    .isInstanceOf(ResourceNotFoundException.class);
+        }
+
+        verify(tenantRepository, times(1)).findByIdAndActiveTrue(tenantId);
+        verify(tenantRepository, never()).getReferenceById(any());
+    }
+
+    @Test
+    void orderItemWriter_cachedInactiveTenant_shouldRejectImportedChunks() {
+        when(tenantRepository.findByIdAndActiveTrue(tenantId)).thenReturn(Optional.empty());
+        activeTenantCache.findActiveTenant(tenantId);
+        BatchConfig batchConfig = new BatchConfig(null, null, orderRepository, activeTenantCache, null, null, null, null);
+        TenantContext.set(tenantId);
+
+        assertThatThrownBy(() -> batchConfig.orderItemWriter().write(Chunk.of(new Order())))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Active tenant not found");
+
+        verifyNoInteractions(orderRepository);
+        verify(tenantRepository, times(1)).findByIdAndActiveTrue(tenantId);
+    }
+
+    @Test
+    void evict_shouldLetTheNextLookupSeeTheTenantActivated() {
+        when(tenantRepository.findByIdAndActiveTrue(tenantId))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(tenant));
+        when(tenantRepository.getReferenceById(tenantId)).thenReturn(tenant);
+        assertThat(activeTenantCache.findActiveTenant(tenantId)).isEmpty();
+
+        activeTenantCache.evict(tenantId);
+
+        assertThat(activeTenantCache.requireActiveTenant(tenantId)).isSameAs(tenant);
+        verify(tenantRepository, times(2)).findByIdAndActiveTrue(tenantId);
+    }
+}
@@ -0,0 +1,143 @@
+package com.smartlogix.service;
+
+import com.smartlogix.domain.entity.Order;
+import com.smartlogix.domain.entity.Tenant;
+import com.smartlogix.domain.repository.OrderRepository;
+import com.smartlogix.domain.repository.UserRepository;
+import com.smartlogix.dto.BulkOrderItemResultDTO;
+import com.smartlogix.dto.BulkOrderItemResultDTO.Outcome;
+import com.smartlogix.dto.BulkOrderResultDTO;
+import com.smartlogix.dto.OrderRequestDTO;
+import com.smartlogix.mapper.OrderMapper;
+import com.smartlogix.messaging.OrderEventProducer;
+import com.smartlogix.security.TenantContext;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkOrderServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ActiveTenantCache activeTenantCache;
+
+    @Mock
+    private OrderMapper orderMapper;
+
+    @Mock
+    private OrderEventProducer orderEventProducer;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Captor
+    private ArgumentCaptor<List<Order>> published;
+
+    private BulkOrderService bulkOrderService;
+    private UUID tenantId;
+    private Tenant tenant;
+
+    @BeforeEach
+    void setUp() {
+        tenantId = UUID.randomUUID();
+        TenantContext.set(tenantId);
+        tenant = Tenant.builder().id(tenantId).name("Test Tenant").slug("test-tenant").active(true).build();
+
+        bulkOrderService = new BulkOrderService(
+                orderRepository,
+                userRepository,
+                activeTenantCache,
+                orderMapper,
+                orderEventProducer,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new TransactionTemplate(transactionManager)
+        );
+        ReflectionTestUtils.setField(bulkOrderService, "maxBulkSize", 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void createOrders_shouldReportPerItemOutcomes() {
+        List<OrderRequestDTO> requests = List.of(
+                request("ORD-1"),
+                request(""),
+                request("ORD-1"),
+                request("ORD-EXISTING"),
+                request("ORD-2")
+        );
+
+        when(orderRepository.findExistingOrderNumbers(anyCollection())).thenReturn(List.of("ORD-EXISTING"));
+        when(activeTenantCache.requireActiveTenant(tenantId)).thenReturn(tenant);
+        when(orderMapper.toEntity(any(OrderRequestDTO.class))).thenAnswer(invocation -> {
+            OrderRequestDTO dto = invocation.getArgument(0);
+            return Order.builder().orderNumber(dto.getOrderNumber()).build();
+        });
+        when(orderRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Order> orders = invocation.getArgument(0);
+            orders.forEach(order -> order.setId(UUID.randomUUID()));
+            return orders;
+        });
+
+        BulkOrderResultDTO result = bulkOrderService.createOrders(requests);
+
+        assertThat(result.getCreated()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(3);
+        assertThat(result.getResults()).extracting(BulkOrderItemResultDTO::getOutcome).containsExactly(
+                Outcome.CREATED, Outcome.INVALID, Outcome.DUPLICATE, Outcome.DUPLICATE, Outcome.CREATED);
+        assertThat(result.getResults().get(0).getOrderId()).isNotNull();
+
+        verify(orderEventProducer).publishOrderEvents(published.capture(), eq("OrderCreated"));
+        assertThat(published.getValue()).extracting(Order::getOrderNumber).containsExactlyInAnyOrder("ORD-1", "ORD-2");
+        verify(orderRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    void createOrders_tooManyOrders_shouldThrowIllegalStateException() {
+        List<OrderRequestDTO> requests = IntStream.range(0, 11)
+                .mapToObj(i -> request("ORD-" + i))
+                .toList();
+
+        assertThatThrownBy(() -> bulkOrderService.createOrders(requests))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("maximum is 10");
+        verifyNoInteractions(orderRepository);
+    }
+
+    private static OrderRequestDTO request(String orderNumber) {
+        return OrderRequestDTO.builder()
+                .orderNumber(orderNumber)
+                .description("Bulk order")
+                .build();
+    }
+}
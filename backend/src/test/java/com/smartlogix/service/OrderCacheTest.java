@@ -0,0 +1,125 @@
+package com.smartlogix.service;
+
+import com.smartlogix.dto.OrderResponseDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private OrderCache orderCache;
+    private UUID premiumTenant;
+    private UUID standardTenant;
+
+    @BeforeEach
+    void setUp() {
+        premiumTenant = UUID.randomUUID();
+        standardTenant = UUID.randomUUID();
+
+        TenantTierResolver tenantTierResolver = new TenantTierResolver();
+        ReflectionTestUtils.setField(tenantTierResolver, "premiumTenants", Set.of(premiumTenant));
+
+        meterRegistry = new SimpleMeterRegistry();
+        orderCache = new OrderCache(meterRegistry, tenantTierResolver);
+        ReflectionTestUtils.setField(orderCache, "ttlSeconds", 60L);
+        ReflectionTestUtils.setField(orderCache, "maxSize", 100L);
+        orderCache.init();
+    }
+
+    @Test
+    void get_concurrentMisses_shouldLoadOnce() throws Exception {
+        UUID orderId = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            Future<OrderResponseDTO> first = executor.submit(() -> orderCache.get(standardTenant, orderId, () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return OrderResponseDTO.builder().id(orderId).build();
+            }));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+            List<Future<OrderResponseDTO>> waiters = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                waiters.add(executor.submit(() -> orderCache.get(standardTenant, orderId, () -> {
+                    loads.incrementAndGet();
+                    return OrderResponseDTO.builder().id(orderId).build();
+                })));
+            }
+            release.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS).getId()).isEqualTo(orderId);
+            for (Future<OrderResponseDTO> waiter : waiters) {
+                assertThat(waiter.get(5, TimeUnit.SECONDS)).isSameAs(first.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(loads).hasValue(1);
+        assertThat(requests("standard", "miss")).isEqualTo(1.0);
+        assertThat(requests("standard", "hit")).isEqualTo(7.0);
+    }
+
+    @Test
+    void evict_shouldForceReloadAndCountByTier() {
+        UUID orderId = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+
+        orderCache.get(premiumTenant, orderId, () -> load(orderId, loads));
+        orderCache.get(premiumTenant, orderId, () -> load(orderId, loads));
+        orderCache.evict(premiumTenant, List.of(orderId));
+        orderCache.get(premiumTenant, orderId, () -> load(orderId, loads));
+
+        assertThat(loads).hasValue(2);
+        assertThat(requests("premium", "miss")).isEqualTo(2.0);
+        assertThat(requests("premium", "hit")).isEqualTo(1.0);
+    }
+
+    @Test
+    void get_shouldNotShareEntriesAcrossTenants() {
+        UUID orderId = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+
+        orderCache.get(premiumTenant, orderId, () -> load(orderId, loads));
+        orderCache.get(standardTenant, orderId, () -> load(orderId, loads));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    private OrderResponseDTO load(UUID orderId, AtomicInteger loads) {
+        loads.incrementAndGet();
+        return OrderResponseDTO.builder().id(orderId).build();
+    }
+
+    private double requests(String tier, String result) {
+        return meterRegistry.counter("smartlogix.orders.cache.requests", "tier", tier, "result", result).count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
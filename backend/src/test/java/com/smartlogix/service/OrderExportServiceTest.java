@@ -0,0 +1,183 @@
+package com.smartlogix.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartlogix.config.BatchConfig;
+import com.smartlogix.domain.entity.Order;
+import com.smartlogix.domain.entity.Tenant;
+import com.smartlogix.domain.enums.OrderExportFormat;
+import com.smartlogix.domain.repository.OrderRepository;
+import com.smartlogix.dto.OrderCsvRecord;
+import com.smartlogix.mapper.OrderMapperImpl;
+import com.smartlogix.security.TenantContext;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.file.FlatFileItemReader;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderExportServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private OrderExportService orderExportService;
+    private UUID tenantId;
+    private Tenant tenant;
+
+    @BeforeEach
+    void setUp() {
+        tenantId = UUID.randomUUID();
+        TenantContext.set(tenantId);
+        tenant = Tenant.builder().id(tenantId).name("Test Tenant").slug("test-tenant").active(true).build();
+
+        orderExportService = new OrderExportService(
+                orderRepository, new OrderMapperImpl(), objectMapper, entityManager, transactionManager);
+        orderExportService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void export_csv_shouldRoundTripThroughImportReader(@TempDir Path dir) throws Exception {
+        List<Order> orders = List.of(
+                order("ORD-1", "Plain description", "1 Main Street", new BigDecimal("12.50")),
+                order("ORD-2", "Pallets, \"fragile\"", "Dock 4, Hamburg\nGermany", new BigDecimal("1E+3")),
+                order("ORD-3", null, null, null));
+        when(orderRepository.streamByTenantId(tenantId)).thenReturn(orders.stream());
+
+        Path file = dir.resolve("orders.csv");
+        Files.write(file, export(OrderExportFormat.CSV));
+
+        List<OrderCsvRecord> imported = readWithImportReader(file);
+
+        assertThat(imported).extracting(OrderCsvRecord::getOrderNumber).containsExactly("ORD-1", "ORD-2", "ORD-3");
+        assertThat(imported.get(0).getDescription()).isEqualTo("Plain description");
+        assertThat(imported.get(0).getWeight()).isEqualTo("12.50");
+        assertThat(imported.get(1).getDescription()).isEqualTo("Pallets, \"fragile\"");
+        assertThat(imported.get(1).getDestinationAddress()).isEqualTo("Dock 4, Hamburg\nGermany");
+        assertThat(imported.get(1).getWeight()).isEqualTo("1000");
+        assertThat(imported.get(2).getDescription()).isEmpty();
+        assertThat(imported.get(2).getWeight()).isEmpty();
+    }
+
+    @Test
+    void export_ndjson_shouldWriteOneOrderPerLine() throws Exception {
+        when(orderRepository.streamByTenantId(tenantId)).thenReturn(Stream.of(
+                order("ORD-1", "First", "Address 1", BigDecimal.ONE),
+                order("ORD-2", "Second", "Address 2", BigDecimal.TEN)));
+
+        String[] lines = new String(export(OrderExportFormat.NDJSON), StandardCharsets.UTF_8).split("\n");
+
+        assertThat(lines).hasSize(2);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("orderNumber").asText()).isEqualTo("ORD-1");
+        assertThat(first.get("tenantId").asText()).isEqualTo(tenantId.toString());
+        assertThat(objectMapper.readTree(lines[1]).get("description").asText()).isEqualTo("Second");
+    }
+
+    @Test
+    void export_clientDisconnect_shouldCloseCursorAndRollBack() {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(orderRepository.streamByTenantId(tenantId)).thenReturn(Stream.generate(
+                        () -> order("ORD-" + UUID.randomUUID(), "Description", "Address", BigDecimal.ONE))
+                .onClose(() -> closed.set(true)));
+        OutputStream disconnected = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        assertThatThrownBy(() -> orderExportService.export(OrderExportFormat.CSV).writeTo(disconnected))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Broken pipe");
+        assertThat(closed).isTrue();
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+    }
+
+    @Test
+    void export_shouldClearPersistenceContextEveryFetch() throws Exception {
+        int rows = OrderRepository.EXPORT_FETCH_SIZE * 2 + 1;
+        when(orderRepository.streamByTenantId(tenantId)).thenReturn(Stream.generate(
+                () -> order("ORD-" + UUID.randomUUID(), null, null, null)).limit(rows));
+
+        export(OrderExportFormat.NDJSON);
+
+        verify(entityManager, times(2)).clear();
+    }
+
+    private byte[] export(OrderExportFormat format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        orderExportService.export(format).writeTo(out);
+        return out.toByteArray();
+    }
+
+    private List<OrderCsvRecord> readWithImportReader(Path file) throws Exception {
+        FlatFileItemReader<OrderCsvRecord> reader = new BatchConfig(null, null, null, null, null, null, null, null)
+                .orderCsvItemReader(file.toString());
+        reader.afterPropertiesSet();
+        reader.open(new ExecutionContext());
+        try {
+            List<OrderCsvRecord> records = new ArrayList<>();
+            for (OrderCsvRecord record = reader.read(); record != null; record = reader.read()) {
+                records.add(record);
+            }
+            return records;
+        } finally {
+            reader.close();
+        }
+    }
+
+    private Order order(String orderNumber, String description, String destinationAddress, BigDecimal weight) {
+        Instant now = Instant.now();
+        return Order.builder()
+                .id(UUID.randomUUID())
+                .orderNumber(orderNumber)
+                .description(description)
+                .destinationAddress(destinationAddress)
+                .weight(weight)
+                .tenant(tenant)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+}
@@ -0,0 +1,122 @@
+package com.smartlogix.service;
+
+import com.smartlogix.domain.enums.OrderStatus;
+import com.smartlogix.domain.repository.OrderRepository;
+import com.smartlogix.dto.OrderFieldChangeDTO;
+import com.smartlogix.dto.OrderHistoryDTO;
+import com.smartlogix.exception.ResourceNotFoundException;
+import com.smartlogix.security.TenantContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.Tuple;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.history.RevisionMetadata;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderHistoryServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    private OrderHistoryService orderHistoryService;
+    private UUID tenantId;
+    private UUID orderId;
+
+    @BeforeEach
+    void setUp() {
+        tenantId = UUID.randomUUID();
+        orderId = UUID.randomUUID();
+        TenantContext.set(tenantId);
+        orderHistoryService = new OrderHistoryService(orderRepository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(orderHistoryService, "cacheMaxSize", 100L);
+        orderHistoryService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void getOrderHistory_shouldDiffEachRevisionAgainstTheOneBefore() {
+        // A page of two revisions of an order with three, so the oldest one is only read to diff against
+        List<Tuple> rows = List.of(
+                revision(3, 1, "APPROVED", "Fragile", "3.00", 3, "APPROVED"),
+                revision(2, 1, "APPROVED", "Glass", "3.00", 3, "APPROVED"),
+                revision(1, 0, "PENDING", "Glass", "3.00", 3, "APPROVED"));
+        when(orderRepository.findHistory(tenantId, orderId, 0, 3)).thenReturn(rows);
+
+        OrderHistoryDTO history = orderHistoryService.getOrderHistory(orderId, PageRequest.of(0, 2));
+
+        assertThat(history.getEntries()).hasSize(2);
+        assertThat(history.getEntries().get(0).getChanges())
+                .containsExactly(new OrderFieldChangeDTO("description", "Glass", "Fragile"));
+        assertThat(history.getEntries().get(1).getType()).isEqualTo(RevisionMetadata.RevisionType.UPDATE);
+        assertThat(history.getEntries().get(1).getChanges())
+                .containsExactly(new OrderFieldChangeDTO("status", "PENDING", "APPROVED"));
+        assertThat(history.getTotalEntries()).isEqualTo(3);
+        assertThat(history.isHasNext()).isTrue();
+        assertThat(history.isClosed()).isFalse();
+    }
+
+    @Test
+    void getOrderHistory_closedOrder_shouldBeServedFromCache() {
+        List<Tuple> rows = List.of(
+                revision(2, 1, "CANCELLED", null, "1.00", 2, "CANCELLED"),
+                revision(1, 0, "PENDING", null, "1.00", 2, "CANCELLED"));
+        when(orderRepository.findHistory(tenantId, orderId, 0, 21)).thenReturn(rows);
+
+        OrderHistoryDTO first = orderHistoryService.getOrderHistory(orderId, PageRequest.of(0, 20));
+        OrderHistoryDTO second = orderHistoryService.getOrderHistory(orderId, PageRequest.of(0, 20));
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.isClosed()).isTrue();
+        assertThat(first.getCurrentStatus()).isEqualTo(OrderStatus.CANCELLED);
+        assertThat(first.getEntries().get(1).getType()).isEqualTo(RevisionMetadata.RevisionType.INSERT);
+        assertThat(first.getEntries().get(1).getChanges())
+                .extracting(OrderFieldChangeDTO::getField)
+                .containsExactly("orderNumber", "status", "weight");
+        verify(orderRepository, times(1)).findHistory(tenantId, orderId, 0, 21);
+    }
+
+    @Test
+    void getOrderHistory_unknownOrder_shouldThrowNotFound() {
+        when(orderRepository.findHistory(eq(tenantId), eq(orderId), anyLong(), anyInt())).thenReturn(List.of());
+
+        assertThatThrownBy(() -> orderHistoryService.getOrderHistory(orderId, PageRequest.of(0, 20)))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private Tuple revision(int rev, int revtype, String status, String description, String weight, long total,
+                           String currentStatus) {
+        Map<String, Object> values = new HashMap<>();
+        values.put("rev", rev);
+        values.put("revtype", (short) revtype);
+        values.put("revtstmp", 1_700_000_000_000L + rev);
+        values.put("order_number", "ORD-1");
+        values.put("status", status);
+        values.put("description", description);
+        values.put("weight", new BigDecimal(weight));
+        values.put("total", total);
+        values.put("current_status", currentStatus);
+        return mock(Tuple.class, invocation -> values.get(invocation.<String>getArgument(0)));
+    }
+}
@@ -0,0 +1,106 @@
+package com.smartlogix.service;
+
+import com.smartlogix.domain.enums.OrderStatus;
+import com.smartlogix.domain.repository.OrderRepositoryCustom.StatusChange;
+import com.smartlogix.dto.OrderLifecycleDTO;
+import com.smartlogix.dto.OrderLifecycleStageDTO;
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.assertj.core.api.Assertions.within;
+
+class OrderLifecycleMetricsTest {
+
+    private MockClock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private OrderLifecycleMetrics orderLifecycleMetrics;
+    private UUID premiumTenant;
+    private UUID standardTenant;
+
+    @BeforeEach
+    void setUp() {
+        premiumTenant = UUID.randomUUID();
+        standardTenant = UUID.randomUUID();
+
+        TenantTierResolver tenantTierResolver = new TenantTierResolver();
+        ReflectionTestUtils.setField(tenantTierResolver, "premiumTenants", Set.of(premiumTenant));
+
+        clock = new MockClock();
+        meterRegistry = new SimpleMeterRegistry(SimpleConfig.DEFAULT, clock);
+        orderLifecycleMetrics = new OrderLifecycleMetrics(meterRegistry, tenantTierResolver);
+        ReflectionTestUtils.setField(orderLifecycleMetrics, "windowMinutes", 60L);
+        ReflectionTestUtils.setField(orderLifecycleMetrics, "windowBufferLength", 3);
+        ReflectionTestUtils.setField(orderLifecycleMetrics, "maxTenants", 100L);
+        orderLifecycleMetrics.init();
+    }
+
+    @Test
+    void recordTransition_shouldReportPercentilesPerTenantAndStep() {
+        Instant now = Instant.now();
+        // 100 approvals taking 1 to 100 minutes
+        for (int minutes = 1; minutes <= 100; minutes++) {
+            orderLifecycleMetrics.recordTransition(premiumTenant, OrderStatus.APPROVED, now,
+                    new StatusChange(OrderStatus.PENDING, now.minus(Duration.ofMinutes(minutes)), now.minusSeconds(86400)));
+        }
+        orderLifecycleMetrics.recordTransition(standardTenant, OrderStatus.CANCELLED, now,
+                new StatusChange(OrderStatus.PENDING, now.minusSeconds(30), now.minusSeconds(30)));
+
+        OrderLifecycleDTO lifecycle = orderLifecycleMetrics.getLifecycle(premiumTenant);
+
+        assertThat(lifecycle.getStages())
+                .extracting(OrderLifecycleStageDTO::getFrom, OrderLifecycleStageDTO::getTo, OrderLifecycleStageDTO::getCount)
+                .containsExactly(tuple("PENDING", "APPROVED", 100L));
+        OrderLifecycleStageDTO approval = lifecycle.getStages().get(0);
+        // The histograms keep one significant digit, within about 7%
+        assertThat(approval.getP50Seconds()).isCloseTo(50 * 60, within(50 * 60 * 0.07));
+        assertThat(approval.getP95Seconds()).isCloseTo(95 * 60, within(95 * 60 * 0.07));
+        assertThat(approval.getP99Seconds()).isCloseTo(99 * 60, within(99 * 60 * 0.07));
+
+        Timer premiumApprovals = meterRegistry.get("smartlogix.orders.lifecycle.status-time")
+                .tags("tier", TenantTierResolver.PREMIUM, "from", "PENDING", "to", "APPROVED")
+                .timer();
+        assertThat(premiumApprovals.count()).isEqualTo(100);
+        assertThat(meterRegistry.get("smartlogix.orders.lifecycle.status-time")
+                .tags("tier", TenantTierResolver.STANDARD, "from", "PENDING", "to", "CANCELLED")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void recordTransition_delivered_shouldAlsoRecordLeadTimeFromCreation() {
+        Instant now = Instant.now();
+        orderLifecycleMetrics.recordTransition(standardTenant, OrderStatus.DELIVERED, now,
+                new StatusChange(OrderStatus.SHIPPED, now.minus(Duration.ofHours(5)), now.minus(Duration.ofDays(2))));
+
+        assertThat(orderLifecycleMetrics.getLifecycle(standardTenant).getStages())
+                .extracting(OrderLifecycleStageDTO::getFrom, OrderLifecycleStageDTO::getTo)
+                .containsExactly(tuple("SHIPPED", "DELIVERED"), tuple(OrderLifecycleMetrics.CREATED, "DELIVERED"));
+        assertThat(meterRegistry.get("smartlogix.orders.lifecycle.lead-time")
+                .tag("tier", TenantTierResolver.STANDARD)
+                .timer().totalTime(TimeUnit.HOURS)).isEqualTo(48.0);
+    }
+
+    @Test
+    void getLifecycle_shouldDropStepsWithoutOrdersInTheWindow() {
+        Instant now = Instant.now();
+        orderLifecycleMetrics.recordTransition(standardTenant, OrderStatus.APPROVED, now,
+                new StatusChange(OrderStatus.PENDING, now.minusSeconds(60), now.minusSeconds(60)));
+
+        clock.add(Duration.ofMinutes(90));
+
+        assertThat(orderLifecycleMetrics.getLifecycle(standardTenant).getStages()).isEmpty();
+        assertThat(orderLifecycleMetrics.getLifecycle(premiumTenant).getStages()).isEmpty();
+    }
+}
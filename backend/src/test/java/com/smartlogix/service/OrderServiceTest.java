@@ -4,32 +4,71 @@ import com.smartlogix.domain.entity.Order;
 import com.smartlogix.domain.entity.Tenant;
 import com.smartlogix.domain.entity.User;
 import com.smartlogix.domain.enums.OrderStatus;
+import com.smartlogix.domain.enums.OrderTextField;
 import com.smartlogix.domain.enums.UserRole;
+import com.smartlogix.domain.repository.OrderGeoCellRepository;
 import com.smartlogix.domain.repository.OrderRepository;
-import com.smartlogix.domain.repository.TenantRepository;
+import com.smartlogix.domain.repository.OrderRepositoryCustom.StatusChange;
 import com.smartlogix.domain.repository.UserRepository;
+import com.smartlogix.dto.BulkStatusUpdateFailureDTO;
+import com.smartlogix.dto.BulkStatusUpdateResultDTO;
+import com.smartlogix.dto.CursorPageDTO;
+import com.smartlogix.dto.OrderClusterDTO;
+import com.smartlogix.dto.OrderClusterResultDTO;
+import com.smartlogix.dto.OrderLocationDTO;
+import com.smartlogix.dto.OrderLocationResultDTO;
 import com.smartlogix.dto.OrderRequestDTO;
 import com.smartlogix.dto.OrderResponseDTO;
+import com.smartlogix.dto.OrderSearchCriteria;
+import com.smartlogix.dto.OrderTextSearchResultDTO;
+import com.smartlogix.exception.ConcurrentUpdateException;
 import com.smartlogix.exception.ResourceNotFoundException;
+import com.smartlogix.geo.BoundingBox;
 import com.smartlogix.mapper.OrderMapper;
 import com.smartlogix.messaging.OrderEventProducer;
+import com.smartlogix.messaging.OrderNotifier;
+import com.smartlogix.search.TextIndex;
 import com.smartlogix.security.TenantContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.Tuple;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,7 +78,16 @@ class OrderServiceTest {
     private OrderRepository orderRepository;
 
     @Mock
-    private TenantRepository tenantRepository;
+    private OrderGeoCellRepository orderGeoCellRepository;
+
+    @Mock
+    private ActiveTenantCache activeTenantCache;
+
+    @Mock
+    private OrderCache orderCache;
+
+    @Mock
+    private OrderTextIndex orderTextIndex;
 
     @Mock
     private UserRepository userRepository;
@@ -51,7 +99,13 @@ class OrderServiceTest {
     private OrderEventProducer orderEventProducer;
 
     @Mock
-    private SimpMessagingTemplate messagingTemplate;
+    private OrderLifecycleMetrics orderLifecycleMetrics;
+
+    @Mock
+    private OrderNotifier orderNotifier;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     @InjectMocks
     private OrderService orderService;
@@ -64,6 +118,9 @@ class OrderServiceTest {
     void setUp() {
         tenantId = UUID.randomUUID();
         TenantContext.set(tenantId);
+        ReflectionTestUtils.setField(orderService, "maxBulkSize", 10);
+        ReflectionTestUtils.setField(orderService, "maxTransitionAttempts", 3);
+        orderService.init();
 
         tenant = Tenant.builder()
                 .id(tenantId)
@@ -108,7 +165,7 @@ class OrderServiceTest {
                 .tenantId(tenantId)
                 .build();
 
-        when(tenantRepository.findByIdAndActiveTrue(tenantId)).thenReturn(Optional.of(tenant));
+        when(activeTenantCache.requireActiveTenant(tenantId)).thenReturn(tenant);
         when(orderMapper.toEntity(requestDTO)).thenReturn(order);
         when(orderRepository.save(any(Order.class))).thenReturn(order);
         when(orderMapper.toResponseDTO(order)).thenReturn(responseDTO);
@@ -119,19 +176,39 @@ class OrderServiceTest {
         assertThat(result.getOrderNumber()).isEqualTo("ORD-TEST-001");
         assertThat(result.getStatus()).isEqualTo(OrderStatus.PENDING);
         verify(orderRepository).save(any(Order.class));
+        // Counted in the daily counts; the geo grid leaves out orders without a location
+        verify(orderRepository).countCreated(List.of(order.getId()));
         verify(orderEventProducer).publishOrderEvent(order, "OrderCreated");
     }
 
     @Test
-    void transitionStatus_validTransition_shouldSucceed() {
-        UUID orderId = UUID.randomUUID();
+    void createOrder_located_shouldCountOrderInGeoGrid() {
+        OrderRequestDTO requestDTO = OrderRequestDTO.builder()
+                .orderNumber("ORD-TEST-002")
+                .latitude(53.55)
+                .longitude(9.99)
+                .build();
         Order order = Order.builder()
-                .id(orderId)
-                .orderNumber("ORD-002")
-                .status(OrderStatus.PENDING)
+                .id(UUID.randomUUID())
+                .orderNumber("ORD-TEST-002")
+                .latitude(53.55)
+                .longitude(9.99)
+                .geohash("u1x0esb1ws7e")
                 .tenant(tenant)
                 .build();
 
+        when(activeTenantCache.requireActiveTenant(tenantId)).thenReturn(tenant);
+        when(orderMapper.toEntity(requestDTO)).thenReturn(order);
+        when(orderRepository.save(any(Order.class))).thenReturn(order);
+
+        orderService.createOrder(requestDTO);
+
+        verify(orderRepository).countCreated(List.of(order.getId()));
+    }
+
+    @Test
+    void transitionStatus_validTransition_shouldSucceed() {
+        UUID orderId = UUID.randomUUID();
         Order updatedOrder = Order.builder()
                 .id(orderId)
                 .orderNumber("ORD-002")
@@ -146,29 +223,84 @@ class OrderServiceTest {
                 .tenantId(tenantId)
                 .build();
 
-        when(orderRepository.findByTenantIdAndId(tenantId, orderId)).thenReturn(Optional.of(order));
-        when(orderRepository.save(any(Order.class))).thenReturn(updatedOrder);
+        StatusChange pending = change(OrderStatus.PENDING);
+        when(orderRepository.findStatus(tenantId, orderId)).thenReturn(Optional.of(OrderStatus.PENDING));
+        when(orderRepository.transitionStatuses(eq(tenantId), eq(List.of(orderId)), eq(EnumSet.of(OrderStatus.PENDING)),
+                eq(OrderStatus.APPROVED), any(Instant.class)))
+                .thenReturn(Map.of(orderId, pending));
+        when(orderRepository.findByTenantIdAndId(tenantId, orderId)).thenReturn(Optional.of(updatedOrder));
         when(orderMapper.toResponseDTO(any(Order.class))).thenReturn(responseDTO);
 
         OrderResponseDTO result = orderService.transitionStatus(orderId, OrderStatus.APPROVED);
 
         assertThat(result).isNotNull();
         assertThat(result.getStatus()).isEqualTo(OrderStatus.APPROVED);
-        verify(orderRepository).save(any(Order.class));
-        verify(orderEventProducer).publishOrderEvent(any(), eq("OrderStatusChanged"));
+        verify(orderRepository, never()).save(any(Order.class));
+        verify(orderEventProducer).publishStatusChange(any(Order.class), eq(OrderStatus.PENDING));
+        verify(orderLifecycleMetrics).recordTransition(eq(tenantId), eq(OrderStatus.APPROVED), any(Instant.class), eq(pending));
+        verify(orderCache).evict(tenantId, List.of(orderId));
+        assertThat(meterRegistry.counter("smartlogix.orders.transition.conflicts").count()).isZero();
     }
 
     @Test
-    void transitionStatus_invalidTransition_shouldThrowIllegalStateException() {
+    void transitionStatus_lostRace_shouldRereadAndRetryAgainstNewStatus() {
         UUID orderId = UUID.randomUUID();
-        Order order = Order.builder()
+        Order cancelled = Order.builder()
                 .id(orderId)
-                .orderNumber("ORD-003")
-                .status(OrderStatus.DELIVERED)
+                .orderNumber("ORD-005")
+                .status(OrderStatus.CANCELLED)
                 .tenant(tenant)
                 .build();
 
-        when(orderRepository.findByTenantIdAndId(tenantId, orderId)).thenReturn(Optional.of(order));
+        // Read APPROVED, but another request moved the order to IN_TRANSIT before the conditional update ran
+        when(orderRepository.findStatus(tenantId, orderId))
+                .thenReturn(Optional.of(OrderStatus.APPROVED))
+                .thenReturn(Optional.of(OrderStatus.IN_TRANSIT));
+        when(orderRepository.transitionStatuses(eq(tenantId), eq(List.of(orderId)), eq(EnumSet.of(OrderStatus.APPROVED)),
+                eq(OrderStatus.CANCELLED), any(Instant.class)))
+                .thenReturn(Map.of());
+        when(orderRepository.transitionStatuses(eq(tenantId), eq(List.of(orderId)), eq(EnumSet.of(OrderStatus.IN_TRANSIT)),
+                eq(OrderStatus.CANCELLED), any(Instant.class)))
+                .thenReturn(Map.of(orderId, change(OrderStatus.IN_TRANSIT)));
+        when(orderRepository.findByTenantIdAndId(tenantId, orderId)).thenReturn(Optional.of(cancelled));
+
+        orderService.transitionStatus(orderId, OrderStatus.CANCELLED);
+
+        verify(orderEventProducer).publishStatusChange(cancelled, OrderStatus.IN_TRANSIT);
+        assertThat(meterRegistry.counter("smartlogix.orders.transition.conflicts").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void transitionStatus_lostRaceToTerminalStatus_shouldThrowIllegalStateException() {
+        UUID orderId = UUID.randomUUID();
+        when(orderRepository.findStatus(tenantId, orderId))
+                .thenReturn(Optional.of(OrderStatus.APPROVED))
+                .thenReturn(Optional.of(OrderStatus.CANCELLED));
+        when(orderRepository.transitionStatuses(any(), any(), any(), any(), any())).thenReturn(Map.of());
+
+        assertThatThrownBy(() -> orderService.transitionStatus(orderId, OrderStatus.IN_TRANSIT))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Invalid status transition from CANCELLED to IN_TRANSIT");
+        verifyNoInteractions(orderEventProducer);
+    }
+
+    @Test
+    void transitionStatus_persistentConflict_shouldGiveUpAfterMaxAttempts() {
+        UUID orderId = UUID.randomUUID();
+        when(orderRepository.findStatus(tenantId, orderId)).thenReturn(Optional.of(OrderStatus.PENDING));
+        when(orderRepository.transitionStatuses(any(), any(), any(), any(), any())).thenReturn(Map.of());
+
+        assertThatThrownBy(() -> orderService.transitionStatus(orderId, OrderStatus.APPROVED))
+                .isInstanceOf(ConcurrentUpdateException.class);
+        verify(orderRepository, times(3)).transitionStatuses(any(), any(), any(), any(), any());
+        assertThat(meterRegistry.counter("smartlogix.orders.transition.conflicts").count()).isEqualTo(3.0);
+        verifyNoInteractions(orderEventProducer);
+    }
+
+    @Test
+    void transitionStatus_invalidTransition_shouldThrowIllegalStateException() {
+        UUID orderId = UUID.randomUUID();
+        when(orderRepository.findStatus(tenantId, orderId)).thenReturn(Optional.of(OrderStatus.DELIVERED));
 
         assertThatThrownBy(() -> orderService.transitionStatus(orderId, OrderStatus.APPROVED))
                 .isInstanceOf(IllegalStateException.class)
@@ -178,26 +310,288 @@ class OrderServiceTest {
     @Test
     void transitionStatus_cancelledOrder_shouldThrowIllegalStateException() {
         UUID orderId = UUID.randomUUID();
-        Order order = Order.builder()
-                .id(orderId)
-                .orderNumber("ORD-004")
-                .status(OrderStatus.CANCELLED)
-                .tenant(tenant)
-                .build();
-
-        when(orderRepository.findByTenantIdAndId(tenantId, orderId)).thenReturn(Optional.of(order));
+        when(orderRepository.findStatus(tenantId, orderId)).thenReturn(Optional.of(OrderStatus.CANCELLED));
 
         assertThatThrownBy(() -> orderService.transitionStatus(orderId, OrderStatus.PENDING))
                 .isInstanceOf(IllegalStateException.class)
                 .hasMessageContaining("Invalid status transition from CANCELLED to PENDING");
     }
 
+    @Test
+    void transitionStatuses_shouldUpdateValidPredecessorsAndReportRejectedIds() {
+        UUID pending = UUID.randomUUID();
+        UUID delivered = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        List<UUID> requested = List.of(pending, delivered, missing);
+        StatusChange pendingChange = change(OrderStatus.PENDING);
+
+        when(orderRepository.transitionStatuses(eq(tenantId), eq(Set.copyOf(requested)),
+                eq(EnumSet.of(OrderStatus.PENDING, OrderStatus.APPROVED, OrderStatus.IN_TRANSIT)),
+                eq(OrderStatus.CANCELLED), any(Instant.class)))
+                .thenReturn(Map.of(pending, pendingChange));
+        Tuple deliveredRow = mock(Tuple.class);
+        when(deliveredRow.get("id", UUID.class)).thenReturn(delivered);
+        when(deliveredRow.get("status", OrderStatus.class)).thenReturn(OrderStatus.DELIVERED);
+        when(orderRepository.findStatuses(tenantId, List.of(delivered, missing))).thenReturn(List.of(deliveredRow));
+
+        BulkStatusUpdateResultDTO result = orderService.transitionStatuses(requested, OrderStatus.CANCELLED);
+
+        assertThat(result.getUpdatedIds()).containsExactly(pending);
+        assertThat(result.getFailures())
+                .extracting(BulkStatusUpdateFailureDTO::getOrderId, BulkStatusUpdateFailureDTO::getReason)
+                .containsExactly(
+                        tuple(delivered, BulkStatusUpdateFailureDTO.Reason.INVALID_TRANSITION),
+                        tuple(missing, BulkStatusUpdateFailureDTO.Reason.NOT_FOUND));
+        verify(orderEventProducer).publishStatusChange(tenantId, Map.of(pending, pendingChange), OrderStatus.CANCELLED);
+        verify(orderLifecycleMetrics).recordTransition(eq(tenantId), eq(OrderStatus.CANCELLED), any(Instant.class), eq(pendingChange));
+        verify(orderCache).evict(tenantId, List.of(pending));
+        verify(orderEventProducer, never()).publishOrderEvent(any(), any());
+    }
+
+    @Test
+    void transitionStatuses_overLimit_shouldThrowIllegalStateException() {
+        List<UUID> requested = Stream.generate(UUID::randomUUID).limit(11).toList();
+
+        assertThatThrownBy(() -> orderService.transitionStatuses(requested, OrderStatus.APPROVED))
+                .isInstanceOf(IllegalStateException.class);
+        verifyNoInteractions(orderRepository, orderEventProducer);
+    }
+
     @Test
     void getOrderById_notFound_shouldThrowResourceNotFoundException() {
         UUID orderId = UUID.randomUUID();
+        when(orderCache.get(eq(tenantId), eq(orderId), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<OrderResponseDTO>>getArgument(2).get());
         when(orderRepository.findByTenantIdAndId(tenantId, orderId)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> orderService.getOrderById(orderId))
                 .isInstanceOf(ResourceNotFoundException.class);
     }
+
+    @Test
+    void getOrderLocations_moreThanLimit_shouldTruncate() {
+        BoundingBox box = new BoundingBox(9, 53, 11, 54);
+        List<OrderLocationDTO> located = Stream.generate(() -> OrderLocationDTO.builder()
+                        .id(UUID.randomUUID()).orderNumber("ORD").status(OrderStatus.PENDING)
+                        .latitude(53.5).longitude(10).build())
+                .limit(3)
+                .toList();
+        when(orderRepository.findLocations(tenantId, box, 3)).thenReturn(located);
+
+        OrderLocationResultDTO result = orderService.getOrderLocations(box, 2);
+
+        assertThat(result.getOrders()).containsExactlyElementsOf(located.subList(0, 2));
+        assertThat(result.isTruncated()).isTrue();
+    }
+
+    @Test
+    void getOrderLocations_limitAboveMaximum_shouldBeCapped() {
+        BoundingBox box = new BoundingBox(9, 53, 11, 54);
+        when(orderRepository.findLocations(tenantId, box, 2001)).thenReturn(List.of());
+
+        OrderLocationResultDTO result = orderService.getOrderLocations(box, 1_000_000);
+
+        assertThat(result.getOrders()).isEmpty();
+        assertThat(result.isTruncated()).isFalse();
+    }
+
+    @Test
+    void getOrderClusters_shouldMergeStatusRowsOfACell() {
+        BoundingBox box = new BoundingBox(9, 53, 11, 54);
+        List<Tuple> rows = List.of(
+                geoCell("u1x", OrderStatus.PENDING, 2, 107, 20),
+                geoCell("u1x", OrderStatus.APPROVED, 1, 53.5, 10),
+                geoCell("u1w", OrderStatus.PENDING, 1, 53.2, 9.1));
+        ArgumentCaptor<String[]> cells = ArgumentCaptor.forClass(String[].class);
+        when(orderGeoCellRepository.findCells(eq(tenantId), eq(3), cells.capture())).thenReturn(rows);
+
+        // A zoom 7 tile is 2.8 degrees wide; precision 3 cells are 1.4 degrees
+        OrderClusterResultDTO result = orderService.getOrderClusters(box, 7);
+
+        assertThat(cells.getValue()).contains("u1w", "u1x");
+        assertThat(result.getPrecision()).isEqualTo(3);
+        assertThat(result.getTotal()).isEqualTo(4);
+        assertThat(result.getClusters()).extracting(OrderClusterDTO::getCell).containsExactly("u1w", "u1x");
+        OrderClusterDTO hamburg = result.getClusters().get(1);
+        assertThat(hamburg.getCount()).isEqualTo(3);
+        assertThat(hamburg.getLatitude()).isEqualTo(53.5);
+        assertThat(hamburg.getLongitude()).isEqualTo(10);
+        assertThat(hamburg.getStatusCounts()).containsExactly(
+                entry(OrderStatus.PENDING, 2L), entry(OrderStatus.APPROVED, 1L));
+    }
+
+    @Test
+    void getOrderClusters_largeBoxAtHighZoom_shouldCoarsenToCellBudget() {
+        ArgumentCaptor<String[]> cells = ArgumentCaptor.forClass(String[].class);
+        when(orderGeoCellRepository.findCells(eq(tenantId), anyInt(), cells.capture())).thenReturn(List.of());
+
+        OrderClusterResultDTO result = orderService.getOrderClusters(new BoundingBox(-180, -90, 180, 90), 18);
+
+        assertThat(result.getPrecision()).isEqualTo(2);
+        assertThat(cells.getValue()).hasSize(1024);
+        assertThat(result.getClusters()).isEmpty();
+    }
+
+    @Test
+    void getOrderVersion_cached_shouldNotQueryRepository() {
+        UUID orderId = UUID.randomUUID();
+        OrderResponseDTO cached = summary(orderId, Instant.now());
+        cached.setVersion(4L);
+        when(orderCache.getIfPresent(tenantId, orderId)).thenReturn(Optional.of(cached));
+
+        assertThat(orderService.getOrderVersion(orderId)).isEqualTo(4L);
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void getOrderVersion_notCached_shouldUseVersionLookup() {
+        UUID orderId = UUID.randomUUID();
+        when(orderCache.getIfPresent(tenantId, orderId)).thenReturn(Optional.empty());
+        when(orderRepository.findVersion(tenantId, orderId)).thenReturn(Optional.of(2L));
+
+        assertThat(orderService.getOrderVersion(orderId)).isEqualTo(2L);
+        verify(orderRepository, never()).findByTenantIdAndId(any(), any());
+    }
+
+    @Test
+    void getOrdersByCursor_shouldReturnNextCursorWhenMoreRowsExist() {
+        Instant now = Instant.now();
+        OrderResponseDTO newest = summary(UUID.randomUUID(), now);
+        OrderResponseDTO older = summary(UUID.randomUUID(), now.minusSeconds(1));
+        OrderResponseDTO oldest = summary(UUID.randomUUID(), now.minusSeconds(2));
+
+        when(orderRepository.findFirstByCursor(tenantId, Limit.of(3))).thenReturn(List.of(newest, older, oldest));
+
+        CursorPageDTO<OrderResponseDTO> page = orderService.getOrdersByCursor("", 2, Set.of());
+
+        assertThat(page.getContent()).containsExactly(newest, older);
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(OrderCursor.decode(page.getNextCursor())).isEqualTo(new OrderCursor(older.getCreatedAt(), older.getId()));
+        verify(orderRepository, never()).findTextFields(any(), any(), any());
+    }
+
+    @Test
+    void getOrdersByCursor_invalidCursor_shouldThrowIllegalStateException() {
+        assertThatThrownBy(() -> orderService.getOrdersByCursor("not-a-cursor", 20, Set.of()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Invalid cursor");
+    }
+
+    @Test
+    void getOrdersByCursor_cursorOutOfInstantRange_shouldThrowIllegalStateException() {
+        String outOfRange = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("99999999999999999.0:" + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8));
+        String nanosOverflow = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((Long.MAX_VALUE + "." + Long.MAX_VALUE + ":" + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> orderService.getOrdersByCursor(outOfRange, 20, Set.of()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Invalid cursor");
+        assertThatThrownBy(() -> orderService.getOrdersByCursor(nanosOverflow, 20, Set.of()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Invalid cursor");
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void getOrders_withRequestedFields_shouldFetchOnlyThoseTextColumns() {
+        OrderResponseDTO order = summary(UUID.randomUUID(), Instant.now());
+        Pageable pageable = PageRequest.of(0, 20);
+        Tuple row = mock(Tuple.class);
+        when(row.get("id", UUID.class)).thenReturn(order.getId());
+        when(row.get("destinationAddress", String.class)).thenReturn("123 Main St");
+
+        when(orderRepository.findSummariesByTenantId(tenantId, pageable)).thenReturn(new PageImpl<>(List.of(order)));
+        when(orderRepository.findTextFields(tenantId, Set.of(order.getId()), EnumSet.of(OrderTextField.DESTINATION_ADDRESS)))
+                .thenReturn(List.of(row));
+
+        Page<OrderResponseDTO> page = orderService.getOrders(pageable, EnumSet.of(OrderTextField.DESTINATION_ADDRESS));
+
+        assertThat(page.getContent().get(0).getDestinationAddress()).isEqualTo("123 Main St");
+        assertThat(page.getContent().get(0).getDescription()).isNull();
+        verifyNoInteractions(orderMapper);
+    }
+
+    @Test
+    void searchOrderText_shouldReturnIndexMatchesInIndexOrder() {
+        OrderResponseDTO newer = summary(UUID.randomUUID(), Instant.now());
+        OrderResponseDTO older = summary(UUID.randomUUID(), Instant.now().minusSeconds(60));
+        List<UUID> ids = List.of(newer.getId(), older.getId());
+        when(orderTextIndex.search(tenantId, List.of("hamb", "dock"), 2)).thenReturn(new TextIndex.Matches(ids, 7));
+        when(orderRepository.findSummariesByIds(tenantId, ids)).thenReturn(List.of(older, newer));
+
+        OrderTextSearchResultDTO result = orderService.searchOrderText("Hamb* DOCK", 2, Set.of());
+
+        assertThat(result.getOrders()).containsExactly(newer, older);
+        assertThat(result.getTotal()).isEqualTo(7);
+        verify(orderRepository, never()).findTextFields(any(), any(), any());
+    }
+
+    @Test
+    void searchOrderText_withoutWords_shouldThrowIllegalStateException() {
+        assertThatThrownBy(() -> orderService.searchOrderText(" * a ", 20, Set.of()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Search text");
+        verifyNoInteractions(orderTextIndex);
+    }
+
+    @Test
+    void searchOrders_shouldScopeCriteriaToCurrentTenant() {
+        OrderSearchCriteria criteria = OrderSearchCriteria.builder()
+                .status(EnumSet.of(OrderStatus.PENDING, OrderStatus.APPROVED))
+                .minWeight(new BigDecimal("1.00"))
+                .maxWeight(new BigDecimal("5.00"))
+                .build();
+        Pageable pageable = PageRequest.of(0, 20, Sort.by("weight"));
+        Page<OrderResponseDTO> page = new PageImpl<>(List.of(summary(UUID.randomUUID(), Instant.now())));
+        when(orderRepository.search(tenantId, criteria, pageable)).thenReturn(page);
+
+        Page<OrderResponseDTO> result = orderService.searchOrders(criteria, pageable, Set.of());
+
+        assertThat(result.getContent()).hasSize(1);
+        verify(orderRepository, never()).findTextFields(any(), any(), any());
+    }
+
+    @Test
+    void searchOrders_invertedRange_shouldThrowIllegalStateException() {
+        Instant now = Instant.now();
+        OrderSearchCriteria criteria = OrderSearchCriteria.builder()
+                .createdFrom(now)
+                .createdTo(now.minusSeconds(60))
+                .build();
+
+        assertThatThrownBy(() -> orderService.searchOrders(criteria, PageRequest.of(0, 20), Set.of()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("created range");
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void searchOrders_unindexedSort_shouldThrowIllegalStateException() {
+        Pageable pageable = PageRequest.of(0, 20, Sort.by("orderNumber"));
+
+        assertThatThrownBy(() -> orderService.searchOrders(new OrderSearchCriteria(), pageable, Set.of()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("orderNumber");
+        verifyNoInteractions(orderRepository);
+    }
+
+    private OrderResponseDTO summary(UUID id, Instant createdAt) {
+        return new OrderResponseDTO(id, "ORD-" + id, OrderStatus.PENDING, null, null, null, tenantId, createdAt, createdAt, 0L);
+    }
+
+    private Tuple geoCell(String cell, OrderStatus status, long count, double latitudeSum, double longitudeSum) {
+        Tuple row = mock(Tuple.class);
+        when(row.get("cell", String.class)).thenReturn(cell);
+        when(row.get("status", String.class)).thenReturn(status.name());
+        when(row.get("order_count", Long.class)).thenReturn(count);
+        when(row.get("latitude_sum", Double.class)).thenReturn(latitudeSum);
+        when(row.get("longitude_sum", Double.class)).thenReturn(longitudeSum);
+        return row;
+    }
+
+    private StatusChange change(OrderStatus previousStatus) {
+        Instant createdAt = Instant.now().minusSeconds(3600);
+        return new StatusChange(previousStatus, createdAt.plusSeconds(60), createdAt);
+    }
 }
@@ -0,0 +1,103 @@
+package com.smartlogix.service;
+
+import com.smartlogix.domain.enums.OrderStatus;
+import com.smartlogix.domain.repository.OrderRepository;
+import com.smartlogix.messaging.OrderEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.Tuple;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderStatusCountsTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OrderStatusCounts orderStatusCounts;
+    private UUID tenantId;
+
+    @BeforeEach
+    void setUp() {
+        tenantId = UUID.randomUUID();
+        meterRegistry = new SimpleMeterRegistry();
+        orderStatusCounts = new OrderStatusCounts(orderRepository, meterRegistry);
+        orderStatusCounts.init();
+    }
+
+    @Test
+    void getCounts_shouldSeedOnceAndThenFollowEvents() {
+        when(orderRepository.countByStatus(tenantId))
+                .thenReturn(List.of(count(OrderStatus.PENDING, 3), count(OrderStatus.APPROVED, 2)));
+
+        assertThat(orderStatusCounts.getCounts(tenantId))
+                .containsEntry(OrderStatus.PENDING, 3L)
+                .containsEntry(OrderStatus.APPROVED, 2L)
+                .containsEntry(OrderStatus.CANCELLED, 0L);
+
+        orderStatusCounts.apply(event("OrderCreated", OrderStatus.PENDING));
+        OrderEvent approved = event("OrderStatusChanged", OrderStatus.APPROVED);
+        approved.setPreviousStatus(OrderStatus.PENDING);
+        orderStatusCounts.apply(approved);
+        OrderEvent cancelled = event("OrderStatusChanged", OrderStatus.CANCELLED);
+        cancelled.setOrderIds(List.of(UUID.randomUUID(), UUID.randomUUID()));
+        cancelled.setPreviousStatuses(List.of(OrderStatus.PENDING, OrderStatus.APPROVED));
+        orderStatusCounts.apply(cancelled);
+
+        assertThat(orderStatusCounts.getCounts(tenantId))
+                .containsEntry(OrderStatus.PENDING, 2L)
+                .containsEntry(OrderStatus.APPROVED, 2L)
+                .containsEntry(OrderStatus.CANCELLED, 2L);
+        verify(orderRepository, times(1)).countByStatus(tenantId);
+    }
+
+    @Test
+    void apply_unseededTenant_shouldBeIgnored() {
+        orderStatusCounts.apply(event("OrderCreated", OrderStatus.PENDING));
+        when(orderRepository.countByStatus(tenantId)).thenReturn(List.of(count(OrderStatus.PENDING, 1)));
+
+        assertThat(orderStatusCounts.getCounts(tenantId)).containsEntry(OrderStatus.PENDING, 1L);
+    }
+
+    @Test
+    void reconcile_shouldCorrectOnlyDriftThatTwoPassesAgreeOn() {
+        when(orderRepository.countByStatus(tenantId)).thenReturn(List.of(count(OrderStatus.PENDING, 5)));
+        orderStatusCounts.getCounts(tenantId);
+        // A created order whose event never arrived, then one whose event was still on its way in the first pass
+        when(orderRepository.countByStatus(tenantId))
+                .thenReturn(List.of(count(OrderStatus.PENDING, 7)))
+                .thenReturn(List.of(count(OrderStatus.PENDING, 6)));
+
+        orderStatusCounts.reconcile();
+        assertThat(orderStatusCounts.getCounts(tenantId)).containsEntry(OrderStatus.PENDING, 5L);
+
+        orderStatusCounts.reconcile();
+        assertThat(orderStatusCounts.getCounts(tenantId)).containsEntry(OrderStatus.PENDING, 6L);
+        assertThat(meterRegistry.counter("smartlogix.orders.status-counts.corrections").count()).isEqualTo(1.0);
+    }
+
+    private OrderEvent event(String type, OrderStatus status) {
+        return OrderEvent.builder()
+                .eventType(type)
+                .orderId(UUID.randomUUID())
+                .tenantId(tenantId)
+                .status(status)
+                .build();
+    }
+
+    private Tuple count(OrderStatus status, long count) {
+        Map<String, Object> values = Map.of("status", status, "count", count);
+        return mock(Tuple.class, invocation -> values.get(invocation.<String>getArgument(0)));
+    }
+}
@@ -0,0 +1,92 @@
+package com.smartlogix.service;
+
+import com.smartlogix.domain.repository.OrderRepository;
+import com.smartlogix.domain.repository.TenantRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.Tuple;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderTextIndexTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private TenantRepository tenantRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OrderTextIndex orderTextIndex;
+    private UUID tenantId;
+
+    @BeforeEach
+    void setUp() {
+        tenantId = UUID.randomUUID();
+        orderTextIndex = new OrderTextIndex(orderRepository, tenantRepository, transactionManager, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(orderTextIndex, "maxMemoryMb", 16L);
+        ReflectionTestUtils.setField(orderTextIndex, "idleMinutes", 60L);
+        orderTextIndex.init();
+    }
+
+    @Test
+    void search_shouldBuildTheTenantIndexOnceFromAScan() {
+        UUID older = UUID.randomUUID();
+        UUID newer = UUID.randomUUID();
+        List<Tuple> rows = List.of(text(older, "Fragile glassware"), text(newer, "Glass panels"));
+        when(orderRepository.streamTextFieldsByTenantId(tenantId)).thenAnswer(invocation -> rows.stream());
+
+        assertThat(orderTextIndex.search(tenantId, List.of("glass"), 10).ids()).containsExactly(newer, older);
+        assertThat(orderTextIndex.search(tenantId, List.of("fragile"), 10).ids()).containsExactly(older);
+
+        verify(orderRepository, times(1)).streamTextFieldsByTenantId(tenantId);
+        assertThat(orderTextIndex.estimatedBytes()).isPositive();
+    }
+
+    @Test
+    void index_shouldAddCreatedOrdersToALoadedIndexAndWeighItAgain() {
+        when(orderRepository.streamTextFieldsByTenantId(tenantId)).thenReturn(Stream.empty());
+        orderTextIndex.search(tenantId, List.of("glass"), 10);
+        long emptyBytes = orderTextIndex.estimatedBytes();
+
+        UUID created = UUID.randomUUID();
+        List<Tuple> rows = List.of(text(created, "Glass panels"));
+        when(orderRepository.findTextFields(eq(tenantId), anyCollection(), any())).thenReturn(rows);
+        orderTextIndex.index(tenantId, List.of(created));
+
+        assertThat(orderTextIndex.search(tenantId, List.of("glass"), 10).ids()).containsExactly(created);
+        assertThat(orderTextIndex.estimatedBytes()).isGreaterThan(emptyBytes);
+    }
+
+    @Test
+    void index_tenantNotLoaded_shouldLeaveItToTheNextScan() {
+        orderTextIndex.index(tenantId, List.of(UUID.randomUUID()));
+
+        verify(orderRepository, never()).findTextFields(any(), anyCollection(), any());
+        assertThat(orderTextIndex.estimatedBytes()).isZero();
+    }
+
+    private Tuple text(UUID id, String description) {
+        Tuple row = mock(Tuple.class);
+        when(row.get("id", UUID.class)).thenReturn(id);
+        when(row.get("description", String.class)).thenReturn(description);
+        return row;
+    }
+}
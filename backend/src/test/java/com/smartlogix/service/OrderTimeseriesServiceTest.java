@@ -0,0 +1,101 @@
+package com.smartlogix.service;
+
+import com.smartlogix.domain.entity.OrderDailyCount;
+import com.smartlogix.domain.enums.OrderStatus;
+import com.smartlogix.domain.enums.TimeseriesGranularity;
+import com.smartlogix.domain.repository.OrderDailyCountRepository;
+import com.smartlogix.dto.OrderTimeseriesBucketDTO;
+import com.smartlogix.dto.OrderTimeseriesDTO;
+import com.smartlogix.security.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderTimeseriesServiceTest {
+
+    @Mock
+    private OrderDailyCountRepository orderDailyCountRepository;
+
+    @InjectMocks
+    private OrderTimeseriesService orderTimeseriesService;
+
+    private UUID tenantId;
+
+    @BeforeEach
+    void setUp() {
+        tenantId = UUID.randomUUID();
+        TenantContext.set(tenantId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void getTimeseries_weekly_shouldSumDaysIntoWeeksCutToTheRange() {
+        // Wednesday 2025-01-01 to Monday 2025-01-13
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        LocalDate to = LocalDate.of(2025, 1, 13);
+        when(orderDailyCountRepository.findByTenantIdAndDayBetween(tenantId, from, to)).thenReturn(List.of(
+                count(LocalDate.of(2025, 1, 1), OrderStatus.PENDING, 3),
+                count(LocalDate.of(2025, 1, 5), OrderStatus.PENDING, 2),
+                count(LocalDate.of(2025, 1, 6), OrderStatus.DELIVERED, 4),
+                count(LocalDate.of(2025, 1, 13), OrderStatus.CANCELLED, 1)));
+
+        OrderTimeseriesDTO timeseries = orderTimeseriesService.getTimeseries(from, to, TimeseriesGranularity.WEEK);
+
+        assertThat(timeseries.getBuckets())
+                .extracting(OrderTimeseriesBucketDTO::getStart, OrderTimeseriesBucketDTO::getEnd)
+                .containsExactly(
+                        tuple(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 5)),
+                        tuple(LocalDate.of(2025, 1, 6), LocalDate.of(2025, 1, 12)),
+                        tuple(LocalDate.of(2025, 1, 13), LocalDate.of(2025, 1, 13)));
+        assertThat(timeseries.getBuckets().get(0).getStatusCounts())
+                .containsEntry(OrderStatus.PENDING, 5L)
+                .containsEntry(OrderStatus.DELIVERED, 0L);
+        assertThat(timeseries.getBuckets().get(1).getStatusCounts()).containsEntry(OrderStatus.DELIVERED, 4L);
+        assertThat(timeseries.getBuckets().get(2).getStatusCounts()).containsEntry(OrderStatus.CANCELLED, 1L);
+    }
+
+    @Test
+    void getTimeseries_daily_shouldIncludeDaysWithoutOrders() {
+        LocalDate from = LocalDate.of(2025, 3, 1);
+        LocalDate to = LocalDate.of(2025, 3, 3);
+        when(orderDailyCountRepository.findByTenantIdAndDayBetween(tenantId, from, to))
+                .thenReturn(List.of(count(to, OrderStatus.PENDING, 7)));
+
+        OrderTimeseriesDTO timeseries = orderTimeseriesService.getTimeseries(from, to, TimeseriesGranularity.DAY);
+
+        assertThat(timeseries.getBuckets()).hasSize(3);
+        assertThat(timeseries.getBuckets().get(0).getStatusCounts().values()).containsOnly(0L);
+        assertThat(timeseries.getBuckets().get(2).getStatusCounts()).containsEntry(OrderStatus.PENDING, 7L);
+    }
+
+    @Test
+    void getTimeseries_rangeOverAYear_shouldThrowIllegalStateException() {
+        assertThatThrownBy(() -> orderTimeseriesService.getTimeseries(
+                LocalDate.of(2024, 1, 1), LocalDate.of(2025, 1, 1), TimeseriesGranularity.WEEK))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("367 days");
+        verifyNoInteractions(orderDailyCountRepository);
+    }
+
+    private OrderDailyCount count(LocalDate day, OrderStatus status, long orderCount) {
+        return new OrderDailyCount(tenantId, day, status, orderCount);
+    }
+}
@@ -0,0 +1,83 @@
+package com.smartlogix.service;
+
+import com.smartlogix.domain.entity.Tenant;
+import com.smartlogix.domain.repository.TenantRepository;
+import com.smartlogix.messaging.TenantEventProducer;
+import com.smartlogix.security.UserPrincipalService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TenantServiceTest {
+
+    @Mock
+    private TenantRepository tenantRepository;
+
+    @Mock
+    private ActiveTenantCache activeTenantCache;
+
+    @Mock
+    private UserPrincipalService userPrincipalService;
+
+    @Mock
+    private TenantEventProducer tenantEventProducer;
+
+    @InjectMocks
+    private TenantService tenantService;
+
+    private UUID tenantId;
+    private Tenant tenant;
+
+    @BeforeEach
+    void setUp() {
+        tenantId = UUID.randomUUID();
+        tenant = Tenant.builder().id(tenantId).name("Test Tenant").slug("test-tenant").active(true).build();
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void setActive_deactivate_shouldEvictCachedStateAndPublishOnlyOnceCommitted() {
+        when(tenantRepository.findById(tenantId)).thenReturn(Optional.of(tenant));
+        when(tenantRepository.save(tenant)).thenReturn(tenant);
+
+        Tenant saved = tenantService.setActive(tenantId, false);
+
+        assertThat(saved.isActive()).isFalse();
+        verifyNoInteractions(activeTenantCache, userPrincipalService, tenantEventProducer);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        verify(activeTenantCache).evict(tenantId);
+        verify(userPrincipalService).evictTenant(tenantId);
+        verify(tenantEventProducer).publishTenantEvent(tenant, "TenantDeactivated");
+    }
+
+    @Test
+    void setActive_unchanged_shouldNeitherSaveNorPublish() {
+        when(tenantRepository.findById(tenantId)).thenReturn(Optional.of(tenant));
+
+        tenantService.setActive(tenantId, true);
+
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).isEmpty();
+        verify(tenantRepository, never()).save(any());
+        verifyNoInteractions(activeTenantCache, tenantEventProducer);
+    }
+}
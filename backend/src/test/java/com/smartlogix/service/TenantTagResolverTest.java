@@ -0,0 +1,67 @@
+package com.smartlogix.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TenantTagResolverTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TenantTagResolver tenantTagResolver;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        tenantTagResolver = new TenantTagResolver(meterRegistry);
+        ReflectionTestUtils.setField(tenantTagResolver, "topN", 2);
+    }
+
+    @Test
+    void tagOf_shouldTagOnlyTheBusiestTenantsOfTheLastInterval() {
+        UUID busiest = UUID.randomUUID();
+        UUID busy = UUID.randomUUID();
+        UUID quiet = UUID.randomUUID();
+        calls(busiest, 5);
+        calls(busy, 3);
+        calls(quiet, 1);
+        assertThat(tenantTagResolver.tagOf(busiest)).isEqualTo(TenantTagResolver.OTHER);
+
+        tenantTagResolver.refresh();
+
+        assertThat(tenantTagResolver.tagOf(busiest)).isEqualTo(busiest.toString());
+        assertThat(tenantTagResolver.tagOf(busy)).isEqualTo(busy.toString());
+        assertThat(tenantTagResolver.tagOf(quiet)).isEqualTo(TenantTagResolver.OTHER);
+        assertThat(tenantTagResolver.tagOf(null)).isEqualTo(TenantTagResolver.NONE);
+    }
+
+    @Test
+    void refresh_shouldRemoveMetersOfTenantsThatLeftTheTop() {
+        ReflectionTestUtils.setField(tenantTagResolver, "topN", 1);
+        UUID before = UUID.randomUUID();
+        UUID after = UUID.randomUUID();
+        calls(before, 2);
+        tenantTagResolver.refresh();
+        meterRegistry.counter("smartlogix.events.published", "tenant", tenantTagResolver.tagOf(before)).increment();
+        meterRegistry.counter("smartlogix.events.published", "tenant", TenantTagResolver.OTHER).increment();
+
+        // Another tenant is busier in the next interval
+        calls(after, 10);
+        tenantTagResolver.refresh();
+
+        assertThat(tenantTagResolver.tagOf(before)).isEqualTo(TenantTagResolver.OTHER);
+        assertThat(meterRegistry.find("smartlogix.events.published").tag("tenant", before.toString()).counter()).isNull();
+        assertThat(meterRegistry.find("smartlogix.events.published").tag("tenant", TenantTagResolver.OTHER).counter())
+                .isNotNull();
+    }
+
+    private void calls(UUID tenantId, int count) {
+        for (int i = 0; i < count; i++) {
+            tenantTagResolver.tagOf(tenantId);
+        }
+    }
+}
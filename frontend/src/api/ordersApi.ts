@@ -1,5 +1,5 @@
 import axiosInstance from './axiosInstance'
-import { Order, OrderStatus, PageResponse } from '../types'
+import { Order, OrderCluster, OrderLocation, OrderStatus, PageResponse } from '../types'
 
 export interface CreateOrderRequest {
   orderNumber: string
@@ -11,8 +11,8 @@ export interface CreateOrderRequest {
   trackingNotes?: string
 }
 
-export const getOrders = (page = 0, size = 10) =>
-  axiosInstance.get<PageResponse<Order>>(`/orders?page=${page}&size=${size}`)
+export const getOrders = (page = 0, size = 10, fields?: string) =>
+  axiosInstance.get<PageResponse<Order>>('/orders', { params: { page, size, fields } })
 
 export const createOrder = (data: CreateOrderRequest) =>
   axiosInstance.post<Order>('/orders', data)
@@ -22,3 +22,37 @@ export const getOrderById = (id: string) =>
 
 export const transitionOrderStatus = (id: string, newStatus: OrderStatus) =>
   axiosInstance.patch<Order>(`/orders/${id}/status`, { newStatus })
+
+export interface BulkStatusUpdateResult {
+  newStatus: OrderStatus
+  updated: number
+  failed: number
+  updatedIds: string[]
+  failures: {
+    orderId: string
+    reason: 'NOT_FOUND' | 'INVALID_TRANSITION'
+    currentStatus?: OrderStatus
+    message: string
+  }[]
+}
+
+export const transitionOrderStatuses = (orderIds: string[], newStatus: OrderStatus) =>
+  axiosInstance.patch<BulkStatusUpdateResult>('/orders/status', { orderIds, newStatus })
+
+export interface OrderLocationResult {
+  orders: OrderLocation[]
+  truncated: boolean
+}
+
+// bbox is "west,south,east,north" in degrees
+export const getOrderLocations = (bbox: string, limit = 500) =>
+  axiosInstance.get<OrderLocationResult>('/orders/geo', { params: { bbox, limit } })
+
+export interface OrderClusterResult {
+  precision: number
+  total: number
+  clusters: OrderCluster[]
+}
+
+export const getOrderClusters = (bbox: string, zoom: number) =>
+  axiosInstance.get<OrderClusterResult>('/orders/clusters', { params: { bbox, zoom } })
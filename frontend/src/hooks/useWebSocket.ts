@@ -8,7 +8,9 @@ import type { OrderStatus } from '../types'
 
 interface OrderEvent {
   eventType: string
-  orderId: string
+  orderId?: string
+  // Present instead of orderId when one event covers a bulk status update
+  orderIds?: string[]
   tenantId: string
   status: OrderStatus
   timestamp: string
@@ -32,20 +34,27 @@ export const useWebSocket = () => {
       onConnect: () => {
         client.subscribe(`/topic/orders/${tenantId}`, (message: IMessage) => {
           const event: OrderEvent = JSON.parse(message.body)
+          const orderIds = event.orderIds ?? (event.orderId ? [event.orderId] : [])
+          if (orderIds.length === 0) return
           dispatch(
             addNotification({
-              id: `${event.orderId}-${event.timestamp}`,
-              message: `Order ${event.orderId.slice(0, 8)}... → ${event.status}`,
+              id: `${orderIds[0]}-${event.timestamp}`,
+              message:
+                orderIds.length === 1
+                  ? `Order ${orderIds[0].slice(0, 8)}... → ${event.status}`
+                  : `${orderIds.length} orders → ${event.status}`,
               timestamp: event.timestamp,
-              orderId: event.orderId,
+              orderId: orderIds[0],
               eventType: event.eventType,
             })
           )
-          dispatch(
-            updateOrderStatus({
-              orderId: event.orderId,
-              newStatus: event.status,
-            })
+          orderIds.forEach((orderId) =>
+            dispatch(
+              updateOrderStatus({
+                orderId,
+                newStatus: event.status,
+              })
+            )
           )
         })
       },
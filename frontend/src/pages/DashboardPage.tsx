@@ -20,7 +20,7 @@ const DashboardPage: React.FC = () => {
   const email = useAppSelector((state) => state.auth.email)
 
   useEffect(() => {
-    dispatch(fetchOrders({ page: 0, size: 50 }))
+    dispatch(fetchOrders({ page: 0, size: 50, fields: 'destinationAddress' }))
   }, [dispatch])
 
   const countByStatus = STATUS_ORDER.reduce(
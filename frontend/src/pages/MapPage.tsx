@@ -1,8 +1,11 @@
-import React, { useEffect } from 'react'
-import { MapContainer, TileLayer, Marker, Popup } from 'react-leaflet'
+import React, { useCallback, useEffect, useRef, useState } from 'react'
+import { MapContainer, TileLayer, Marker, Popup, Tooltip, useMap, useMapEvents } from 'react-leaflet'
 import L from 'leaflet'
-import { useAppDispatch, useAppSelector } from '../store/hooks'
-import { fetchOrders } from '../store/slices/ordersSlice'
+import { getOrderById, getOrderClusters, getOrderLocations } from '../api/ordersApi'
+import type { Order, OrderCluster, OrderLocation } from '../types'
+
+// Individual markers are loaded when at most this many orders are in view; otherwise the map shows clusters
+const MARKER_LIMIT = 500
 
 // Fix leaflet default marker icons
 // eslint-disable-next-line @typescript-eslint/no-explicit-any
@@ -16,67 +19,163 @@ L.Icon.Default.mergeOptions({
     'https://cdnjs.cloudflare.com/ajax/libs/leaflet/1.9.4/images/marker-shadow.png',
 })
 
-const MapPage: React.FC = () => {
-  const dispatch = useAppDispatch()
-  const { items, loading } = useAppSelector((state) => state.orders)
+// Leaflet reports unwrapped longitudes once the map is panned across the antimeridian; the API expects
+// west,south,east,north within [-180, 180] and west > east for a box that crosses it
+const toBbox = (bounds: L.LatLngBounds): string => {
+  const south = Math.max(-90, bounds.getSouth())
+  const north = Math.min(90, bounds.getNorth())
+  if (bounds.getEast() - bounds.getWest() >= 360) {
+    return `-180,${south},180,${north}`
+  }
+  const wrap = (lng: number) => ((((lng + 180) % 360) + 360) % 360) - 180
+  return `${wrap(bounds.getWest())},${south},${wrap(bounds.getEast())},${north}`
+}
 
+const ViewportLoader: React.FC<{ onViewport: (bbox: string, zoom: number) => void }> = ({ onViewport }) => {
+  const map = useMap()
   useEffect(() => {
-    dispatch(fetchOrders({ page: 0, size: 100 }))
-  }, [dispatch])
+    onViewport(toBbox(map.getBounds()), map.getZoom())
+  }, [map, onViewport])
+  useMapEvents({
+    moveend: () => onViewport(toBbox(map.getBounds()), map.getZoom()),
+  })
+  return null
+}
 
-  const ordersWithCoords = items.filter(
-    (o) => o.latitude != null && o.longitude != null
+const clusterIcon = (count: number) => {
+  const size = Math.round(28 + 6 * Math.log10(count))
+  return L.divIcon({
+    html: count >= 1000 ? `${Math.round(count / 100) / 10}k` : String(count),
+    className: 'order-cluster',
+    iconSize: [size, size],
+  })
+}
+
+const ClusterMarker: React.FC<{ cluster: OrderCluster }> = ({ cluster }) => {
+  const map = useMap()
+  return (
+    <Marker
+      position={[cluster.latitude, cluster.longitude]}
+      icon={clusterIcon(cluster.count)}
+      eventHandlers={{
+        click: () => map.setView([cluster.latitude, cluster.longitude], map.getZoom() + 2),
+      }}
+    >
+      <Tooltip>
+        {Object.entries(cluster.statusCounts).map(([status, count]) => (
+          <div key={status}>
+            {status}: {count}
+          </div>
+        ))}
+      </Tooltip>
+    </Marker>
   )
+}
+
+const MapPage: React.FC = () => {
+  const [locations, setLocations] = useState<OrderLocation[]>([])
+  const [clusters, setClusters] = useState<OrderCluster[]>([])
+  const [clusteredTotal, setClusteredTotal] = useState(0)
+  const [truncated, setTruncated] = useState(false)
+  const [loading, setLoading] = useState(true)
+  const [details, setDetails] = useState<Record<string, Order>>({})
+  const latestRequest = useRef(0)
+
+  const loadViewport = useCallback(async (bbox: string, zoom: number) => {
+    const request = ++latestRequest.current
+    try {
+      const clustered = await getOrderClusters(bbox, zoom)
+      if (clustered.data.total > MARKER_LIMIT) {
+        if (request === latestRequest.current) {
+          setClusters(clustered.data.clusters)
+          setClusteredTotal(clustered.data.total)
+          setLocations([])
+          setTruncated(false)
+        }
+        return
+      }
+      const response = await getOrderLocations(bbox, MARKER_LIMIT)
+      // A slower response for a viewport the user already panned away from must not replace a newer one
+      if (request === latestRequest.current) {
+        setClusters([])
+        setLocations(response.data.orders)
+        setTruncated(response.data.truncated)
+      }
+    } catch (err) {
+      console.error('Failed to load order locations:', err)
+    } finally {
+      if (request === latestRequest.current) {
+        setLoading(false)
+      }
+    }
+  }, [])
+
+  const loadDetails = async (id: string) => {
+    if (details[id]) {
+      return
+    }
+    try {
+      const response = await getOrderById(id)
+      setDetails((current) => ({ ...current, [id]: response.data }))
+    } catch (err) {
+      console.error('Failed to load order:', err)
+    }
+  }
 
   return (
     <div className="container" style={{ paddingTop: '32px' }}>
       <div className="page-header">
         <h1>Shipment Map</h1>
         <span style={{ color: '#888', fontSize: '14px' }}>
-          {ordersWithCoords.length} shipment(s) with coordinates
+          {loading
+            ? 'Loading shipments...'
+            : clusters.length > 0
+              ? `About ${clusteredTotal} shipments in view, zoom in or click a cluster to see them`
+              : truncated
+                ? `Showing ${locations.length} shipments in view, zoom in to see all`
+                : `${locations.length} shipment(s) in view`}
         </span>
       </div>
       <div className="card" style={{ padding: 0 }}>
-        {loading ? (
-          <div className="loading" style={{ padding: '40px' }}>
-            Loading map...
-          </div>
-        ) : (
-          <div className="map-container">
-            <MapContainer
-              center={[20, 0]}
-              zoom={2}
-              style={{ height: '100%', width: '100%' }}
-            >
-              <TileLayer
-                attribution='&copy; <a href="https://www.openstreetmap.org/copyright">OpenStreetMap</a>'
-                url="https://{s}.tile.openstreetmap.org/{z}/{x}/{y}.png"
-              />
-              {ordersWithCoords.map((order) => (
-                <Marker
-                  key={order.id}
-                  position={[order.latitude!, order.longitude!]}
-                >
-                  <Popup>
-                    <strong>{order.orderNumber}</strong>
-                    <br />
-                    <span
-                      className={`status-badge status-${order.status}`}
-                    >
-                      {order.status}
-                    </span>
-                    <br />
-                    {order.destinationAddress}
-                  </Popup>
-                </Marker>
-              ))}
-            </MapContainer>
-          </div>
-        )}
+        <div className="map-container">
+          <MapContainer
+            center={[20, 0]}
+            zoom={2}
+            style={{ height: '100%', width: '100%' }}
+          >
+            <TileLayer
+              attribution='&copy; <a href="https://www.openstreetmap.org/copyright">OpenStreetMap</a>'
+              url="https://{s}.tile.openstreetmap.org/{z}/{x}/{y}.png"
+            />
+            <ViewportLoader onViewport={loadViewport} />
+            {clusters.map((cluster) => (
+              <ClusterMarker key={cluster.cell} cluster={cluster} />
+            ))}
+            {locations.map((order) => (
+              <Marker
+                key={order.id}
+                position={[order.latitude, order.longitude]}
+                eventHandlers={{ popupopen: () => loadDetails(order.id) }}
+              >
+                <Popup>
+                  <strong>{order.orderNumber}</strong>
+                  <br />
+                  <span
+                    className={`status-badge status-${order.status}`}
+                  >
+                    {order.status}
+                  </span>
+                  <br />
+                  {details[order.id]?.destinationAddress ?? 'Loading...'}
+                </Popup>
+              </Marker>
+            ))}
+          </MapContainer>
+        </div>
       </div>
-      {ordersWithCoords.length === 0 && !loading && (
+      {locations.length === 0 && clusters.length === 0 && !loading && (
         <div className="card" style={{ textAlign: 'center', color: '#888' }}>
-          No orders with GPS coordinates found. Add latitude/longitude when
+          No orders with GPS coordinates in view. Add latitude/longitude when
           creating orders to see them on the map.
         </div>
       )}
@@ -20,7 +20,7 @@ const OrdersPage: React.FC = () => {
   const [actionLoading, setActionLoading] = useState<string | null>(null)
 
   useEffect(() => {
-    dispatch(fetchOrders({ page: 0, size: 20 }))
+    dispatch(fetchOrders({ page: 0, size: 20, fields: 'description,destinationAddress' }))
   }, [dispatch])
 
   const handleTransition = async (
@@ -30,7 +30,7 @@ const OrdersPage: React.FC = () => {
     setActionLoading(orderId)
     try {
       await transitionOrderStatus(orderId, newStatus)
-      dispatch(fetchOrders({ page: currentPage, size: 20 }))
+      dispatch(fetchOrders({ page: currentPage, size: 20, fields: 'description,destinationAddress' }))
     } catch (err) {
       console.error('Transition failed:', err)
     } finally {
@@ -39,7 +39,7 @@ const OrdersPage: React.FC = () => {
   }
 
   const handlePageChange = (page: number) => {
-    dispatch(fetchOrders({ page, size: 20 }))
+    dispatch(fetchOrders({ page, size: 20, fields: 'description,destinationAddress' }))
   }
 
   return (
@@ -13,8 +13,8 @@ const initialState: OrdersState = {
 
 export const fetchOrders = createAsyncThunk(
   'orders/fetchAll',
-  async ({ page, size }: { page: number; size: number }) => {
-    const response = await getOrders(page, size)
+  async ({ page, size, fields }: { page: number; size: number; fields?: string }) => {
+    const response = await getOrders(page, size, fields)
     return response.data
   }
 )
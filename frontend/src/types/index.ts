@@ -21,6 +21,22 @@ export interface Order {
   updatedAt: string
 }
 
+export interface OrderLocation {
+  id: string
+  orderNumber: string
+  status: OrderStatus
+  latitude: number
+  longitude: number
+}
+
+export interface OrderCluster {
+  cell: string
+  count: number
+  latitude: number
+  longitude: number
+  statusCounts: Partial<Record<OrderStatus, number>>
+}
+
 export interface AuthState {
   token: string | null
   email: string | null
@@ -0,0 +1,112 @@
+import http from 'k6/http';
+import { check } from 'k6';
+import { Trend } from 'k6/metrics';
+
+// Compares the latency of reading page N (default 1000) with OFFSET pagination
+// (GET /api/orders?page=N) against keyset pagination (GET /api/orders?cursor=...).
+//
+//   k6 run -e PAGE=1000 -e PAGE_SIZE=20 k6/pagination-benchmark.js
+//
+// Setup seeds PAGE * PAGE_SIZE + PAGE_SIZE orders for a fresh tenant through the bulk endpoint and
+// walks the cursor chain once to obtain the continuation token for the target page.
+
+const offsetPageTime = new Trend('offset_page_time', true);
+const cursorPageTime = new Trend('cursor_page_time', true);
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const PAGE = parseInt(__ENV.PAGE || '1000', 10);
+const PAGE_SIZE = parseInt(__ENV.PAGE_SIZE || '20', 10);
+const BULK_SIZE = 1000;
+
+export const options = {
+  setupTimeout: '30m',
+  scenarios: {
+    offset: {
+      executor: 'constant-vus',
+      exec: 'offsetPage',
+      vus: 5,
+      duration: '30s',
+    },
+    cursor: {
+      executor: 'constant-vus',
+      exec: 'cursorPage',
+      vus: 5,
+      duration: '30s',
+      startTime: '35s',
+    },
+  },
+};
+
+function jsonHeaders(token) {
+  const headers = { 'Content-Type': 'application/json' };
+  if (token) {
+    headers.Authorization = `Bearer ${token}`;
+  }
+  return { headers };
+}
+
+export function setup() {
+  const timestamp = Date.now();
+  const registerRes = http.post(
+    `${BASE_URL}/api/auth/register`,
+    JSON.stringify({
+      email: `pagination-bench-${timestamp}@example.com`,
+      password: 'PerfTest123!',
+      tenantSlug: `pagination-bench-${timestamp}`,
+    }),
+    jsonHeaders()
+  );
+  if (registerRes.status !== 200) {
+    throw new Error(`Registration failed: ${registerRes.status} ${registerRes.body}`);
+  }
+  const token = registerRes.json('token');
+
+  const total = (PAGE + 1) * PAGE_SIZE;
+  for (let offset = 0; offset < total; offset += BULK_SIZE) {
+    const batch = [];
+    for (let i = offset; i < Math.min(offset + BULK_SIZE, total); i++) {
+      batch.push({
+        orderNumber: `PAGE-BENCH-${timestamp}-${i}`,
+        description: `Pagination benchmark order ${i}`,
+        destinationAddress: '123 Benchmark Ave, Test City',
+        weight: (i % 100) + 1,
+      });
+    }
+    const res = http.post(`${BASE_URL}/api/orders/bulk`, JSON.stringify(batch), jsonHeaders(token));
+    if (res.status !== 200) {
+      throw new Error(`Seeding failed: ${res.status} ${res.body}`);
+    }
+  }
+
+  let cursor = '';
+  for (let page = 0; page < PAGE; page++) {
+    const res = http.get(
+      `${BASE_URL}/api/orders?cursor=${cursor}&size=${PAGE_SIZE}`,
+      jsonHeaders(token)
+    );
+    cursor = res.json('nextCursor');
+    if (!cursor) {
+      throw new Error(`Cursor chain ended early at page ${page}`);
+    }
+  }
+
+  return { token, cursor };
+}
+
+export function offsetPage(data) {
+  const res = http.get(
+    `${BASE_URL}/api/orders?page=${PAGE}&size=${PAGE_SIZE}&sort=createdAt,desc`,
+    jsonHeaders(data.token)
+  );
+  offsetPageTime.add(res.timings.duration);
+  check(res, { 'offset page is 200': (r) => r.status === 200 });
+}
+
+export function cursorPage(data) {
+  const res = http.get(
+    `${BASE_URL}/api/orders?cursor=${data.cursor}&size=${PAGE_SIZE}`,
+    jsonHeaders(data.token)
+  );
+  cursorPageTime.add(res.timings.duration);
+  check(res, { 'cursor page is 200': (r) => r.status === 200 });
+}